@@ -0,0 +1,72 @@
+package com.jirascraper.benchmark;
+
+import com.jirascraper.service.HtmlTextCleaner;
+import org.jsoup.Jsoup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous Jsoup-based {@code cleanHtml} with {@link HtmlTextCleaner} on typical
+ * description and comment bodies.
+ *
+ * <p>Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CleanHtmlBenchmark {
+
+    @Param({"wiki", "html", "largeHtml"})
+    public String input;
+
+    private String text;
+
+    @Setup
+    public void setUp() {
+        String wiki = "When the broker restarts, the consumer group rebalances twice.\n\n"
+                + "*Steps to reproduce*\n# Start 3 brokers\n# Kill broker 2\n\n"
+                + "{code}\nconsumer.poll(Duration.ofMillis(100));\n{code}\n"
+                + "Expected a single rebalance. See KAFKA-1234 for a similar report.";
+        String html = "<p>When the broker restarts, the consumer group <b>rebalances twice</b>.</p>"
+                + "<h3>Steps to reproduce</h3><ol><li>Start 3 brokers</li><li>Kill broker&nbsp;2</li></ol>"
+                + "<pre>consumer.poll(Duration.ofMillis(100));</pre>"
+                + "<p>Expected a single rebalance &ndash; see <a href=\"https://issues.apache.org/jira/browse/KAFKA-1234\">"
+                + "KAFKA-1234</a> for a similar report.</p>";
+
+        switch (input) {
+            case "wiki":
+                text = wiki;
+                break;
+            case "html":
+                text = html;
+                break;
+            default:
+                text = html.repeat(50);
+                break;
+        }
+    }
+
+    @Benchmark
+    public String jsoup() {
+        return Jsoup.parse(text).text().replaceAll("\\s+", " ").trim();
+    }
+
+    @Benchmark
+    public String singlePass() {
+        return HtmlTextCleaner.clean(text);
+    }
+}
@@ -0,0 +1,90 @@
+package com.jirascraper.benchmark;
+
+import com.jirascraper.service.HtmlTextCleaner;
+import com.jirascraper.service.TokenEstimator;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link TokenEstimator} next to {@link HtmlTextCleaner}, which every description
+ * and comment already goes through in the transform stage, on prose and on a stack trace.
+ *
+ * <p>The {@code bytes} counter is reported per second; divide by 10^6 for MB/s of input text
+ * (one byte per character, as the inputs are ASCII). Run with
+ * {@code ./gradlew jmh -PjmhIncludes=TokenEstimator}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenEstimatorBenchmark {
+
+    @Param({"prose", "stackTrace"})
+    public String input;
+
+    private String text;
+    private int halfTokens;
+
+    /**
+     * Characters processed, reported by JMH as a rate.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Bytes {
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        String prose = "When the broker restarts, the consumer group rebalances twice. The coordinator "
+                + "sends a JoinGroup response before the previous generation is fenced, so every member "
+                + "rejoins. Expected a single rebalance; see KAFKA-1234 for a similar report and the "
+                + "discussion on the dev list about session.timeout.ms and heartbeat intervals.\n";
+        String stackTrace = "java.lang.IllegalStateException: Coordinator not available\n"
+                + "\tat org.apache.kafka.clients.consumer.internals.AbstractCoordinator.ensureCoordinatorReady(AbstractCoordinator.java:263)\n"
+                + "\tat org.apache.kafka.clients.consumer.internals.ConsumerCoordinator.poll(ConsumerCoordinator.java:472)\n"
+                + "\tat org.apache.kafka.clients.consumer.KafkaConsumer.updateAssignmentMetadataIfNeeded(KafkaConsumer.java:1261)\n"
+                + "\tat org.apache.kafka.clients.consumer.KafkaConsumer.poll(KafkaConsumer.java:1249)\n";
+        text = ("prose".equals(input) ? prose : stackTrace).repeat(20);
+        halfTokens = TokenEstimator.estimate(text) / 2;
+    }
+
+    @Benchmark
+    public int estimate(Bytes counter) {
+        counter.bytes += text.length();
+        return TokenEstimator.estimate(text);
+    }
+
+    @Benchmark
+    public int truncationIndex(Bytes counter) {
+        int index = TokenEstimator.truncationIndex(text, halfTokens);
+        counter.bytes += index;
+        return index;
+    }
+
+    @Benchmark
+    public String cleanHtml(Bytes counter) {
+        counter.bytes += text.length();
+        return HtmlTextCleaner.clean(text);
+    }
+}
@@ -0,0 +1,94 @@
+package com.jirascraper.benchmark;
+
+import com.jirascraper.service.HtmlTextCleaner;
+import com.jirascraper.service.WikiMarkupConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link WikiMarkupConverter} against the plain-text cleaner on wiki-markup bodies
+ * shaped like Apache Jira descriptions and comments: a short comment, a bug report with a
+ * stack trace and a configuration block, and a long design discussion.
+ *
+ * <p>Run with {@code ./gradlew jmh -PjmhIncludes=WikiMarkup}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WikiMarkupBenchmark {
+
+    @Param({"comment", "bugReport", "design"})
+    public String input;
+
+    private String text;
+
+    @Setup
+    public void setUp() {
+        String comment = "Thanks [~jdoe], +1 on the patch. Could you add a test for the {{null}} case "
+                + "before I commit? See [the contributor guide|https://cwiki.apache.org/confluence/display/KAFKA/Contributing].";
+        String bugReport = "h3. Steps to reproduce\n"
+                + "# Start a 3 broker cluster with {{min.insync.replicas=2}}\n"
+                + "# Produce with {{acks=all}}\n"
+                + "# Kill the controller\n\n"
+                + "*Expected:* the producer retries and succeeds.\n"
+                + "*Actual:* the producer fails with:\n"
+                + "{noformat}\n"
+                + "org.apache.kafka.common.errors.NotEnoughReplicasException: Messages are rejected\n"
+                + "\tat org.apache.kafka.clients.producer.internals.Sender.completeBatch(Sender.java:641)\n"
+                + "\tat org.apache.kafka.clients.producer.internals.Sender.handleProduceResponse(Sender.java:590)\n"
+                + "{noformat}\n"
+                + "Broker config:\n"
+                + "{code:java}\n"
+                + "Properties props = new Properties();\n"
+                + "props.put(\"bootstrap.servers\", \"localhost:9092\");\n\n"
+                + "    props.put(\"acks\", \"all\");\n"
+                + "{code}\n"
+                + "This looks related to KAFKA-1234 and _possibly_ KAFKA-5678.";
+        String design = ("h2. Motivation\n"
+                + "bq. The current rebalance protocol stops the world for -every- consumer in the group.\n\n"
+                + "||Option||Pros||Cons||\n"
+                + "|Eager|Simple|Stop the world|\n"
+                + "|Cooperative|Incremental|Two rounds|\n\n"
+                + "{quote}\nWe should *not* change the wire format in a minor release.\n{quote}\n"
+                + "* Keep the {{ConsumerRebalanceListener}} API\n"
+                + "** Deprecate {{onPartitionsRevoked}} semantics\n"
+                + "* Add a new {{onPartitionsLost}} callback\n\n"
+                + "!rebalance-timeline.png|thumbnail!\n\n").repeat(10);
+
+        switch (input) {
+            case "comment":
+                text = comment;
+                break;
+            case "bugReport":
+                text = bugReport;
+                break;
+            default:
+                text = design;
+                break;
+        }
+    }
+
+    @Benchmark
+    public String plainText() {
+        return HtmlTextCleaner.clean(text);
+    }
+
+    @Benchmark
+    public String markdown() {
+        return WikiMarkupConverter.toMarkdown(text);
+    }
+}
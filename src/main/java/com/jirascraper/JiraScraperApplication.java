@@ -1,15 +1,36 @@
 package com.jirascraper;
 
 import com.jirascraper.config.CliConfig;
+import com.jirascraper.config.RunSpec;
 import com.jirascraper.config.ScraperConfig;
+import com.jirascraper.model.WorkLease;
+import com.jirascraper.service.DaemonService;
 import com.jirascraper.service.JiraScraperService;
+import com.jirascraper.service.RunStatistics;
+import com.jirascraper.service.WebhookService;
+import com.jirascraper.service.WorkQueueService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import picocli.CommandLine;
 
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Main application entry point for the Jira LLM Data Scraper.
@@ -18,6 +39,9 @@ public class JiraScraperApplication {
 
     private static final Logger logger = LoggerFactory.getLogger(JiraScraperApplication.class);
 
+    /** How long a shutdown hook waits for the listener to stop and the output to be closed. */
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
     public static void main(String[] args) {
         // Parse command line arguments
         CliConfig cliConfig = new CliConfig();
@@ -41,8 +65,12 @@ public class JiraScraperApplication {
             System.exit(1);
         }
 
-        // Check if specific projects are requested via CLI
-        if (cliConfig.getProjects() == null || cliConfig.getProjects().length == 0) {
+        // Check if specific projects are requested via CLI (workers take them from the queue,
+        // multi-host runs from the run spec, a restarted daemon from its saved state; merging
+        // statistics scrapes nothing)
+        if (!cliConfig.isWorker() && cliConfig.getRunSpec() == null && !cliConfig.isDaemon()
+                && cliConfig.getWebhookPort() == null && cliConfig.getMergeStats() == null
+                && (cliConfig.getProjects() == null || cliConfig.getProjects().length == 0)) {
             // No projects specified - show help
             System.err.println("Error: No projects specified. Use -p or --projects to specify project keys.\n");
             cmd.usage(System.err);
@@ -52,21 +80,81 @@ public class JiraScraperApplication {
         logger.info("=== Jira LLM Data Scraper Started ===");
 
         // Create configuration from CLI args and defaults
-        ScraperConfig config = new ScraperConfig(cliConfig);
+        ScraperConfig config = null;
+        try {
+            config = new ScraperConfig(cliConfig);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid configuration: {}", e.getMessage());
+            System.exit(1);
+        }
         logger.info("Configuration: {}", config);
 
         // Create necessary directories
         createDirectories(config);
 
+        if (config.getMergeStatsPaths() != null) {
+            mergeStatistics(config);
+            return;
+        }
+
+        if (config.isCoordinatorMode()) {
+            enqueueProjects(config);
+            return;
+        }
+
+        if (config.getRunSpecFile() != null) {
+            if (!runHosts(config)) {
+                System.exit(1);
+            }
+            return;
+        }
+
         JiraScraperService scraperService = null;
+        WebhookService webhookService = null;
+        CountDownLatch closed = new CountDownLatch(1);
 
         try {
             scraperService = new JiraScraperService(config);
 
-            // Scrape specified projects
-            for (String projectKey : cliConfig.getProjects()) {
-                logger.info("Scraping project: {}", projectKey);
-                scraperService.scrapeProject(projectKey);
+            if (config.getWebhookPort() > 0) {
+                webhookService = new WebhookService(config, scraperService);
+                webhookService.start();
+            }
+
+            if (config.isWorkerMode()) {
+                runWorker(config, scraperService);
+            } else if (config.isDaemonMode()) {
+                // Refresh projects on a schedule until a stop command arrives. On termination the
+                // hook stops the daemon after the refresh in progress and holds the JVM until the
+                // finally block has closed the output.
+                DaemonService daemonService = new DaemonService(config, scraperService);
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    daemonService.stop();
+                    awaitClosed(closed);
+                }, "daemon-shutdown"));
+                daemonService.run(config.getDefaultProjects());
+            } else if (config.isRepairMode()) {
+                // Re-fetch failed issues and pages only
+                for (String projectKey : cliConfig.getProjects()) {
+                    logger.info("Repairing project: {}", projectKey);
+                    scraperService.repairProject(projectKey);
+                }
+            } else if (config.getDefaultProjects() != null) {
+                // Scrape specified projects
+                scraperService.scrapeProjects(config.getDefaultProjects());
+            }
+
+            if (webhookService != null && !config.isDaemonMode()) {
+                // Keep receiving webhooks until the process is terminated. The hook wakes this
+                // thread and holds the JVM until the finally block has closed the output.
+                CountDownLatch terminated = new CountDownLatch(1);
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    terminated.countDown();
+                    awaitClosed(closed);
+                }, "webhook-shutdown"));
+                logger.info("Waiting for webhooks; stop the process to exit");
+                terminated.await();
+                logger.info("Shutting down webhook receiver");
             }
 
             logger.info("=== Scraping Completed Successfully ===");
@@ -76,6 +164,9 @@ public class JiraScraperApplication {
             System.exit(1);
 
         } finally {
+            if (webhookService != null) {
+                webhookService.stop();
+            }
             if (scraperService != null) {
                 try {
                     scraperService.close();
@@ -83,6 +174,178 @@ public class JiraScraperApplication {
                     logger.error("Error closing scraper service", e);
                 }
             }
+            closed.countDown();
+        }
+    }
+
+    /**
+     * Hold a shutdown hook until the main thread has closed the output, for at most
+     * {@link #SHUTDOWN_TIMEOUT_SECONDS}.
+     */
+    private static void awaitClosed(CountDownLatch closed) {
+        try {
+            closed.await(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Coordinator mode: write one work item per project into the shared work dir.
+     */
+    private static void enqueueProjects(ScraperConfig config) {
+        WorkQueueService workQueue = new WorkQueueService(config);
+        try {
+            int enqueued = workQueue.enqueue(config.getDefaultProjects());
+            logger.info("=== Enqueued {} project(s) in {} ===", enqueued, config.getWorkDir());
+        } catch (IOException e) {
+            logger.error("Failed to enqueue projects: {}", e.getMessage(), e);
+            System.exit(1);
+        } finally {
+            workQueue.close();
+        }
+    }
+
+    /**
+     * Merge mode: combine the statistics reports of several shards or nodes into
+     * {@code stats_merged_{TIMESTAMP}.json} in the output directory.
+     */
+    private static void mergeStatistics(ScraperConfig config) {
+        List<Path> paths = new ArrayList<>();
+        for (String path : config.getMergeStatsPaths()) {
+            paths.add(Paths.get(path.trim()));
+        }
+        Path merged = Paths.get(config.getOutputDir(), String.format("stats_merged_%s.json",
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"))));
+        try {
+            RunStatistics statistics = RunStatistics.mergeFiles(paths);
+            statistics.writeTo(merged);
+            logger.info("=== Merged statistics of {} issues ({} records) into {} ===",
+                    statistics.getIssues(), statistics.getRecords(), merged);
+        } catch (IOException e) {
+            logger.error("Failed to merge statistics: {}", e.getMessage(), e);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Multi-host mode: scrape every host of the run spec concurrently. Each host gets its own
+     * scraper service and client, and therefore its own connection pool, rate limiter and
+     * retry policy, so the hosts' quotas are used independently.
+     *
+     * @return false if the run spec is invalid or any host failed
+     */
+    private static boolean runHosts(ScraperConfig config) {
+        RunSpec runSpec;
+        try {
+            runSpec = RunSpec.load(config.getRunSpecFile());
+        } catch (IOException | IllegalArgumentException e) {
+            logger.error("Invalid run spec {}: {}", config.getRunSpecFile(), e.getMessage());
+            return false;
+        }
+
+        List<ScraperConfig> hostConfigs = new ArrayList<>();
+        try {
+            for (RunSpec.Host host : runSpec.getHosts()) {
+                hostConfigs.add(config.forHost(host));
+            }
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid run spec {}: {}", config.getRunSpecFile(), e.getMessage());
+            return false;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(hostConfigs.size());
+        Map<String, Future<?>> results = new LinkedHashMap<>();
+        for (ScraperConfig hostConfig : hostConfigs) {
+            results.put(hostConfig.getHostName(), executor.submit(() -> runHost(hostConfig)));
+        }
+        executor.shutdown();
+
+        boolean allSucceeded = true;
+        for (Map.Entry<String, Future<?>> result : results.entrySet()) {
+            try {
+                result.getValue().get();
+            } catch (ExecutionException e) {
+                logger.error("Host {} failed: {}", result.getKey(), e.getCause().getMessage(), e.getCause());
+                allSucceeded = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                executor.shutdownNow();
+                return false;
+            }
+        }
+        return allSucceeded;
+    }
+
+    private static void runHost(ScraperConfig hostConfig) {
+        logger.info("Scraping host {} ({}): {}", hostConfig.getHostName(), hostConfig.getJiraBaseUrl(),
+                hostConfig.getDefaultProjects());
+        createDirectories(hostConfig);
+
+        JiraScraperService scraperService = new JiraScraperService(hostConfig);
+        try {
+            if (hostConfig.isRepairMode()) {
+                for (String projectKey : hostConfig.getDefaultProjects()) {
+                    logger.info("Repairing project {} on host {}", projectKey, hostConfig.getHostName());
+                    scraperService.repairProject(projectKey);
+                }
+            } else {
+                scraperService.scrapeProjects(hostConfig.getDefaultProjects());
+            }
+            logger.info("Host {} finished", hostConfig.getHostName());
+        } finally {
+            scraperService.close();
+        }
+    }
+
+    /**
+     * Worker mode: claim projects from the shared work dir until nothing is left to claim.
+     * A lease whose holder stops heartbeating is taken over once it expires, so the loop
+     * waits while other workers still hold leases.
+     */
+    private static void runWorker(ScraperConfig config, JiraScraperService scraperService) throws Exception {
+        WorkQueueService workQueue = new WorkQueueService(config);
+        logger.info("Worker {} polling work queue in {}", workQueue.getWorkerId(), config.getWorkDir());
+
+        try {
+            while (true) {
+                WorkLease lease = workQueue.claimNext();
+                if (lease == null) {
+                    if (!workQueue.hasOutstandingWork()) {
+                        break;
+                    }
+                    // Remaining projects are leased by live workers; check again for expired leases
+                    Thread.sleep(TimeUnit.SECONDS.toMillis(config.getLeaseTimeoutSeconds()) / 3);
+                    continue;
+                }
+
+                AtomicBoolean lost = new AtomicBoolean();
+                ScheduledFuture<?> heartbeat = workQueue.startHeartbeat(lease, lost);
+                boolean completed = false;
+                try {
+                    logger.info("Scraping project: {}", lease.getProjectKey());
+                    completed = scraperService.scrapeProject(lease.getProjectKey(), lost::get);
+                } finally {
+                    heartbeat.cancel(false);
+                    if (!completed && !lost.get()) {
+                        // Checkpoint is saved; hand the project back for this or another worker to resume
+                        workQueue.release(lease);
+                    }
+                }
+
+                if (lost.get()) {
+                    // Another worker holds the project now and resumes it from the checkpoint
+                    logger.warn("Lost lease on project {}, moving on to other work", lease.getProjectKey());
+                    continue;
+                }
+                if (!completed) {
+                    logger.warn("Project {} did not complete, stopping worker", lease.getProjectKey());
+                    break;
+                }
+                workQueue.complete(lease);
+            }
+        } finally {
+            workQueue.close();
         }
     }
 
@@ -0,0 +1,108 @@
+package com.jirascraper.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Circuit breaker for a single Jira host.
+ *
+ * <p>After {@code failureThreshold} consecutive failures (connection errors or 5xx responses)
+ * the circuit opens and requests fail fast. Once the open interval has passed, the breaker
+ * admits one probe request at a time; {@code probesToClose} consecutive successful probes close
+ * it again. A failed probe reopens it with a doubled interval, up to {@code maxOpenMs}.
+ */
+public class CircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String host;
+    private final int failureThreshold;
+    private final long initialOpenMs;
+    private final long maxOpenMs;
+    private final int probesToClose;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private int successfulProbes;
+    private boolean probeInFlight;
+    private long openMs;
+    private long openedAt;
+
+    public CircuitBreaker(String host, int failureThreshold, long initialOpenMs, long maxOpenMs, int probesToClose) {
+        this.host = host;
+        this.failureThreshold = failureThreshold;
+        this.initialOpenMs = initialOpenMs;
+        this.maxOpenMs = maxOpenMs;
+        this.probesToClose = probesToClose;
+        this.openMs = initialOpenMs;
+    }
+
+    /**
+     * Whether a request may be sent now. In the half-open state only one probe is admitted at a time.
+     */
+    public synchronized boolean allowRequest() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openMs) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            successfulProbes = 0;
+            logger.info("Circuit for {} half-open, probing", host);
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (probeInFlight) {
+                return false;
+            }
+            probeInFlight = true;
+        }
+        return true;
+    }
+
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+            if (++successfulProbes >= probesToClose) {
+                state = State.CLOSED;
+                openMs = initialOpenMs;
+                logger.info("Circuit for {} closed after {} successful probes", host, successfulProbes);
+            }
+        }
+    }
+
+    public synchronized void recordFailure() {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+            openMs = Math.min(maxOpenMs, openMs * 2);
+            open();
+            return;
+        }
+
+        if (state == State.CLOSED && ++consecutiveFailures >= failureThreshold) {
+            open();
+        }
+    }
+
+    /**
+     * Release a probe slot for a request that was cancelled before it produced an outcome.
+     */
+    public synchronized void recordCancelled() {
+        probeInFlight = false;
+    }
+
+    /**
+     * Milliseconds until the next probe is allowed, or 0 if requests are currently allowed.
+     */
+    public synchronized long getRetryAfterMs() {
+        return state == State.OPEN ? Math.max(0, openMs - (System.currentTimeMillis() - openedAt)) : 0;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.currentTimeMillis();
+        logger.warn("Circuit for {} opened for {}ms after repeated failures", host, openMs);
+    }
+}
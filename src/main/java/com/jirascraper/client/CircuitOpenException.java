@@ -0,0 +1,27 @@
+package com.jirascraper.client;
+
+import java.io.IOException;
+
+/**
+ * Thrown instead of sending a request while the host's circuit breaker is open. It is not
+ * retried: the breaker has already decided that the host should be left alone for a while.
+ */
+public class CircuitOpenException extends IOException {
+
+    private final String host;
+    private final long retryAfterMs;
+
+    public CircuitOpenException(String host, long retryAfterMs) {
+        super(String.format("Circuit open for host %s, retry in %dms", host, retryAfterMs));
+        this.host = host;
+        this.retryAfterMs = retryAfterMs;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public long getRetryAfterMs() {
+        return retryAfterMs;
+    }
+}
@@ -3,15 +3,26 @@ package com.jirascraper.client;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.jirascraper.config.ScraperConfig;
-import com.jirascraper.model.JiraIssue;
+import com.jirascraper.model.CompactIssue;
+import com.jirascraper.model.CompactIssueDeserializer;
 import com.jirascraper.model.JiraSearchResponse;
 import okhttp3.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Client for interacting with Jira REST API with rate limiting and retry logic.
@@ -20,25 +31,69 @@ public class JiraApiClient {
 
     private static final Logger logger = LoggerFactory.getLogger(JiraApiClient.class);
 
+    private static final int HEDGE_WINDOW_SIZE = 100;
+    private static final int HEDGE_MIN_SAMPLES = 20;
+    private static final double HEDGE_QUANTILE = 0.95;
+    private static final long CIRCUIT_MAX_OPEN_MS = 10 * 60 * 1000;
+    private static final int CIRCUIT_PROBES_TO_CLOSE = 3;
+
     private final OkHttpClient httpClient;
     private final ObjectMapper objectMapper;
     private final String baseUrl;
     private final ScraperConfig config;
-    private long lastRequestTime = 0;
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private final LatencyTracker latencyTracker = new LatencyTracker(HEDGE_WINDOW_SIZE, HEDGE_MIN_SAMPLES);
+    private final RequestScheduler scheduler;
+    private final Map<String, Long> updatedSince = new ConcurrentHashMap<>();
 
     public JiraApiClient(ScraperConfig config) {
+        this(config, new RequestScheduler(config.getMaxRequestsPerSecond(), config.getSchedulingPolicy()));
+    }
+
+    /**
+     * Create a client that draws request permits from a shared scheduler, so that all projects
+     * scraped against the same Jira instance stay within one rate budget.
+     */
+    public JiraApiClient(ScraperConfig config, RequestScheduler scheduler) {
         this.config = config;
+        this.scheduler = scheduler;
         this.baseUrl = config.getJiraBaseUrl();
         this.objectMapper = new ObjectMapper();
         this.objectMapper.registerModule(new JavaTimeModule());
 
-        this.httpClient = new OkHttpClient.Builder()
+        // Hedged calls are enqueued; OkHttp's default of 5 per host would cap the parallelism,
+        // and each call may have a hedge in flight next to it
+        Dispatcher dispatcher = new Dispatcher();
+        int maxCalls = Math.max(dispatcher.getMaxRequestsPerHost(), 2 * config.getParallelism());
+        dispatcher.setMaxRequests(Math.max(dispatcher.getMaxRequests(), maxCalls));
+        dispatcher.setMaxRequestsPerHost(maxCalls);
+
+        OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
                 .connectTimeout(config.getConnectTimeoutSeconds(), TimeUnit.SECONDS)
                 .readTimeout(config.getReadTimeoutSeconds(), TimeUnit.SECONDS)
                 .writeTimeout(config.getWriteTimeoutSeconds(), TimeUnit.SECONDS)
                 .addInterceptor(new RateLimitInterceptor())
-                .addInterceptor(new RetryInterceptor())
-                .build();
+                .addInterceptor(new RetryInterceptor());
+
+        // Innermost, so every attempt (including retries and hedges) is counted per host
+        if (config.getCircuitBreakerThreshold() > 0) {
+            builder.addInterceptor(new CircuitBreakerInterceptor());
+        }
+
+        String authorization = buildAuthorization(config);
+        if (authorization != null) {
+            builder.addInterceptor(chain -> chain.proceed(chain.request().newBuilder()
+                    .header("Authorization", authorization)
+                    .build()));
+        }
+
+        // Innermost, so that only time on the wire counts, not permit waits or retry backoff
+        if (config.isHedgeRequests()) {
+            builder.addInterceptor(new AttemptTimingInterceptor());
+        }
+
+        this.httpClient = builder.build();
     }
 
     /**
@@ -53,29 +108,115 @@ public class JiraApiClient {
      */
     public JiraSearchResponse searchIssues(String projectKey, int startAt, int maxResults,
                                           LocalDate startDate, LocalDate endDate) throws IOException {
-        String jql = buildJqlQuery(projectKey, startDate, endDate);
+        return searchPage(PaginationStrategy.OFFSET, projectKey, startAt, null, maxResults, startDate, endDate, "*all");
+    }
+
+    /**
+     * Search for issue keys only. Used to identify issues whose full payload cannot be parsed.
+     */
+    public JiraSearchResponse searchIssueKeys(String projectKey, int startAt, int maxResults,
+                                             LocalDate startDate, LocalDate endDate) throws IOException {
+        return searchPage(PaginationStrategy.OFFSET, projectKey, startAt, null, maxResults, startDate, endDate, "key");
+    }
+
+    /**
+     * Fetch a page of issues using the given pagination scheme. {@code startAt} is used by
+     * offset pagination and {@code nextPageToken} (null for the first page) by token pagination.
+     */
+    public JiraSearchResponse searchPage(PaginationStrategy strategy, String projectKey, int startAt,
+                                         String nextPageToken, int maxResults, LocalDate startDate,
+                                         LocalDate endDate, String fields) throws IOException {
+        String jql = buildJqlQuery("project = " + projectKey + updatedClause(projectKey), startDate, endDate);
+        String url = String.format("%s%s?jql=%s%s&maxResults=%d&fields=%s",
+                baseUrl,
+                strategy.getSearchPath(),
+                jql.replace(" ", "+"),
+                strategy.pageParameters(startAt, nextPageToken),
+                maxResults,
+                fields);
+
+        logger.debug("Fetching issues from: {}", url);
+
+        Request request = buildGetRequest(url, projectKey);
+
+        return executeRequest(request, JiraSearchResponse.class);
+    }
+
+    /**
+     * Fetch specific issues in bulk with a {@code key in (...)} query.
+     * Keys that no longer exist are reported as warnings by Jira instead of failing the query.
+     */
+    public JiraSearchResponse searchIssuesByKeys(List<String> issueKeys) throws IOException {
+        String jql = "key in (" + String.join(",", issueKeys) + ") ORDER BY key ASC";
+        String url = String.format("%s/rest/api/2/search?jql=%s&startAt=0&maxResults=%d&fields=*all&validateQuery=warn",
+                baseUrl,
+                jql.replace(" ", "+"),
+                issueKeys.size());
+
+        logger.debug("Fetching {} issues by key", issueKeys.size());
+
+        Request request = buildGetRequest(url, projectOf(issueKeys.get(0)));
+
+        return executeRequest(request, JiraSearchResponse.class);
+    }
+
+    /**
+     * Search several projects with a single {@code project in (...)} query. Used to fetch
+     * small projects together instead of crawling each one separately. Requests are scheduled
+     * under {@link #batchFlowKey(List)}, which the caller weights and unregisters.
+     */
+    public JiraSearchResponse searchProjects(List<String> projectKeys, int startAt, int maxResults,
+                                             LocalDate startDate, LocalDate endDate) throws IOException {
+        String jql = buildJqlQuery("project in (" + String.join(",", projectKeys) + ")", startDate, endDate);
         String url = String.format("%s/rest/api/2/search?jql=%s&startAt=%d&maxResults=%d&fields=*all",
                 baseUrl,
                 jql.replace(" ", "+"),
                 startAt,
                 maxResults);
 
-        logger.debug("Fetching issues from: {}", url);
+        logger.debug("Fetching issues for {} projects from: {}", projectKeys.size(), url);
 
-        Request request = new Request.Builder()
-                .url(url)
-                .get()
-                .build();
+        Request request = buildGetRequest(url, batchFlowKey(projectKeys));
 
         return executeRequest(request, JiraSearchResponse.class);
     }
 
+    /**
+     * Restrict searches for a project to issues updated at or after the given epoch
+     * milliseconds, for incremental refreshes. Null removes the restriction.
+     */
+    public void setUpdatedSince(String projectKey, Long epochMillis) {
+        if (epochMillis == null) {
+            updatedSince.remove(projectKey);
+        } else {
+            updatedSince.put(projectKey, epochMillis);
+        }
+    }
+
+    public Long getUpdatedSince(String projectKey) {
+        return updatedSince.get(projectKey);
+    }
+
+    /**
+     * JQL clause for an incremental refresh. A relative duration ({@code -Nm}) is used because
+     * absolute JQL dates are interpreted in the Jira user's time zone; it is recomputed on every
+     * request so the window start stays fixed while a refresh pages through results.
+     */
+    private String updatedClause(String projectKey) {
+        Long since = updatedSince.get(projectKey);
+        if (since == null) {
+            return "";
+        }
+        long minutes = TimeUnit.MILLISECONDS.toMinutes(Math.max(0, System.currentTimeMillis() - since)) + 1;
+        return " AND updated >= \"-" + minutes + "m\"";
+    }
+
     /**
      * Build JQL query with optional date filters.
      */
-    private String buildJqlQuery(String projectKey, LocalDate startDate, LocalDate endDate) {
+    private String buildJqlQuery(String projectClause, LocalDate startDate, LocalDate endDate) {
         StringBuilder jql = new StringBuilder();
-        jql.append("project = ").append(projectKey);
+        jql.append(projectClause);
 
         if (startDate != null) {
             jql.append(" AND created >= \"").append(startDate).append("\"");
@@ -94,73 +235,274 @@ public class JiraApiClient {
     /**
      * Get a single issue by key with all fields and comments.
      */
-    public JiraIssue getIssue(String issueKey) throws IOException {
+    public CompactIssue getIssue(String issueKey) throws IOException {
         String url = String.format("%s/rest/api/2/issue/%s?fields=*all&expand=renderedFields,names,schema,transitions,operations,changelog,comment",
                 baseUrl,
                 issueKey);
 
         logger.debug("Fetching issue: {}", issueKey);
 
-        Request request = new Request.Builder()
+        Request request = buildGetRequest(url, projectOf(issueKey));
+
+        return executeRequest(request, CompactIssue.class);
+    }
+
+    /**
+     * Authorization header value: a bearer token (Server/Data Center personal access token)
+     * takes precedence over Basic auth with username and API token (Cloud). Null when anonymous.
+     */
+    private static String buildAuthorization(ScraperConfig config) {
+        if (config.getBearerToken() != null) {
+            return "Bearer " + config.getBearerToken();
+        }
+        if (config.getUsername() != null && config.getApiToken() != null) {
+            return Credentials.basic(config.getUsername(), config.getApiToken());
+        }
+        return null;
+    }
+
+    /**
+     * Build a GET request tagged with the project it is made for, which the scheduler uses
+     * to share the rate budget between projects.
+     */
+    private Request buildGetRequest(String url, String projectKey) {
+        return new Request.Builder()
                 .url(url)
                 .get()
+                .tag(String.class, projectKey)
                 .build();
+    }
 
-        return executeRequest(request, JiraIssue.class);
+    /**
+     * Scheduler flow of the requests of a {@code project in (...)} search.
+     */
+    public static String batchFlowKey(List<String> projectKeys) {
+        return "batch:" + String.join(",", projectKeys);
+    }
+
+    private static String projectOf(String issueKey) {
+        int dash = issueKey.lastIndexOf('-');
+        return dash > 0 ? issueKey.substring(0, dash) : issueKey;
+    }
+
+    /**
+     * Scheduler that hands out request permits; shared by all projects using this client.
+     */
+    public RequestScheduler getScheduler() {
+        return scheduler;
     }
 
     /**
      * Execute an HTTP request with proper error handling.
      */
     private <T> T executeRequest(Request request, Class<T> responseType) throws IOException {
-        try (Response response = httpClient.newCall(request).execute()) {
+        try (Response response = execute(request)) {
             if (!response.isSuccessful()) {
                 String errorBody = response.body() != null ? response.body().string() : "No error body";
-                throw new IOException(String.format("Request failed with status %d: %s",
-                        response.code(), errorBody));
+                throw new JiraApiException(response.code(), errorBody);
             }
 
             if (response.body() == null) {
                 throw new IOException("Empty response body");
             }
 
-            String responseBody = response.body().string();
+            long bodyStart = System.currentTimeMillis();
+            byte[] responseBody = response.body().bytes();
+            long latencyMs = response.receivedResponseAtMillis() - response.sentRequestAtMillis()
+                    + (System.currentTimeMillis() - bodyStart);
 
-            if (responseBody == null || responseBody.trim().isEmpty()) {
+            if (responseBody.length == 0 || isBlank(responseBody)) {
                 throw new IOException("Empty or null response body");
             }
 
             try {
-                return objectMapper.readValue(responseBody, responseType);
+                // Issue text fields are kept as slices of the raw bytes and decoded on use
+                T result = objectMapper.readerFor(responseType)
+                        .withAttribute(CompactIssueDeserializer.SOURCE_ATTRIBUTE, responseBody)
+                        .readValue(responseBody);
+                if (result instanceof JiraSearchResponse) {
+                    // Server time of the final attempt, excluding rate-limit waits and retry backoff
+                    ((JiraSearchResponse) result).setLatencyMs(latencyMs);
+                    ((JiraSearchResponse) result).setResponseBytes(responseBody.length);
+                }
+                return result;
             } catch (Exception e) {
-                logger.error("Failed to parse response: {}", responseBody.substring(0, Math.min(500, responseBody.length())));
+                logger.error("Failed to parse response: {}",
+                        new String(responseBody, 0, Math.min(500, responseBody.length), StandardCharsets.UTF_8));
                 throw new IOException("Failed to parse JSON response: " + e.getMessage(), e);
             }
         }
     }
 
+    private static boolean isBlank(byte[] body) {
+        for (byte b : body) {
+            if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
-     * Rate limiting interceptor to respect API limits.
+     * Execute a call, hedging it when enabled: if an attempt has been on the wire for the p95
+     * latency of recent attempts without a response, a duplicate is sent and whichever answers
+     * first is used. The duplicate passes through the same interceptors, so it is charged against
+     * the rate limit. Time spent waiting for a permit or in retry backoff does not count.
      */
-    private class RateLimitInterceptor implements Interceptor {
+    private Response execute(Request request) throws IOException {
+        long hedgeDelayMs = config.isHedgeRequests() ? latencyTracker.percentile(HEDGE_QUANTILE) : -1;
+
+        return hedgeDelayMs < 0
+                ? httpClient.newCall(request).execute()
+                : executeHedged(request, hedgeDelayMs);
+    }
+
+    private Response executeHedged(Request request, long hedgeDelayMs) throws IOException {
+        AttemptTimer timer = new AttemptTimer();
+        request = request.newBuilder().tag(AttemptTimer.class, timer).build();
+        CompletableFuture<Response> result = new CompletableFuture<>();
+        AtomicReference<Call> winner = new AtomicReference<>();
+        AtomicInteger outstanding = new AtomicInteger(1);
+        List<Call> calls = new CopyOnWriteArrayList<>();
+
+        Callback callback = new Callback() {
+            @Override
+            public void onResponse(Call call, Response response) {
+                if (winner.compareAndSet(null, call)) {
+                    result.complete(response);
+                } else {
+                    response.close();
+                }
+            }
+
+            @Override
+            public void onFailure(Call call, IOException e) {
+                if (outstanding.decrementAndGet() == 0) {
+                    result.completeExceptionally(e);
+                }
+            }
+        };
+
+        Call primary = httpClient.newCall(request);
+        calls.add(primary);
+        primary.enqueue(callback);
+
+        try {
+            while (true) {
+                long sentAt = timer.sentAt;
+                long waitMs = sentAt == 0 ? hedgeDelayMs : sentAt + hedgeDelayMs - System.currentTimeMillis();
+                if (sentAt != 0 && waitMs <= 0) {
+                    break;
+                }
+                try {
+                    return result.get(Math.max(1, waitMs), TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    // Not sent yet, or sent later than we thought; look again
+                }
+            }
+            logger.debug("No response after {}ms on the wire, sending hedged request for {}", hedgeDelayMs, request.url());
+            outstanding.incrementAndGet();
+            Call hedge = httpClient.newCall(request.newBuilder().tag(AttemptTimer.class, new AttemptTimer()).build());
+            calls.add(hedge);
+            hedge.enqueue(callback);
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Request interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        } finally {
+            for (Call call : calls) {
+                if (call != winner.get()) {
+                    call.cancel();
+                }
+            }
+        }
+    }
+
+    /**
+     * When the current attempt of a call went on the wire, 0 while none is in flight.
+     */
+    private static final class AttemptTimer {
+        private volatile long sentAt;
+    }
+
+    /**
+     * Times each attempt from the moment it is sent, for the hedging deadline and its latency
+     * window. Runs after the rate limiter and retry interceptors, so neither permit waits nor
+     * retry backoff are counted.
+     */
+    private class AttemptTimingInterceptor implements Interceptor {
         @Override
         public Response intercept(Chain chain) throws IOException {
-            synchronized (JiraApiClient.this) {
-                long currentTime = System.currentTimeMillis();
-                long timeSinceLastRequest = currentTime - lastRequestTime;
-                long delayNeeded = config.getRequestDelayMs() - timeSinceLastRequest;
-
-                if (delayNeeded > 0) {
-                    try {
-                        logger.debug("Rate limiting: waiting {}ms", delayNeeded);
-                        Thread.sleep(delayNeeded);
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        throw new IOException("Rate limiting interrupted", e);
-                    }
+            AttemptTimer timer = chain.request().tag(AttemptTimer.class);
+            long start = System.currentTimeMillis();
+            if (timer != null) {
+                timer.sentAt = start;
+            }
+            try {
+                Response response = chain.proceed(chain.request());
+                if (response.isSuccessful() && !chain.call().isCanceled()) {
+                    latencyTracker.record(System.currentTimeMillis() - start);
+                }
+                return response;
+            } finally {
+                if (timer != null) {
+                    timer.sentAt = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Circuit breaker interceptor that fails fast while a host is failing consistently.
+     */
+    private class CircuitBreakerInterceptor implements Interceptor {
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            String host = chain.request().url().host();
+            CircuitBreaker breaker = circuitBreakers.computeIfAbsent(host, h -> new CircuitBreaker(h,
+                    config.getCircuitBreakerThreshold(), config.getInitialBackoffMs() * 10L,
+                    CIRCUIT_MAX_OPEN_MS, CIRCUIT_PROBES_TO_CLOSE));
+
+            if (!breaker.allowRequest()) {
+                throw new CircuitOpenException(host, breaker.getRetryAfterMs());
+            }
+
+            Response response;
+            try {
+                response = chain.proceed(chain.request());
+            } catch (IOException e) {
+                if (chain.call().isCanceled()) {
+                    breaker.recordCancelled(); // a cancelled hedge says nothing about the host
+                } else {
+                    breaker.recordFailure();
                 }
+                throw e;
+            }
 
-                lastRequestTime = System.currentTimeMillis();
+            if (response.code() >= 500) {
+                breaker.recordFailure();
+            } else {
+                breaker.recordSuccess();
+            }
+            return response;
+        }
+    }
+
+    /**
+     * Rate limiting interceptor to respect API limits. Permits come from the shared scheduler,
+     * so concurrent projects never exceed the instance-wide request rate.
+     */
+    private class RateLimitInterceptor implements Interceptor {
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            try {
+                scheduler.acquire(chain.request().tag(String.class));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Rate limiting interrupted", e);
             }
 
             return chain.proceed(chain.request());
@@ -208,7 +550,14 @@ public class JiraApiClient {
                     // Success - return response
                     return response;
 
+                } catch (CircuitOpenException e) {
+                    // Retrying would only hit the open circuit again
+                    throw e;
                 } catch (IOException e) {
+                    if (chain.call().isCanceled()) {
+                        // A hedge that lost the race, or a caller that gave up
+                        throw e;
+                    }
                     lastException = e;
                     logger.warn("Request failed on attempt {}/{}: {}", attempt + 1, maxRetries, e.getMessage());
 
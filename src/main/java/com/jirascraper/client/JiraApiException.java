@@ -0,0 +1,20 @@
+package com.jirascraper.client;
+
+import java.io.IOException;
+
+/**
+ * Thrown when Jira answers a request with an unsuccessful HTTP status.
+ */
+public class JiraApiException extends IOException {
+
+    private final int statusCode;
+
+    public JiraApiException(int statusCode, String errorBody) {
+        super(String.format("Request failed with status %d: %s", statusCode, errorBody));
+        this.statusCode = statusCode;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
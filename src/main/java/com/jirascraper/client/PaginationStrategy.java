@@ -0,0 +1,81 @@
+package com.jirascraper.client;
+
+import com.jirascraper.model.JiraSearchResponse;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Pagination schemes supported by the Jira search endpoints.
+ */
+public enum PaginationStrategy {
+
+    /**
+     * Jira Server/Data Center and legacy Cloud search: {@code /rest/api/2/search} with
+     * {@code startAt} offsets and a {@code total} count.
+     */
+    OFFSET("/rest/api/2/search") {
+        @Override
+        public String pageParameters(int startAt, String nextPageToken) {
+            return "&startAt=" + startAt;
+        }
+
+        @Override
+        public boolean hasMore(JiraSearchResponse response, int nextStartAt) {
+            return !response.getIssues().isEmpty() && nextStartAt < response.getTotal();
+        }
+
+        @Override
+        public int total(JiraSearchResponse response) {
+            return response.getTotal();
+        }
+    },
+
+    /**
+     * Jira Cloud enhanced search: {@code /rest/api/3/search/jql} with opaque
+     * {@code nextPageToken} cursors. There is no total; the last page has {@code isLast}.
+     */
+    TOKEN("/rest/api/3/search/jql") {
+        @Override
+        public String pageParameters(int startAt, String nextPageToken) {
+            return nextPageToken != null
+                    ? "&nextPageToken=" + URLEncoder.encode(nextPageToken, StandardCharsets.UTF_8)
+                    : "";
+        }
+
+        @Override
+        public boolean hasMore(JiraSearchResponse response, int nextStartAt) {
+            return !response.isLastPage() && response.getNextPageToken() != null;
+        }
+
+        @Override
+        public int total(JiraSearchResponse response) {
+            return -1;
+        }
+    };
+
+    private final String searchPath;
+
+    PaginationStrategy(String searchPath) {
+        this.searchPath = searchPath;
+    }
+
+    public String getSearchPath() {
+        return searchPath;
+    }
+
+    /**
+     * Query parameters selecting the requested page.
+     */
+    public abstract String pageParameters(int startAt, String nextPageToken);
+
+    /**
+     * Whether another page follows the given response.
+     */
+    public abstract boolean hasMore(JiraSearchResponse response, int nextStartAt);
+
+    /**
+     * Number of issues matching the query, or -1 if the endpoint does not report it.
+     */
+    public abstract int total(JiraSearchResponse response);
+}
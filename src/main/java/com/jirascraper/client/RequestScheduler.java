@@ -0,0 +1,118 @@
+package com.jirascraper.client;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Instance-wide request budget shared by all projects scraped concurrently against one Jira host.
+ *
+ * <p>Permits are issued no faster than the configured requests per second, whatever the number
+ * of projects. When several projects are waiting, the next permit goes to:
+ * <ul>
+ *   <li>{@link Policy#WEIGHTED_FAIR}: the request with the smallest virtual finish time
+ *       (weighted fair queuing), where each project's weight is its number of remaining issues,
+ *       so large projects get proportionally more of the budget;</li>
+ *   <li>{@link Policy#LONGEST_FIRST}: the project with the most remaining issues, which
+ *       minimises the makespan of the whole run.</li>
+ * </ul>
+ */
+public class RequestScheduler {
+
+    public enum Policy { WEIGHTED_FAIR, LONGEST_FIRST }
+
+    private final long intervalNanos;
+    private final Policy policy;
+    private final Map<String, Flow> flows = new HashMap<>();
+    private final List<Waiter> waiters = new ArrayList<>();
+    private final Comparator<Waiter> order;
+
+    private double virtualTime;
+    private long nextPermitAt = System.nanoTime();
+    private long sequence;
+
+    public RequestScheduler(int maxRequestsPerSecond, Policy policy) {
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / Math.max(1, maxRequestsPerSecond);
+        this.policy = policy;
+        this.order = policy == Policy.LONGEST_FIRST
+                ? Comparator.<Waiter>comparingLong(w -> -w.flow.remaining).thenComparingLong(w -> w.sequence)
+                : Comparator.<Waiter>comparingDouble(w -> w.finish).thenComparingLong(w -> w.sequence);
+    }
+
+    /**
+     * Block until the given project may send a request.
+     */
+    public void acquire(String flowKey) throws InterruptedException {
+        synchronized (this) {
+            Flow flow = flows.computeIfAbsent(flowKey != null ? flowKey : "", k -> new Flow());
+            double start = Math.max(virtualTime, flow.lastFinish);
+            Waiter waiter = new Waiter(flow, start + 1.0 / flow.weight(), sequence++);
+            flow.lastFinish = waiter.finish;
+            waiters.add(waiter);
+
+            try {
+                while (true) {
+                    long now = System.nanoTime();
+                    boolean next = waiters.stream().min(order).orElse(null) == waiter;
+
+                    if (next && now >= nextPermitAt) {
+                        waiters.remove(waiter);
+                        nextPermitAt = Math.max(now, nextPermitAt) + intervalNanos;
+                        virtualTime = waiter.finish;
+                        notifyAll();
+                        return;
+                    }
+
+                    long waitNanos = next ? nextPermitAt - now : intervalNanos;
+                    TimeUnit.NANOSECONDS.timedWait(this, Math.max(1, waitNanos));
+                }
+            } catch (InterruptedException e) {
+                waiters.remove(waiter);
+                notifyAll();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Update the number of issues a project still has to fetch; used as its weight.
+     */
+    public synchronized void updateRemaining(String flowKey, long remaining) {
+        flows.computeIfAbsent(flowKey, k -> new Flow()).remaining = Math.max(0, remaining);
+    }
+
+    /**
+     * Forget a project once it has finished.
+     */
+    public synchronized void unregister(String flowKey) {
+        flows.remove(flowKey);
+    }
+
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    private static final class Flow {
+        private long remaining;
+        private double lastFinish;
+
+        private double weight() {
+            return Math.max(1, remaining);
+        }
+    }
+
+    private static final class Waiter {
+        private final Flow flow;
+        private final double finish;
+        private final long sequence;
+
+        private Waiter(Flow flow, double finish, long sequence) {
+            this.flow = flow;
+            this.finish = finish;
+            this.sequence = sequence;
+        }
+    }
+}
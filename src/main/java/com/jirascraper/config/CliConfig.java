@@ -1,5 +1,11 @@
 package com.jirascraper.config;
 
+import com.jirascraper.client.PaginationStrategy;
+import com.jirascraper.client.RequestScheduler;
+import com.jirascraper.service.DedupPolicy;
+import com.jirascraper.service.PiiCategory;
+import com.jirascraper.service.SampleField;
+import com.jirascraper.service.TextFormat;
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
@@ -94,6 +100,263 @@ public class CliConfig {
     )
     private String endDate;
 
+    @Option(
+        names = {"--work-dir"},
+        description = "Shared directory (e.g., an NFS mount) holding the coordinator/worker lease queue"
+    )
+    private String workDir;
+
+    @Option(
+        names = {"--coordinator"},
+        description = "Enqueue the given projects as work items in --work-dir and exit"
+    )
+    private boolean coordinator;
+
+    @Option(
+        names = {"--worker"},
+        description = "Claim projects from the --work-dir queue and scrape them until the queue is empty"
+    )
+    private boolean worker;
+
+    @Option(
+        names = {"--lease-timeout"},
+        description = "Seconds without a heartbeat before another worker may take over a lease (default: 300)"
+    )
+    private Integer leaseTimeout;
+
+    @Option(
+        names = {"--repair"},
+        description = "Re-fetch the issues and pages recorded in each project's dead-letter queue instead of scraping"
+    )
+    private boolean repair;
+
+    @Option(
+        names = {"--pagination"},
+        description = "Search pagination: OFFSET (/rest/api/2/search) or TOKEN (Jira Cloud /rest/api/3/search/jql) (default: OFFSET)"
+    )
+    private PaginationStrategy pagination;
+
+    @Option(
+        names = {"--batch-small-projects"},
+        description = "Fetch small projects together with project in (...) queries that fill whole pages"
+    )
+    private boolean batchSmallProjects;
+
+    @Option(
+        names = {"--max-page-size"},
+        description = "Upper bound for adaptive page sizing (default: 100)"
+    )
+    private Integer maxPageSize;
+
+    @Option(
+        names = {"--adaptive-page-size"},
+        description = "Grow/shrink the page size between --page-size and --max-page-size based on response latency and size"
+    )
+    private boolean adaptivePageSize;
+
+    @Option(
+        names = {"--target-page-latency"},
+        description = "Adaptive page sizing: target response time per page in milliseconds (default: 5000)"
+    )
+    private Integer targetPageLatencyMs;
+
+    @Option(
+        names = {"--max-response-size"},
+        description = "Adaptive page sizing: maximum response size per page in MB (default: 8)"
+    )
+    private Long maxResponseSizeMB;
+
+    @Option(
+        names = {"--hedge-requests"},
+        description = "Send a duplicate request when a response is slower than the recent p95 latency"
+    )
+    private boolean hedgeRequests;
+
+    @Option(
+        names = {"--circuit-breaker-threshold"},
+        description = "Consecutive failures before requests to a host are suspended; 0 disables (default: 5)"
+    )
+    private Integer circuitBreakerThreshold;
+
+    @Option(
+        names = {"--parallelism"},
+        description = "Number of projects scraped concurrently; all share one rate budget (default: 1)"
+    )
+    private Integer parallelism;
+
+    @Option(
+        names = {"--scheduling"},
+        description = "How concurrent projects share the rate budget: WEIGHTED_FAIR (by remaining issues) or LONGEST_FIRST (default: WEIGHTED_FAIR)"
+    )
+    private RequestScheduler.Policy scheduling;
+
+    @Option(
+        names = {"--run-spec"},
+        description = "JSON run spec mapping several Jira hosts to their projects, credentials and limits"
+    )
+    private String runSpec;
+
+    @Option(
+        names = {"--daemon"},
+        description = "Keep running and refresh projects incrementally; control via {checkpoint-dir}/daemon.control"
+    )
+    private boolean daemon;
+
+    @Option(
+        names = {"--refresh-interval"},
+        description = "Minutes between incremental refreshes of a project in daemon mode (default: 60)"
+    )
+    private Integer refreshInterval;
+
+    @Option(
+        names = {"--webhook-port"},
+        description = "Listen for Jira issue and comment webhooks on this port (POST /webhook)"
+    )
+    private Integer webhookPort;
+
+    @Option(
+        names = {"--webhook-secret"},
+        description = "Require this value as the 'secret' query parameter of webhook requests"
+    )
+    private String webhookSecret;
+
+    @Option(
+        names = {"--text-format"},
+        description = "Description and comment text: PLAIN (markup stripped) or MARKDOWN (wiki markup converted, code blocks kept) (default: PLAIN)"
+    )
+    private TextFormat textFormat;
+
+    @Option(
+        names = {"--max-record-kb"},
+        description = "Text budget of one output record in KB; longer comment threads are split into several records (default: 0, no limit)"
+    )
+    private Integer maxRecordKb;
+
+    @Option(
+        names = {"--max-comments-per-record"},
+        description = "Comments per output record before a thread is split (default: 0, no limit)"
+    )
+    private Integer maxCommentsPerRecord;
+
+    @Option(
+        names = {"--comment-overlap"},
+        description = "Comments repeated as context at the start of each continuation record (default: 2)"
+    )
+    private Integer commentOverlap;
+
+    @Option(
+        names = {"--heap-budget-percent"},
+        description = "Share of the max heap that issues being transformed may use at once; 0 disables (default: 25)"
+    )
+    private Integer heapBudgetPercent;
+
+    @Option(
+        names = {"--scrub"},
+        description = "Remove personal data and secrets from text: comma-separated EMAIL, IP, HOSTNAME, SECRET, PATH (default: none)",
+        split = ","
+    )
+    private PiiCategory[] scrub;
+
+    @Option(
+        names = {"--scrub-policy"},
+        description = "Replacement of scrubbed text: REDACT, MASK, HASH or REMOVE, or per category as CATEGORY=POLICY, comma-separated (default: REDACT)",
+        split = ","
+    )
+    private String[] scrubPolicy;
+
+    @Option(
+        names = {"--scrub-terms"},
+        description = "File of extra terms to scrub, one per line, matched case-insensitively as whole words"
+    )
+    private String scrubTerms;
+
+    @Option(
+        names = {"--dedup"},
+        description = "Near-duplicate descriptions and comments: DROP or TAG (default: off)"
+    )
+    private DedupPolicy dedup;
+
+    @Option(
+        names = {"--dedup-threshold"},
+        description = "Similarity (0-1] above which texts are near-duplicates (default: 0.8)"
+    )
+    private Double dedupThreshold;
+
+    @Option(
+        names = {"--dedup-capacity"},
+        description = "Most recent texts kept in the near-duplicate index, about 114 bytes each (default: 1000000)"
+    )
+    private Integer dedupCapacity;
+
+    @Option(
+        names = {"--splits"},
+        description = "Route records to splits by a stable hash of the issue key, as NAME=WEIGHT, comma-separated, e.g. train=0.8,validation=0.1,test=0.1 (default: none)",
+        split = ","
+    )
+    private String[] splits;
+
+    @Option(
+        names = {"--shard-by-issue-type"},
+        description = "Write each split (or the whole output) in one directory per issue type"
+    )
+    private boolean shardByIssueType;
+
+    @Option(
+        names = {"--sample"},
+        description = "Write only a sample of this many issues per project and stratum, at the end of each project (default: off)"
+    )
+    private Integer sample;
+
+    @Option(
+        names = {"--sample-by"},
+        description = "Classification labels that make up a sampling stratum with the project: comma-separated ISSUE_TYPE, PRIORITY, STATUS (default: ISSUE_TYPE)",
+        split = ","
+    )
+    private SampleField[] sampleBy;
+
+    @Option(
+        names = {"--count-tokens"},
+        description = "Add estimated token counts to each record and comment"
+    )
+    private boolean countTokens;
+
+    @Option(
+        names = {"--max-text-tokens"},
+        description = "Truncate each description and comment to this many estimated tokens (default: no limit)"
+    )
+    private Integer maxTextTokens;
+
+    @Option(
+        names = {"--max-file-tokens"},
+        description = "Also rotate output files after this many estimated tokens of text (default: size only)"
+    )
+    private Integer maxFileTokens;
+
+    @Option(
+        names = {"--stats"},
+        description = "Write a statistics report of the records (counts, distinct reporters and assignees, text length quantiles, label histograms) to the output directory"
+    )
+    private boolean stats;
+
+    @Option(
+        names = {"--merge-stats"},
+        description = "Merge statistics reports, given as files or directories, comma-separated, into one report in the output directory and exit",
+        split = ","
+    )
+    private String[] mergeStats;
+
+    @Option(
+        names = {"--manifest"},
+        description = "Write a manifest of each output series with per-chunk record counts, sizes, XXH64 checksums, issue key and created ranges"
+    )
+    private boolean manifest;
+
+    @Option(
+        names = {"--manifest-index"},
+        description = "Also index the byte offset of every Nth issue of each chunk in the manifest (default: no index)"
+    )
+    private Integer manifestIndex;
+
     // Getters
     public String[] getProjects() {
         return projects;
@@ -147,6 +410,174 @@ public class CliConfig {
         return endDate;
     }
 
+    public String getWorkDir() {
+        return workDir;
+    }
+
+    public boolean isCoordinator() {
+        return coordinator;
+    }
+
+    public boolean isWorker() {
+        return worker;
+    }
+
+    public Integer getLeaseTimeout() {
+        return leaseTimeout;
+    }
+
+    public boolean isRepair() {
+        return repair;
+    }
+
+    public PaginationStrategy getPagination() {
+        return pagination;
+    }
+
+    public boolean isBatchSmallProjects() {
+        return batchSmallProjects;
+    }
+
+    public Integer getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    public boolean isAdaptivePageSize() {
+        return adaptivePageSize;
+    }
+
+    public Integer getTargetPageLatencyMs() {
+        return targetPageLatencyMs;
+    }
+
+    public Long getMaxResponseSizeMB() {
+        return maxResponseSizeMB;
+    }
+
+    public boolean isHedgeRequests() {
+        return hedgeRequests;
+    }
+
+    public Integer getCircuitBreakerThreshold() {
+        return circuitBreakerThreshold;
+    }
+
+    public Integer getParallelism() {
+        return parallelism;
+    }
+
+    public RequestScheduler.Policy getScheduling() {
+        return scheduling;
+    }
+
+    public String getRunSpec() {
+        return runSpec;
+    }
+
+    public boolean isDaemon() {
+        return daemon;
+    }
+
+    public Integer getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public Integer getWebhookPort() {
+        return webhookPort;
+    }
+
+    public String getWebhookSecret() {
+        return webhookSecret;
+    }
+
+    public TextFormat getTextFormat() {
+        return textFormat;
+    }
+
+    public Integer getMaxRecordKb() {
+        return maxRecordKb;
+    }
+
+    public Integer getMaxCommentsPerRecord() {
+        return maxCommentsPerRecord;
+    }
+
+    public Integer getCommentOverlap() {
+        return commentOverlap;
+    }
+
+    public Integer getHeapBudgetPercent() {
+        return heapBudgetPercent;
+    }
+
+    public PiiCategory[] getScrub() {
+        return scrub;
+    }
+
+    public String[] getScrubPolicy() {
+        return scrubPolicy;
+    }
+
+    public String getScrubTerms() {
+        return scrubTerms;
+    }
+
+    public DedupPolicy getDedup() {
+        return dedup;
+    }
+
+    public Double getDedupThreshold() {
+        return dedupThreshold;
+    }
+
+    public Integer getDedupCapacity() {
+        return dedupCapacity;
+    }
+
+    public String[] getSplits() {
+        return splits;
+    }
+
+    public boolean isShardByIssueType() {
+        return shardByIssueType;
+    }
+
+    public Integer getSample() {
+        return sample;
+    }
+
+    public SampleField[] getSampleBy() {
+        return sampleBy;
+    }
+
+    public boolean isCountTokens() {
+        return countTokens;
+    }
+
+    public Integer getMaxTextTokens() {
+        return maxTextTokens;
+    }
+
+    public Integer getMaxFileTokens() {
+        return maxFileTokens;
+    }
+
+    public boolean isStats() {
+        return stats;
+    }
+
+    public String[] getMergeStats() {
+        return mergeStats;
+    }
+
+    public boolean isManifest() {
+        return manifest;
+    }
+
+    public Integer getManifestIndex() {
+        return manifestIndex;
+    }
+
     // Setters (for testing)
     public void setProjects(String[] projects) {
         this.projects = projects;
@@ -199,4 +630,172 @@ public class CliConfig {
     public void setEndDate(String endDate) {
         this.endDate = endDate;
     }
+
+    public void setWorkDir(String workDir) {
+        this.workDir = workDir;
+    }
+
+    public void setCoordinator(boolean coordinator) {
+        this.coordinator = coordinator;
+    }
+
+    public void setWorker(boolean worker) {
+        this.worker = worker;
+    }
+
+    public void setLeaseTimeout(Integer leaseTimeout) {
+        this.leaseTimeout = leaseTimeout;
+    }
+
+    public void setRepair(boolean repair) {
+        this.repair = repair;
+    }
+
+    public void setPagination(PaginationStrategy pagination) {
+        this.pagination = pagination;
+    }
+
+    public void setBatchSmallProjects(boolean batchSmallProjects) {
+        this.batchSmallProjects = batchSmallProjects;
+    }
+
+    public void setMaxPageSize(Integer maxPageSize) {
+        this.maxPageSize = maxPageSize;
+    }
+
+    public void setAdaptivePageSize(boolean adaptivePageSize) {
+        this.adaptivePageSize = adaptivePageSize;
+    }
+
+    public void setTargetPageLatencyMs(Integer targetPageLatencyMs) {
+        this.targetPageLatencyMs = targetPageLatencyMs;
+    }
+
+    public void setMaxResponseSizeMB(Long maxResponseSizeMB) {
+        this.maxResponseSizeMB = maxResponseSizeMB;
+    }
+
+    public void setHedgeRequests(boolean hedgeRequests) {
+        this.hedgeRequests = hedgeRequests;
+    }
+
+    public void setCircuitBreakerThreshold(Integer circuitBreakerThreshold) {
+        this.circuitBreakerThreshold = circuitBreakerThreshold;
+    }
+
+    public void setParallelism(Integer parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public void setScheduling(RequestScheduler.Policy scheduling) {
+        this.scheduling = scheduling;
+    }
+
+    public void setRunSpec(String runSpec) {
+        this.runSpec = runSpec;
+    }
+
+    public void setDaemon(boolean daemon) {
+        this.daemon = daemon;
+    }
+
+    public void setRefreshInterval(Integer refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    public void setWebhookPort(Integer webhookPort) {
+        this.webhookPort = webhookPort;
+    }
+
+    public void setWebhookSecret(String webhookSecret) {
+        this.webhookSecret = webhookSecret;
+    }
+
+    public void setTextFormat(TextFormat textFormat) {
+        this.textFormat = textFormat;
+    }
+
+    public void setMaxRecordKb(Integer maxRecordKb) {
+        this.maxRecordKb = maxRecordKb;
+    }
+
+    public void setMaxCommentsPerRecord(Integer maxCommentsPerRecord) {
+        this.maxCommentsPerRecord = maxCommentsPerRecord;
+    }
+
+    public void setCommentOverlap(Integer commentOverlap) {
+        this.commentOverlap = commentOverlap;
+    }
+
+    public void setHeapBudgetPercent(Integer heapBudgetPercent) {
+        this.heapBudgetPercent = heapBudgetPercent;
+    }
+
+    public void setScrub(PiiCategory[] scrub) {
+        this.scrub = scrub;
+    }
+
+    public void setScrubPolicy(String[] scrubPolicy) {
+        this.scrubPolicy = scrubPolicy;
+    }
+
+    public void setScrubTerms(String scrubTerms) {
+        this.scrubTerms = scrubTerms;
+    }
+
+    public void setDedup(DedupPolicy dedup) {
+        this.dedup = dedup;
+    }
+
+    public void setDedupThreshold(Double dedupThreshold) {
+        this.dedupThreshold = dedupThreshold;
+    }
+
+    public void setDedupCapacity(Integer dedupCapacity) {
+        this.dedupCapacity = dedupCapacity;
+    }
+
+    public void setSplits(String[] splits) {
+        this.splits = splits;
+    }
+
+    public void setShardByIssueType(boolean shardByIssueType) {
+        this.shardByIssueType = shardByIssueType;
+    }
+
+    public void setSample(Integer sample) {
+        this.sample = sample;
+    }
+
+    public void setSampleBy(SampleField[] sampleBy) {
+        this.sampleBy = sampleBy;
+    }
+
+    public void setCountTokens(boolean countTokens) {
+        this.countTokens = countTokens;
+    }
+
+    public void setMaxTextTokens(Integer maxTextTokens) {
+        this.maxTextTokens = maxTextTokens;
+    }
+
+    public void setMaxFileTokens(Integer maxFileTokens) {
+        this.maxFileTokens = maxFileTokens;
+    }
+
+    public void setStats(boolean stats) {
+        this.stats = stats;
+    }
+
+    public void setMergeStats(String[] mergeStats) {
+        this.mergeStats = mergeStats;
+    }
+
+    public void setManifest(boolean manifest) {
+        this.manifest = manifest;
+    }
+
+    public void setManifestIndex(Integer manifestIndex) {
+        this.manifestIndex = manifestIndex;
+    }
 }
@@ -0,0 +1,199 @@
+package com.jirascraper.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jirascraper.client.PaginationStrategy;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Run spec for scraping several Jira instances in one process. Each host entry maps a set of
+ * projects to a base URL and credentials, and can override the rate limit, retry count,
+ * parallelism and pagination scheme used against that host.
+ *
+ * <p>Credential values of the form {@code ${NAME}} are read from the environment variable NAME,
+ * so the spec file does not need to contain secrets.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class RunSpec {
+
+    @JsonProperty("hosts")
+    private List<Host> hosts = new ArrayList<>();
+
+    /**
+     * Load and validate a run spec from a JSON file.
+     */
+    public static RunSpec load(String path) throws IOException {
+        RunSpec spec = new ObjectMapper().readValue(new File(path), RunSpec.class);
+        spec.validate();
+        return spec;
+    }
+
+    private void validate() {
+        if (hosts == null || hosts.isEmpty()) {
+            throw new IllegalArgumentException("Run spec must define at least one host");
+        }
+
+        Set<String> names = new HashSet<>();
+        for (Host host : hosts) {
+            if (host.getName() == null || host.getName().isBlank()) {
+                throw new IllegalArgumentException("Every run spec host needs a name");
+            }
+            if (!names.add(host.getName())) {
+                throw new IllegalArgumentException("Duplicate run spec host name: " + host.getName());
+            }
+            if (host.getBaseUrl() == null || host.getBaseUrl().isBlank()) {
+                throw new IllegalArgumentException("Run spec host " + host.getName() + " has no base_url");
+            }
+            if (host.getProjects() == null || host.getProjects().isEmpty()) {
+                throw new IllegalArgumentException("Run spec host " + host.getName() + " has no projects");
+            }
+        }
+    }
+
+    public List<Host> getHosts() {
+        return hosts;
+    }
+
+    public void setHosts(List<Host> hosts) {
+        this.hosts = hosts;
+    }
+
+    /**
+     * One Jira instance and the projects to scrape from it. Unset overrides fall back to the
+     * command line values.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Host {
+        @JsonProperty("name")
+        private String name;
+
+        @JsonProperty("base_url")
+        private String baseUrl;
+
+        @JsonProperty("projects")
+        private List<String> projects;
+
+        @JsonProperty("username")
+        private String username;
+
+        @JsonProperty("api_token")
+        private String apiToken;
+
+        @JsonProperty("bearer_token")
+        private String bearerToken;
+
+        @JsonProperty("rate_limit")
+        private Integer rateLimit;
+
+        @JsonProperty("max_retries")
+        private Integer maxRetries;
+
+        @JsonProperty("parallelism")
+        private Integer parallelism;
+
+        @JsonProperty("pagination")
+        private PaginationStrategy pagination;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getBaseUrl() {
+            return baseUrl;
+        }
+
+        public void setBaseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+
+        public List<String> getProjects() {
+            return projects;
+        }
+
+        public void setProjects(List<String> projects) {
+            this.projects = projects;
+        }
+
+        public String getUsername() {
+            return resolve(username);
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getApiToken() {
+            return resolve(apiToken);
+        }
+
+        public void setApiToken(String apiToken) {
+            this.apiToken = apiToken;
+        }
+
+        public String getBearerToken() {
+            return resolve(bearerToken);
+        }
+
+        public void setBearerToken(String bearerToken) {
+            this.bearerToken = bearerToken;
+        }
+
+        public Integer getRateLimit() {
+            return rateLimit;
+        }
+
+        public void setRateLimit(Integer rateLimit) {
+            this.rateLimit = rateLimit;
+        }
+
+        public Integer getMaxRetries() {
+            return maxRetries;
+        }
+
+        public void setMaxRetries(Integer maxRetries) {
+            this.maxRetries = maxRetries;
+        }
+
+        public Integer getParallelism() {
+            return parallelism;
+        }
+
+        public void setParallelism(Integer parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        public PaginationStrategy getPagination() {
+            return pagination;
+        }
+
+        public void setPagination(PaginationStrategy pagination) {
+            this.pagination = pagination;
+        }
+
+        /**
+         * Expand a {@code ${NAME}} reference to the environment variable NAME.
+         */
+        private static String resolve(String value) {
+            if (value != null && value.startsWith("${") && value.endsWith("}")) {
+                String variable = value.substring(2, value.length() - 1);
+                String resolved = System.getenv(variable);
+                if (resolved == null) {
+                    throw new IllegalArgumentException("Environment variable " + variable + " is not set");
+                }
+                return resolved;
+            }
+            return value;
+        }
+    }
+}
@@ -1,10 +1,30 @@
 package com.jirascraper.config;
 
+import com.jirascraper.client.PaginationStrategy;
+import com.jirascraper.client.RequestScheduler;
+import com.jirascraper.service.DedupPolicy;
+import com.jirascraper.service.PiiCategory;
+import com.jirascraper.service.SampleField;
+import com.jirascraper.service.ScrubPolicy;
+import com.jirascraper.service.TextFormat;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Configuration class for Jira scraper settings.
@@ -29,6 +49,22 @@ public class ScraperConfig {
     private static final String DEFAULT_OUTPUT_DIR = "output";
     private static final String DEFAULT_OUTPUT_FORMAT = "jsonl";
     private static final long DEFAULT_MAX_OUTPUT_FILE_SIZE_MB = 50; // 50 MB default chunk size
+    private static final int DEFAULT_LEASE_TIMEOUT_SECONDS = 300;
+    private static final int DEFAULT_TARGET_PAGE_LATENCY_MS = 5000;
+    private static final long DEFAULT_MAX_RESPONSE_SIZE_MB = 8;
+    private static final int DEFAULT_CIRCUIT_BREAKER_THRESHOLD = 5;
+    private static final int DEFAULT_PARALLELISM = 1;
+    private static final int DEFAULT_REFRESH_INTERVAL_MINUTES = 60;
+    private static final int DEFAULT_COMMENT_OVERLAP = 2;
+    private static final int DEFAULT_HEAP_BUDGET_PERCENT = 25;
+    private static final ScrubPolicy DEFAULT_SCRUB_POLICY = ScrubPolicy.REDACT;
+    private static final double DEFAULT_DEDUP_THRESHOLD = 0.8;
+    private static final int DEFAULT_DEDUP_CAPACITY = 1_000_000;
+    private static final int DEFAULT_SAMPLE_SIZE = 0; // Off
+    private static final List<SampleField> DEFAULT_SAMPLE_FIELDS = List.of(SampleField.ISSUE_TYPE);
+    private static final int DEFAULT_MAX_TEXT_TOKENS = 0; // No limit
+    private static final int DEFAULT_MAX_FILE_TOKENS = 0; // Rotate by size only
+    private static final int DEFAULT_MANIFEST_INDEX_INTERVAL = 0; // No index
 
     // Instance fields (can be overridden via CLI or properties)
     private final String jiraBaseUrl;
@@ -51,6 +87,51 @@ public class ScraperConfig {
     private final long maxOutputFileSizeMB;
     private final LocalDate startDate;
     private final LocalDate endDate;
+    private final String workDir;
+    private final boolean coordinatorMode;
+    private final boolean workerMode;
+    private final int leaseTimeoutSeconds;
+    private final boolean repairMode;
+    private final PaginationStrategy paginationStrategy;
+    private final boolean batchSmallProjects;
+    private final boolean adaptivePageSize;
+    private final int targetPageLatencyMs;
+    private final long maxResponseSizeMB;
+    private final boolean hedgeRequests;
+    private final int circuitBreakerThreshold;
+    private final int parallelism;
+    private final RequestScheduler.Policy schedulingPolicy;
+    private final String runSpecFile;
+    private final String hostName;
+    private final String username;
+    private final String apiToken;
+    private final String bearerToken;
+    private final boolean daemonMode;
+    private final int refreshIntervalMinutes;
+    private final int webhookPort;
+    private final String webhookSecret;
+    private final TextFormat textFormat;
+    private final int maxRecordChars;
+    private final int maxCommentsPerRecord;
+    private final int commentOverlap;
+    private final int heapBudgetPercent;
+    private final Set<PiiCategory> scrubCategories;
+    private final Map<PiiCategory, ScrubPolicy> scrubPolicies;
+    private final List<String> scrubTerms;
+    private final DedupPolicy dedupPolicy;
+    private final double dedupThreshold;
+    private final int dedupCapacity;
+    private final Map<String, Double> splits;
+    private final boolean shardByIssueType;
+    private final int sampleSize;
+    private final List<SampleField> sampleFields;
+    private final boolean countTokens;
+    private final int maxTextTokens;
+    private final int maxFileTokens;
+    private final boolean statistics;
+    private final List<String> mergeStatsPaths;
+    private final boolean manifest;
+    private final int manifestIndexInterval;
 
     /**
      * Constructor with default values.
@@ -79,7 +160,26 @@ public class ScraperConfig {
                 ? cliConfig.getPageSize()
                 : DEFAULT_PAGE_SIZE;
 
-        this.maxPageSize = DEFAULT_MAX_PAGE_SIZE;
+        this.maxPageSize = cliConfig != null && cliConfig.getMaxPageSize() != null
+                ? cliConfig.getMaxPageSize()
+                : DEFAULT_MAX_PAGE_SIZE;
+
+        // Adaptive page sizing (optional)
+        this.adaptivePageSize = cliConfig != null && cliConfig.isAdaptivePageSize();
+
+        this.targetPageLatencyMs = cliConfig != null && cliConfig.getTargetPageLatencyMs() != null
+                ? cliConfig.getTargetPageLatencyMs()
+                : DEFAULT_TARGET_PAGE_LATENCY_MS;
+
+        this.maxResponseSizeMB = cliConfig != null && cliConfig.getMaxResponseSizeMB() != null
+                ? cliConfig.getMaxResponseSizeMB()
+                : DEFAULT_MAX_RESPONSE_SIZE_MB;
+
+        this.paginationStrategy = cliConfig != null && cliConfig.getPagination() != null
+                ? cliConfig.getPagination()
+                : PaginationStrategy.OFFSET;
+
+        this.batchSmallProjects = cliConfig != null && cliConfig.isBatchSmallProjects();
 
         // Rate limiting
         this.maxRequestsPerSecond = cliConfig != null && cliConfig.getRateLimit() != null
@@ -97,6 +197,22 @@ public class ScraperConfig {
         this.maxBackoffMs = DEFAULT_MAX_BACKOFF_MS;
         this.backoffMultiplier = DEFAULT_BACKOFF_MULTIPLIER;
 
+        // Tail latency handling
+        this.hedgeRequests = cliConfig != null && cliConfig.isHedgeRequests();
+
+        this.circuitBreakerThreshold = cliConfig != null && cliConfig.getCircuitBreakerThreshold() != null
+                ? cliConfig.getCircuitBreakerThreshold()
+                : DEFAULT_CIRCUIT_BREAKER_THRESHOLD;
+
+        // Concurrent projects sharing one rate budget
+        this.parallelism = cliConfig != null && cliConfig.getParallelism() != null
+                ? Math.max(1, cliConfig.getParallelism())
+                : DEFAULT_PARALLELISM;
+
+        this.schedulingPolicy = cliConfig != null && cliConfig.getScheduling() != null
+                ? cliConfig.getScheduling()
+                : RequestScheduler.Policy.WEIGHTED_FAIR;
+
         // Timeout configuration
         this.connectTimeoutSeconds = cliConfig != null && cliConfig.getConnectTimeout() != null
                 ? cliConfig.getConnectTimeout()
@@ -108,10 +224,25 @@ public class ScraperConfig {
 
         this.writeTimeoutSeconds = DEFAULT_WRITE_TIMEOUT_SECONDS;
 
-        // Checkpoint configuration
-        this.checkpointDir = cliConfig != null && cliConfig.getCheckpointDir() != null
-                ? cliConfig.getCheckpointDir()
-                : DEFAULT_CHECKPOINT_DIR;
+        // Distributed work queue (optional)
+        this.workDir = cliConfig != null ? cliConfig.getWorkDir() : null;
+        this.coordinatorMode = cliConfig != null && cliConfig.isCoordinator();
+        this.workerMode = cliConfig != null && cliConfig.isWorker();
+
+        this.leaseTimeoutSeconds = cliConfig != null && cliConfig.getLeaseTimeout() != null
+                ? cliConfig.getLeaseTimeout()
+                : DEFAULT_LEASE_TIMEOUT_SECONDS;
+
+        this.repairMode = cliConfig != null && cliConfig.isRepair();
+
+        // Checkpoint configuration (shared with other workers when a work dir is used)
+        if (cliConfig != null && cliConfig.getCheckpointDir() != null) {
+            this.checkpointDir = cliConfig.getCheckpointDir();
+        } else if (workDir != null) {
+            this.checkpointDir = Paths.get(workDir, DEFAULT_CHECKPOINT_DIR).toString();
+        } else {
+            this.checkpointDir = DEFAULT_CHECKPOINT_DIR;
+        }
 
         this.checkpointInterval = cliConfig != null && cliConfig.getCheckpointInterval() != null
                 ? cliConfig.getCheckpointInterval()
@@ -132,8 +263,194 @@ public class ScraperConfig {
         this.startDate = parseDate(cliConfig != null ? cliConfig.getStartDate() : null, "start-date");
         this.endDate = parseDate(cliConfig != null ? cliConfig.getEndDate() : null, "end-date");
 
+        // Multi-host run spec (optional); credentials are only set per host
+        this.runSpecFile = cliConfig != null ? cliConfig.getRunSpec() : null;
+        this.hostName = null;
+        this.username = null;
+        this.apiToken = null;
+        this.bearerToken = null;
+
+        // Daemon mode (optional)
+        this.daemonMode = cliConfig != null && cliConfig.isDaemon();
+
+        this.refreshIntervalMinutes = cliConfig != null && cliConfig.getRefreshInterval() != null
+                ? cliConfig.getRefreshInterval()
+                : DEFAULT_REFRESH_INTERVAL_MINUTES;
+
+        // Webhook receiver (optional, 0 = disabled)
+        this.webhookPort = cliConfig != null && cliConfig.getWebhookPort() != null
+                ? cliConfig.getWebhookPort()
+                : 0;
+        this.webhookSecret = cliConfig != null ? cliConfig.getWebhookSecret() : null;
+
+        // Text rendering (optional)
+        this.textFormat = cliConfig != null && cliConfig.getTextFormat() != null
+                ? cliConfig.getTextFormat()
+                : TextFormat.PLAIN;
+
+        // Per-issue record budgets (optional, 0 = unlimited)
+        this.maxRecordChars = cliConfig != null && cliConfig.getMaxRecordKb() != null
+                ? cliConfig.getMaxRecordKb() * 1024
+                : 0;
+
+        this.maxCommentsPerRecord = cliConfig != null && cliConfig.getMaxCommentsPerRecord() != null
+                ? cliConfig.getMaxCommentsPerRecord()
+                : 0;
+
+        this.commentOverlap = cliConfig != null && cliConfig.getCommentOverlap() != null
+                ? cliConfig.getCommentOverlap()
+                : DEFAULT_COMMENT_OVERLAP;
+
+        this.heapBudgetPercent = cliConfig != null && cliConfig.getHeapBudgetPercent() != null
+                ? cliConfig.getHeapBudgetPercent()
+                : DEFAULT_HEAP_BUDGET_PERCENT;
+
+        // PII and secret scrubbing (optional)
+        this.scrubCategories = cliConfig != null && cliConfig.getScrub() != null && cliConfig.getScrub().length > 0
+                ? Collections.unmodifiableSet(EnumSet.copyOf(Arrays.asList(cliConfig.getScrub())))
+                : Collections.emptySet();
+        this.scrubPolicies = parseScrubPolicies(cliConfig != null ? cliConfig.getScrubPolicy() : null);
+        this.scrubTerms = loadScrubTerms(cliConfig != null ? cliConfig.getScrubTerms() : null);
+
+        // Near-duplicate detection (optional)
+        this.dedupPolicy = cliConfig != null ? cliConfig.getDedup() : null;
+
+        this.dedupThreshold = cliConfig != null && cliConfig.getDedupThreshold() != null
+                ? cliConfig.getDedupThreshold()
+                : DEFAULT_DEDUP_THRESHOLD;
+
+        this.dedupCapacity = cliConfig != null && cliConfig.getDedupCapacity() != null
+                ? cliConfig.getDedupCapacity()
+                : DEFAULT_DEDUP_CAPACITY;
+
+        // Output routing (optional)
+        this.splits = parseSplits(cliConfig != null ? cliConfig.getSplits() : null);
+        this.shardByIssueType = cliConfig != null && cliConfig.isShardByIssueType();
+
+        // Stratified sampling (optional)
+        this.sampleSize = cliConfig != null && cliConfig.getSample() != null
+                ? cliConfig.getSample()
+                : DEFAULT_SAMPLE_SIZE;
+
+        this.sampleFields = cliConfig != null && cliConfig.getSampleBy() != null && cliConfig.getSampleBy().length > 0
+                ? List.copyOf(new LinkedHashSet<>(Arrays.asList(cliConfig.getSampleBy())))
+                : DEFAULT_SAMPLE_FIELDS;
+
+        // Token budgets (optional)
+        this.countTokens = cliConfig != null && cliConfig.isCountTokens();
+
+        this.maxTextTokens = cliConfig != null && cliConfig.getMaxTextTokens() != null
+                ? cliConfig.getMaxTextTokens()
+                : DEFAULT_MAX_TEXT_TOKENS;
+
+        this.maxFileTokens = cliConfig != null && cliConfig.getMaxFileTokens() != null
+                ? cliConfig.getMaxFileTokens()
+                : DEFAULT_MAX_FILE_TOKENS;
+
+        // Corpus statistics (optional)
+        this.statistics = cliConfig != null && cliConfig.isStats();
+
+        this.mergeStatsPaths = cliConfig != null && cliConfig.getMergeStats() != null && cliConfig.getMergeStats().length > 0
+                ? List.of(cliConfig.getMergeStats())
+                : null;
+
+        // Output manifest (optional)
+        this.manifest = cliConfig != null && cliConfig.isManifest();
+
+        this.manifestIndexInterval = cliConfig != null && cliConfig.getManifestIndex() != null
+                ? cliConfig.getManifestIndex()
+                : DEFAULT_MANIFEST_INDEX_INTERVAL;
+
         // Validate date logic
         validateDates();
+        validateWorkQueue();
+        validateRecordBudgets();
+    }
+
+    /**
+     * Copy of a base config for one host of a run spec. Output and checkpoints go to a
+     * per-host subdirectory so project keys from different instances cannot collide.
+     */
+    private ScraperConfig(ScraperConfig base, RunSpec.Host host) {
+        this.hostName = host.getName();
+        this.jiraBaseUrl = host.getBaseUrl();
+        this.projects = new ArrayList<>(host.getProjects());
+        this.username = host.getUsername();
+        this.apiToken = host.getApiToken();
+        this.bearerToken = host.getBearerToken();
+
+        this.maxRequestsPerSecond = host.getRateLimit() != null ? host.getRateLimit() : base.maxRequestsPerSecond;
+        this.requestDelayMs = 1000 / this.maxRequestsPerSecond;
+        this.maxRetries = host.getMaxRetries() != null ? host.getMaxRetries() : base.maxRetries;
+        this.parallelism = host.getParallelism() != null ? Math.max(1, host.getParallelism()) : base.parallelism;
+        this.paginationStrategy = host.getPagination() != null ? host.getPagination() : base.paginationStrategy;
+
+        this.outputDir = Paths.get(base.outputDir, hostName).toString();
+        this.checkpointDir = Paths.get(base.checkpointDir, hostName).toString();
+
+        this.initialBackoffMs = base.initialBackoffMs;
+        this.maxBackoffMs = base.maxBackoffMs;
+        this.backoffMultiplier = base.backoffMultiplier;
+        this.connectTimeoutSeconds = base.connectTimeoutSeconds;
+        this.readTimeoutSeconds = base.readTimeoutSeconds;
+        this.writeTimeoutSeconds = base.writeTimeoutSeconds;
+        this.defaultPageSize = base.defaultPageSize;
+        this.maxPageSize = base.maxPageSize;
+        this.checkpointInterval = base.checkpointInterval;
+        this.outputFormat = base.outputFormat;
+        this.maxOutputFileSizeMB = base.maxOutputFileSizeMB;
+        this.startDate = base.startDate;
+        this.endDate = base.endDate;
+        this.workDir = base.workDir;
+        this.coordinatorMode = base.coordinatorMode;
+        this.workerMode = base.workerMode;
+        this.leaseTimeoutSeconds = base.leaseTimeoutSeconds;
+        this.repairMode = base.repairMode;
+        this.batchSmallProjects = base.batchSmallProjects;
+        this.adaptivePageSize = base.adaptivePageSize;
+        this.targetPageLatencyMs = base.targetPageLatencyMs;
+        this.maxResponseSizeMB = base.maxResponseSizeMB;
+        this.hedgeRequests = base.hedgeRequests;
+        this.circuitBreakerThreshold = base.circuitBreakerThreshold;
+        this.schedulingPolicy = base.schedulingPolicy;
+        this.runSpecFile = base.runSpecFile;
+        this.daemonMode = base.daemonMode;
+        this.refreshIntervalMinutes = base.refreshIntervalMinutes;
+        this.webhookPort = base.webhookPort;
+        this.webhookSecret = base.webhookSecret;
+        this.textFormat = base.textFormat;
+        this.maxRecordChars = base.maxRecordChars;
+        this.maxCommentsPerRecord = base.maxCommentsPerRecord;
+        this.commentOverlap = base.commentOverlap;
+        this.heapBudgetPercent = base.heapBudgetPercent;
+        this.scrubCategories = base.scrubCategories;
+        this.scrubPolicies = base.scrubPolicies;
+        this.scrubTerms = base.scrubTerms;
+        this.dedupPolicy = base.dedupPolicy;
+        this.dedupThreshold = base.dedupThreshold;
+        this.dedupCapacity = base.dedupCapacity;
+        this.splits = base.splits;
+        this.shardByIssueType = base.shardByIssueType;
+        this.sampleSize = base.sampleSize;
+        this.sampleFields = base.sampleFields;
+        this.countTokens = base.countTokens;
+        this.maxTextTokens = base.maxTextTokens;
+        this.maxFileTokens = base.maxFileTokens;
+        this.statistics = base.statistics;
+        this.mergeStatsPaths = base.mergeStatsPaths;
+        this.manifest = base.manifest;
+        this.manifestIndexInterval = base.manifestIndexInterval;
+
+        if (maxRequestsPerSecond <= 0) {
+            throw new IllegalArgumentException("Run spec host " + hostName + " has a non-positive rate_limit");
+        }
+    }
+
+    /**
+     * Config for one host of the run spec, inheriting every setting the host does not override.
+     */
+    public ScraperConfig forHost(RunSpec.Host host) {
+        return new ScraperConfig(this, host);
     }
 
     /**
@@ -153,6 +470,92 @@ public class ScraperConfig {
         }
     }
 
+    /**
+     * Parse scrub policies given as POLICY (all categories) or CATEGORY=POLICY.
+     */
+    private Map<PiiCategory, ScrubPolicy> parseScrubPolicies(String[] values) {
+        ScrubPolicy defaultPolicy = DEFAULT_SCRUB_POLICY;
+        Map<PiiCategory, ScrubPolicy> overrides = new EnumMap<>(PiiCategory.class);
+        if (values != null) {
+            for (String value : values) {
+                String entry = value.trim().toUpperCase();
+                int eq = entry.indexOf('=');
+                try {
+                    if (eq < 0) {
+                        defaultPolicy = ScrubPolicy.valueOf(entry);
+                    } else {
+                        overrides.put(PiiCategory.valueOf(entry.substring(0, eq).trim()),
+                                ScrubPolicy.valueOf(entry.substring(eq + 1).trim()));
+                    }
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException(
+                        String.format("Invalid scrub policy '%s'. Expected POLICY or CATEGORY=POLICY with policy "
+                            + "one of %s and category one of %s", value,
+                            Arrays.toString(ScrubPolicy.values()), Arrays.toString(PiiCategory.values())), e);
+                }
+            }
+        }
+
+        Map<PiiCategory, ScrubPolicy> policies = new EnumMap<>(PiiCategory.class);
+        for (PiiCategory category : PiiCategory.values()) {
+            policies.put(category, overrides.getOrDefault(category, defaultPolicy));
+        }
+        return Collections.unmodifiableMap(policies);
+    }
+
+    /**
+     * Parse output splits given as NAME=WEIGHT; weights are relative and need not add up to 1.
+     */
+    private Map<String, Double> parseSplits(String[] values) {
+        if (values == null || values.length == 0) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, Double> splits = new LinkedHashMap<>();
+        for (String value : values) {
+            String entry = value.trim();
+            int eq = entry.indexOf('=');
+            String name = eq > 0 ? entry.substring(0, eq).trim() : "";
+            double weight;
+            try {
+                weight = eq > 0 ? Double.parseDouble(entry.substring(eq + 1).trim()) : Double.NaN;
+            } catch (NumberFormatException e) {
+                weight = Double.NaN;
+            }
+            if (!name.matches("[A-Za-z0-9_-]+") || !(weight > 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException(String.format(
+                    "Invalid split '%s'. Expected NAME=WEIGHT with a name of letters, digits, '_' or '-' "
+                        + "and a positive weight (e.g., train=0.8)", value));
+            }
+            if (splits.put(name, weight) != null) {
+                throw new IllegalArgumentException("Split '" + name + "' is given more than once");
+            }
+        }
+        return Collections.unmodifiableMap(splits);
+    }
+
+    /**
+     * Read scrub terms, one per line; blank lines and lines starting with # are skipped.
+     */
+    private List<String> loadScrubTerms(String file) {
+        if (file == null || file.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        try {
+            List<String> terms = new ArrayList<>();
+            for (String line : Files.readAllLines(Paths.get(file.trim()), StandardCharsets.UTF_8)) {
+                String term = line.trim();
+                if (!term.isEmpty() && !term.startsWith("#")) {
+                    terms.add(term);
+                }
+            }
+            return Collections.unmodifiableList(terms);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot read scrub terms file " + file + ": " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Validate date logic.
      */
@@ -164,6 +567,69 @@ public class ScraperConfig {
         }
     }
 
+    /**
+     * Validate coordinator/worker settings.
+     */
+    private void validateWorkQueue() {
+        if ((coordinatorMode || workerMode) && workDir == null) {
+            throw new IllegalArgumentException("--coordinator and --worker require --work-dir");
+        }
+        if (repairMode && (coordinatorMode || workerMode)) {
+            throw new IllegalArgumentException("--repair cannot be combined with --coordinator or --worker");
+        }
+        if (coordinatorMode && workerMode) {
+            throw new IllegalArgumentException("--coordinator and --worker cannot be used together");
+        }
+        if (leaseTimeoutSeconds <= 0) {
+            throw new IllegalArgumentException("Lease timeout must be positive");
+        }
+        if (runSpecFile != null && (coordinatorMode || workerMode)) {
+            throw new IllegalArgumentException("--run-spec cannot be combined with --coordinator or --worker");
+        }
+        if (daemonMode && (coordinatorMode || workerMode || repairMode || runSpecFile != null)) {
+            throw new IllegalArgumentException("--daemon cannot be combined with --coordinator, --worker, --repair or --run-spec");
+        }
+        if (webhookPort > 0 && (coordinatorMode || workerMode || repairMode || runSpecFile != null)) {
+            throw new IllegalArgumentException("--webhook-port cannot be combined with --coordinator, --worker, --repair or --run-spec");
+        }
+        if (webhookPort < 0 || webhookPort > 65535) {
+            throw new IllegalArgumentException("Webhook port must be between 0 and 65535");
+        }
+        if (refreshIntervalMinutes <= 0) {
+            throw new IllegalArgumentException("Refresh interval must be positive");
+        }
+    }
+
+    /**
+     * Validate per-issue record budgets, token budgets, deduplication, sampling and manifest settings.
+     */
+    private void validateRecordBudgets() {
+        if (maxRecordChars < 0 || maxCommentsPerRecord < 0 || commentOverlap < 0) {
+            throw new IllegalArgumentException("Record budgets and comment overlap cannot be negative");
+        }
+        if (heapBudgetPercent < 0 || heapBudgetPercent > 90) {
+            throw new IllegalArgumentException("Heap budget must be between 0 and 90 percent");
+        }
+        if (dedupThreshold <= 0 || dedupThreshold > 1) {
+            throw new IllegalArgumentException("Dedup threshold must be greater than 0 and at most 1");
+        }
+        if (dedupCapacity <= 0 || dedupCapacity > 20_000_000) {
+            throw new IllegalArgumentException("Dedup capacity must be between 1 and 20000000");
+        }
+        if (sampleSize < 0) {
+            throw new IllegalArgumentException("Sample size cannot be negative");
+        }
+        if (maxTextTokens < 0 || maxFileTokens < 0) {
+            throw new IllegalArgumentException("Token budgets cannot be negative");
+        }
+        if (manifestIndexInterval < 0) {
+            throw new IllegalArgumentException("Manifest index interval cannot be negative");
+        }
+        if (manifestIndexInterval > 0 && !manifest) {
+            throw new IllegalArgumentException("--manifest-index requires --manifest");
+        }
+    }
+
     // Getters
     public String getJiraBaseUrl() {
         return jiraBaseUrl;
@@ -245,20 +711,266 @@ public class ScraperConfig {
         return endDate;
     }
 
+    public String getWorkDir() {
+        return workDir;
+    }
+
+    public boolean isCoordinatorMode() {
+        return coordinatorMode;
+    }
+
+    public boolean isWorkerMode() {
+        return workerMode;
+    }
+
+    public int getLeaseTimeoutSeconds() {
+        return leaseTimeoutSeconds;
+    }
+
+    public boolean isRepairMode() {
+        return repairMode;
+    }
+
+    public PaginationStrategy getPaginationStrategy() {
+        return paginationStrategy;
+    }
+
+    public boolean isBatchSmallProjects() {
+        return batchSmallProjects;
+    }
+
+    public boolean isAdaptivePageSize() {
+        return adaptivePageSize;
+    }
+
+    public int getTargetPageLatencyMs() {
+        return targetPageLatencyMs;
+    }
+
+    public long getMaxResponseSizeMB() {
+        return maxResponseSizeMB;
+    }
+
+    public boolean isHedgeRequests() {
+        return hedgeRequests;
+    }
+
+    public int getCircuitBreakerThreshold() {
+        return circuitBreakerThreshold;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public RequestScheduler.Policy getSchedulingPolicy() {
+        return schedulingPolicy;
+    }
+
+    public String getRunSpecFile() {
+        return runSpecFile;
+    }
+
+    public String getHostName() {
+        return hostName;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getApiToken() {
+        return apiToken;
+    }
+
+    public String getBearerToken() {
+        return bearerToken;
+    }
+
+    public boolean isDaemonMode() {
+        return daemonMode;
+    }
+
+    public int getRefreshIntervalMinutes() {
+        return refreshIntervalMinutes;
+    }
+
+    public int getWebhookPort() {
+        return webhookPort;
+    }
+
+    public String getWebhookSecret() {
+        return webhookSecret;
+    }
+
+    public TextFormat getTextFormat() {
+        return textFormat;
+    }
+
+    public int getMaxRecordChars() {
+        return maxRecordChars;
+    }
+
+    public int getMaxCommentsPerRecord() {
+        return maxCommentsPerRecord;
+    }
+
+    public int getCommentOverlap() {
+        return commentOverlap;
+    }
+
+    public int getHeapBudgetPercent() {
+        return heapBudgetPercent;
+    }
+
+    public Set<PiiCategory> getScrubCategories() {
+        return scrubCategories;
+    }
+
+    /**
+     * Replacement policy of every scrub category.
+     */
+    public Map<PiiCategory, ScrubPolicy> getScrubPolicies() {
+        return scrubPolicies;
+    }
+
+    public List<String> getScrubTerms() {
+        return scrubTerms;
+    }
+
+    /**
+     * Near-duplicate policy, {@code null} if deduplication is off.
+     */
+    public DedupPolicy getDedupPolicy() {
+        return dedupPolicy;
+    }
+
+    public double getDedupThreshold() {
+        return dedupThreshold;
+    }
+
+    public int getDedupCapacity() {
+        return dedupCapacity;
+    }
+
+    /**
+     * Relative weight of each output split in the order given, empty if records are not split.
+     */
+    public Map<String, Double> getSplits() {
+        return splits;
+    }
+
+    public boolean isShardByIssueType() {
+        return shardByIssueType;
+    }
+
+    /**
+     * Issues sampled per project and stratum, 0 if the full output is written.
+     */
+    public int getSampleSize() {
+        return sampleSize;
+    }
+
+    public List<SampleField> getSampleFields() {
+        return sampleFields;
+    }
+
+    public boolean isCountTokens() {
+        return countTokens;
+    }
+
+    /**
+     * Estimated tokens each description and comment is truncated to, 0 for no limit.
+     */
+    public int getMaxTextTokens() {
+        return maxTextTokens;
+    }
+
+    /**
+     * Estimated tokens of text after which an output file is rotated, 0 to rotate by size only.
+     */
+    public int getMaxFileTokens() {
+        return maxFileTokens;
+    }
+
+    /**
+     * Whether a statistics report of the written records is kept in the output directory.
+     */
+    public boolean isStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Statistics reports, or directories of them, to merge instead of scraping; {@code null} to scrape.
+     */
+    public List<String> getMergeStatsPaths() {
+        return mergeStatsPaths;
+    }
+
+    /**
+     * Whether each output series gets a manifest of its chunks.
+     */
+    public boolean isManifest() {
+        return manifest;
+    }
+
+    /**
+     * Every how many issues of a chunk the manifest records a byte offset, 0 for no index.
+     */
+    public int getManifestIndexInterval() {
+        return manifestIndexInterval;
+    }
+
     @Override
     public String toString() {
         return "ScraperConfig{" +
                 "jiraBaseUrl='" + jiraBaseUrl + '\'' +
+                ", hostName=" + hostName +
+                ", runSpecFile=" + runSpecFile +
                 ", projects=" + projects +
                 ", maxRequestsPerSecond=" + maxRequestsPerSecond +
                 ", maxRetries=" + maxRetries +
+                ", hedgeRequests=" + hedgeRequests +
+                ", circuitBreakerThreshold=" + circuitBreakerThreshold +
+                ", parallelism=" + parallelism +
+                ", schedulingPolicy=" + schedulingPolicy +
                 ", defaultPageSize=" + defaultPageSize +
+                ", maxPageSize=" + maxPageSize +
+                ", adaptivePageSize=" + adaptivePageSize +
+                ", paginationStrategy=" + paginationStrategy +
                 ", checkpointDir='" + checkpointDir + '\'' +
                 ", checkpointInterval=" + checkpointInterval +
                 ", outputDir='" + outputDir + '\'' +
                 ", maxOutputFileSizeMB=" + maxOutputFileSizeMB +
                 ", startDate=" + startDate +
                 ", endDate=" + endDate +
+                ", workDir=" + workDir +
+                ", coordinatorMode=" + coordinatorMode +
+                ", workerMode=" + workerMode +
+                ", daemonMode=" + daemonMode +
+                ", refreshIntervalMinutes=" + refreshIntervalMinutes +
+                ", webhookPort=" + webhookPort +
+                ", textFormat=" + textFormat +
+                ", maxRecordChars=" + maxRecordChars +
+                ", maxCommentsPerRecord=" + maxCommentsPerRecord +
+                ", heapBudgetPercent=" + heapBudgetPercent +
+                ", scrubCategories=" + scrubCategories +
+                ", scrubPolicies=" + scrubPolicies +
+                ", scrubTerms=" + scrubTerms.size() +
+                ", dedupPolicy=" + dedupPolicy +
+                ", dedupThreshold=" + dedupThreshold +
+                ", dedupCapacity=" + dedupCapacity +
+                ", splits=" + splits +
+                ", shardByIssueType=" + shardByIssueType +
+                ", sampleSize=" + sampleSize +
+                ", sampleFields=" + sampleFields +
+                ", countTokens=" + countTokens +
+                ", maxTextTokens=" + maxTextTokens +
+                ", maxFileTokens=" + maxFileTokens +
+                ", statistics=" + statistics +
+                ", mergeStatsPaths=" + mergeStatsPaths +
+                ", manifest=" + manifest +
+                ", manifestIndexInterval=" + manifestIndexInterval +
                 '}';
     }
 }
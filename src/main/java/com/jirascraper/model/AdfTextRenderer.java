@@ -0,0 +1,70 @@
+package com.jirascraper.model;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.Set;
+
+/**
+ * Renders API v3 Atlassian Document Format (ADF) documents as plain text.
+ */
+final class AdfTextRenderer {
+
+    private static final Set<String> BLOCK_NODES = Set.of(
+            "paragraph", "heading", "blockquote", "codeBlock", "bulletList", "orderedList",
+            "listItem", "panel", "rule", "table", "tableRow", "mediaSingle", "mediaGroup",
+            "expand", "nestedExpand", "decisionList", "decisionItem", "taskList", "taskItem");
+
+    private AdfTextRenderer() {
+    }
+
+    /**
+     * The plain text of an ADF document, without leading or trailing whitespace.
+     */
+    static String render(JsonNode document) {
+        StringBuilder text = new StringBuilder();
+        appendText(document, text);
+        return text.toString().trim();
+    }
+
+    /**
+     * Render an ADF node and its children as plain text. Block nodes are separated by
+     * line breaks; inline nodes without text (mentions, emoji, cards) use their display attribute.
+     */
+    private static void appendText(JsonNode node, StringBuilder text) {
+        String type = node.path("type").asText();
+        JsonNode attrs = node.path("attrs");
+
+        switch (type) {
+            case "text":
+                text.append(node.path("text").asText());
+                return;
+            case "hardBreak":
+                text.append('\n');
+                return;
+            case "mention":
+                text.append(attrs.path("text").asText());
+                return;
+            case "emoji":
+                text.append(attrs.path("text").asText(attrs.path("shortName").asText()));
+                return;
+            case "inlineCard":
+            case "blockCard":
+                text.append(attrs.path("url").asText());
+                return;
+            default:
+                break;
+        }
+
+        if (type.equals("tableCell") || type.equals("tableHeader")) {
+            text.append(' ');
+        }
+
+        for (JsonNode child : node.path("content")) {
+            appendText(child, text);
+        }
+
+        if (BLOCK_NODES.contains(type) && text.length() > 0 && text.charAt(text.length() - 1) != '\n') {
+            text.append('\n');
+        }
+    }
+}
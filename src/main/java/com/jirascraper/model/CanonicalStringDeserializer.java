@@ -0,0 +1,32 @@
+package com.jirascraper.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Deserializer for low-cardinality string values that returns shared instances from
+ * {@link StringCanonicalizer#shared()}. Jackson interns field names but not values.
+ *
+ * <p>String tokens are looked up straight from the parser's text buffer, so a repeated value
+ * allocates nothing.
+ */
+public class CanonicalStringDeserializer extends JsonDeserializer<String> {
+
+    @Override
+    public String deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        StringCanonicalizer canonicalizer = StringCanonicalizer.shared();
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            return canonicalizer.canonicalize(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        }
+
+        String text = parser.getValueAsString();
+        if (text == null) {
+            return (String) context.handleUnexpectedToken(String.class, parser);
+        }
+        return canonicalizer.canonicalize(text);
+    }
+}
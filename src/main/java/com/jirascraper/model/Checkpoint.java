@@ -1,8 +1,11 @@
 package com.jirascraper.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Model representing checkpoint data for resumable scraping.
@@ -33,6 +36,26 @@ public class Checkpoint {
     @JsonProperty("base_timestamp")
     private String baseTimestamp;
 
+    @JsonProperty("next_page_token")
+    private String nextPageToken;
+
+    @JsonProperty("updated_since")
+    private Long updatedSince;
+
+    @JsonProperty("split_chunks")
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private Map<String, Integer> splitChunks;
+
+    /** Estimated tokens in the current chunk of each route, "" when records are not routed. */
+    @JsonProperty("chunk_tokens")
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private Map<String, Long> chunkTokens;
+
+    /** Records of the issues sampled so far, so that a resumed crawl continues the same sample. */
+    @JsonProperty("sample")
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<LLMTrainingData> sample;
+
     public Checkpoint() {
         this.timestamp = LocalDateTime.now();
         this.completed = false;
@@ -124,4 +147,44 @@ public class Checkpoint {
     public void setBaseTimestamp(String baseTimestamp) {
         this.baseTimestamp = baseTimestamp;
     }
+
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
+    public void setNextPageToken(String nextPageToken) {
+        this.nextPageToken = nextPageToken;
+    }
+
+    public Long getUpdatedSince() {
+        return updatedSince;
+    }
+
+    public void setUpdatedSince(Long updatedSince) {
+        this.updatedSince = updatedSince;
+    }
+
+    public Map<String, Integer> getSplitChunks() {
+        return splitChunks;
+    }
+
+    public void setSplitChunks(Map<String, Integer> splitChunks) {
+        this.splitChunks = splitChunks;
+    }
+
+    public Map<String, Long> getChunkTokens() {
+        return chunkTokens;
+    }
+
+    public void setChunkTokens(Map<String, Long> chunkTokens) {
+        this.chunkTokens = chunkTokens;
+    }
+
+    public List<LLMTrainingData> getSample() {
+        return sample;
+    }
+
+    public void setSample(List<LLMTrainingData> sample) {
+        this.sample = sample;
+    }
 }
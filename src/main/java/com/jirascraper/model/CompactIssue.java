@@ -0,0 +1,61 @@
+package com.jirascraper.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Flat, immutable view of a Jira issue holding only what the transformation reads.
+ *
+ * <p>{@link CompactIssueDeserializer} reads the API's nested {@code fields} object straight into
+ * these components, so no wrapper objects are allocated per status, priority, user or comment
+ * container. Users are reduced to their display name (falling back to the user name), and the
+ * description and comment bodies are {@link LazyText} slices of the response.
+ */
+@JsonDeserialize(using = CompactIssueDeserializer.class)
+public record CompactIssue(
+        String id,
+        String key,
+        String projectKey,
+        String issueType,
+        String summary,
+        String status,
+        String priority,
+        String reporter,
+        String assignee,
+        String created,
+        String updated,
+        String resolutionDate,
+        String resolution,
+        List<String> labels,
+        LazyText description,
+        List<Comment> comments) {
+
+    @JsonDeserialize(using = CompactIssueDeserializer.CommentDeserializer.class)
+    public record Comment(String id, String author, LazyText body, String created) {
+    }
+
+    /**
+     * Encoded size of the description and comment bodies, without decoding them.
+     */
+    public long textBytes() {
+        long bytes = description != null ? description.byteLength() : 0;
+        for (Comment comment : comments) {
+            bytes += comment.body() != null ? comment.body().byteLength() : 0;
+        }
+        return bytes;
+    }
+
+    /**
+     * Copy of this issue with {@code comment} added, replacing an existing comment with the
+     * same id.
+     */
+    public CompactIssue withComment(Comment comment) {
+        List<Comment> merged = new ArrayList<>(comments);
+        merged.removeIf(existing -> existing.id() != null && existing.id().equals(comment.id()));
+        merged.add(comment);
+        return new CompactIssue(id, key, projectKey, issueType, summary, status, priority, reporter, assignee,
+                created, updated, resolutionDate, resolution, labels, description, merged);
+    }
+}
@@ -0,0 +1,321 @@
+package com.jirascraper.model;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Streaming deserializer from the API's issue JSON to a {@link CompactIssue}.
+ *
+ * <p>Low-cardinality values are canonicalised through {@link StringCanonicalizer}. When the raw
+ * response bytes are passed as the {@link #SOURCE_ATTRIBUTE} attribute, description and comment
+ * bodies are kept as slices of them and the parser skips over their content without decoding.
+ * Otherwise (a tree, a character source) they are read as strings. ADF documents from API v3
+ * are rendered to plain text by {@link AdfTextRenderer}.
+ */
+public class CompactIssueDeserializer extends JsonDeserializer<CompactIssue> {
+
+    /**
+     * Deserialization attribute holding the {@code byte[]} the parser reads from.
+     */
+    public static final String SOURCE_ATTRIBUTE = "jirascraper.sourceBytes";
+
+    @Override
+    public CompactIssue deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            return (CompactIssue) context.handleUnexpectedToken(CompactIssue.class, parser);
+        }
+        byte[] source = (byte[]) context.getAttribute(SOURCE_ATTRIBUTE);
+
+        String id = null;
+        String key = null;
+        IssueFields fields = new IssueFields();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            switch (name) {
+                case "id":
+                    id = parser.getValueAsString();
+                    break;
+                case "key":
+                    key = parser.getValueAsString();
+                    break;
+                case "fields":
+                    readFields(parser, source, fields);
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+
+        String projectKey = fields.projectKey != null ? fields.projectKey : keyPrefix(key);
+        return new CompactIssue(id, key, projectKey, fields.issueType, fields.summary, fields.status,
+                fields.priority, fields.reporter, fields.assignee, fields.created, fields.updated,
+                fields.resolutionDate, fields.resolution, fields.labels, fields.description, fields.comments);
+    }
+
+    private static void readFields(JsonParser parser, byte[] source, IssueFields fields) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            switch (name) {
+                case "summary":
+                    fields.summary = parser.getValueAsString();
+                    break;
+                case "description":
+                    fields.description = readText(parser, source);
+                    break;
+                case "status":
+                    fields.status = readNested(parser, "name");
+                    break;
+                case "priority":
+                    fields.priority = readNested(parser, "name");
+                    break;
+                case "issuetype":
+                    fields.issueType = readNested(parser, "name");
+                    break;
+                case "resolution":
+                    fields.resolution = readNested(parser, "name");
+                    break;
+                case "project":
+                    fields.projectKey = readNested(parser, "key");
+                    break;
+                case "reporter":
+                    fields.reporter = readUser(parser);
+                    break;
+                case "assignee":
+                    fields.assignee = readUser(parser);
+                    break;
+                case "created":
+                    fields.created = parser.getValueAsString();
+                    break;
+                case "updated":
+                    fields.updated = parser.getValueAsString();
+                    break;
+                case "resolutiondate":
+                    fields.resolutionDate = parser.getValueAsString();
+                    break;
+                case "labels":
+                    fields.labels = readLabels(parser);
+                    break;
+                case "comment":
+                    fields.comments = readComments(parser, source);
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Canonical string value of one property of a nested object, such as a status name.
+     */
+    private static String readNested(JsonParser parser, String property) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        String value = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            if (name.equals(property)) {
+                value = canonical(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Display name of a user object, falling back to the user name.
+     */
+    private static String readUser(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+        String userName = null;
+        String displayName = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            if (name.equals("displayName")) {
+                displayName = canonical(parser);
+            } else if (name.equals("name")) {
+                userName = canonical(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return displayName != null ? displayName : userName;
+    }
+
+    private static List<String> readLabels(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        List<String> labels = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            String label = canonical(parser);
+            if (label != null) {
+                labels.add(label);
+            }
+        }
+        return labels;
+    }
+
+    /**
+     * Comments of a {@code comment} container object.
+     */
+    private static List<CompactIssue.Comment> readComments(JsonParser parser, byte[] source) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return Collections.emptyList();
+        }
+        List<CompactIssue.Comment> comments = Collections.emptyList();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            if (name.equals("comments") && parser.currentToken() == JsonToken.START_ARRAY) {
+                comments = new ArrayList<>();
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    comments.add(readComment(parser, source));
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return comments;
+    }
+
+    private static CompactIssue.Comment readComment(JsonParser parser, byte[] source) throws IOException {
+        String id = null;
+        String author = null;
+        LazyText body = null;
+        String created = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            switch (name) {
+                case "id":
+                    id = parser.getValueAsString();
+                    break;
+                case "author":
+                    author = readUser(parser);
+                    break;
+                case "body":
+                    body = readText(parser, source);
+                    break;
+                case "created":
+                    created = parser.getValueAsString();
+                    break;
+                default:
+                    parser.skipChildren();
+                    break;
+            }
+        }
+        return new CompactIssue.Comment(id, author, body, created);
+    }
+
+    /**
+     * A rich-text value: a slice of {@code source} for a string when the parser reads from it,
+     * otherwise the decoded string or the rendered ADF document.
+     */
+    private static LazyText readText(JsonParser parser, byte[] source) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+            JsonNode node = parser.readValueAsTree();
+            return LazyText.of(AdfTextRenderer.render(node));
+        }
+        if (token == JsonToken.VALUE_STRING && source != null) {
+            long quote = parser.currentTokenLocation().getByteOffset();
+            if (quote >= 0 && quote < source.length && source[(int) quote] == '"') {
+                return slice(source, (int) quote + 1);
+            }
+        }
+        return LazyText.of(parser.getValueAsString());
+    }
+
+    /**
+     * The JSON string body starting at {@code start}, up to its closing quote.
+     */
+    private static LazyText slice(byte[] source, int start) {
+        boolean escaped = false;
+        int i = start;
+        while (source[i] != '"') {
+            if (source[i] == '\\') {
+                escaped = true;
+                i += 2;
+            } else {
+                i++;
+            }
+        }
+        return LazyText.ofJson(source, start, i - start, escaped);
+    }
+
+    private static String canonical(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            return StringCanonicalizer.shared().canonicalize(
+                    parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        }
+        parser.skipChildren();
+        return StringCanonicalizer.shared().canonicalize(parser.getValueAsString());
+    }
+
+    private static String keyPrefix(String key) {
+        int dash = key != null ? key.lastIndexOf('-') : -1;
+        return dash > 0 ? key.substring(0, dash) : key;
+    }
+
+    /**
+     * Deserializer for a single comment, as pushed in comment webhook events.
+     */
+    public static class CommentDeserializer extends JsonDeserializer<CompactIssue.Comment> {
+        @Override
+        public CompactIssue.Comment deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.currentToken() != JsonToken.START_OBJECT) {
+                return (CompactIssue.Comment) context.handleUnexpectedToken(CompactIssue.Comment.class, parser);
+            }
+            return readComment(parser, (byte[]) context.getAttribute(SOURCE_ATTRIBUTE));
+        }
+    }
+
+    /**
+     * Field values collected while reading the {@code fields} object.
+     */
+    private static final class IssueFields {
+        private String summary;
+        private LazyText description;
+        private String status;
+        private String priority;
+        private String issueType;
+        private String resolution;
+        private String projectKey;
+        private String reporter;
+        private String assignee;
+        private String created;
+        private String updated;
+        private String resolutionDate;
+        private List<String> labels;
+        private List<CompactIssue.Comment> comments = Collections.emptyList();
+    }
+}
@@ -0,0 +1,76 @@
+package com.jirascraper.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Persistent state of the daemon: the projects it refreshes and, per project, whether it is
+ * paused and the window start of the last completed refresh. Times are epoch milliseconds.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class DaemonState {
+
+    @JsonProperty("projects")
+    private Map<String, ProjectState> projects = new LinkedHashMap<>();
+
+    public Map<String, ProjectState> getProjects() {
+        return projects;
+    }
+
+    public void setProjects(Map<String, ProjectState> projects) {
+        this.projects = projects;
+    }
+
+    /**
+     * Refresh state of a single project.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class ProjectState {
+        @JsonProperty("paused")
+        private boolean paused;
+
+        @JsonProperty("updated_since")
+        private Long updatedSince;
+
+        @JsonProperty("last_refresh_at")
+        private long lastRefreshAt;
+
+        @JsonProperty("last_refresh_completed")
+        private boolean lastRefreshCompleted;
+
+        public boolean isPaused() {
+            return paused;
+        }
+
+        public void setPaused(boolean paused) {
+            this.paused = paused;
+        }
+
+        public Long getUpdatedSince() {
+            return updatedSince;
+        }
+
+        public void setUpdatedSince(Long updatedSince) {
+            this.updatedSince = updatedSince;
+        }
+
+        public long getLastRefreshAt() {
+            return lastRefreshAt;
+        }
+
+        public void setLastRefreshAt(long lastRefreshAt) {
+            this.lastRefreshAt = lastRefreshAt;
+        }
+
+        public boolean isLastRefreshCompleted() {
+            return lastRefreshCompleted;
+        }
+
+        public void setLastRefreshCompleted(boolean lastRefreshCompleted) {
+            this.lastRefreshCompleted = lastRefreshCompleted;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.jirascraper.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Model representing an issue or page range that could not be scraped and must be
+ * re-fetched by the repair pass. A page range keeps the filters of the query it belonged to,
+ * and the cursor if it was token-paginated, so the repair pass replays that exact query.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DeadLetterEntry {
+
+    @JsonProperty("project_key")
+    private String projectKey;
+
+    @JsonProperty("issue_key")
+    private String issueKey;
+
+    @JsonProperty("start_at")
+    private Integer startAt;
+
+    @JsonProperty("max_results")
+    private Integer maxResults;
+
+    @JsonProperty("start_date")
+    private String startDate;
+
+    @JsonProperty("end_date")
+    private String endDate;
+
+    @JsonProperty("updated_since")
+    private Long updatedSince;
+
+    @JsonProperty("page_token")
+    private String pageToken;
+
+    @JsonProperty("error")
+    private String error;
+
+    @JsonProperty("failed_at")
+    private String failedAt;
+
+    public DeadLetterEntry() {
+    }
+
+    private DeadLetterEntry(String projectKey, String issueKey, Integer startAt, Integer maxResults, String error) {
+        this.projectKey = projectKey;
+        this.issueKey = issueKey;
+        this.startAt = startAt;
+        this.maxResults = maxResults;
+        this.error = error;
+        this.failedAt = LocalDateTime.now().toString();
+    }
+
+    /**
+     * Entry for a single issue that was fetched but could not be processed.
+     */
+    public static DeadLetterEntry forIssue(String projectKey, String issueKey, String error) {
+        return new DeadLetterEntry(projectKey, issueKey, null, null, error);
+    }
+
+    /**
+     * Entry for a page of search results that could not be fetched or parsed.
+     *
+     * @param startDate    the query's created-from filter, or null
+     * @param endDate      the query's created-to filter, or null
+     * @param updatedSince the incremental refresh window start in epoch milliseconds, or null
+     * @param pageToken    the cursor the page was requested with, or null for offset pagination
+     */
+    public static DeadLetterEntry forPage(String projectKey, int startAt, int maxResults, LocalDate startDate,
+                                          LocalDate endDate, Long updatedSince, String pageToken, String error) {
+        DeadLetterEntry entry = new DeadLetterEntry(projectKey, null, startAt, maxResults, error);
+        entry.startDate = startDate != null ? startDate.toString() : null;
+        entry.endDate = endDate != null ? endDate.toString() : null;
+        entry.updatedSince = updatedSince;
+        entry.pageToken = pageToken;
+        return entry;
+    }
+
+    /**
+     * Copy of this entry for the same issue or query that failed again.
+     */
+    public DeadLetterEntry failedAgain(String error) {
+        DeadLetterEntry entry = new DeadLetterEntry(projectKey, issueKey, startAt, maxResults, error);
+        entry.startDate = startDate;
+        entry.endDate = endDate;
+        entry.updatedSince = updatedSince;
+        entry.pageToken = pageToken;
+        return entry;
+    }
+
+    @JsonIgnore
+    public boolean isIssue() {
+        return issueKey != null;
+    }
+
+    // Getters and Setters
+    public String getProjectKey() {
+        return projectKey;
+    }
+
+    public void setProjectKey(String projectKey) {
+        this.projectKey = projectKey;
+    }
+
+    public String getIssueKey() {
+        return issueKey;
+    }
+
+    public void setIssueKey(String issueKey) {
+        this.issueKey = issueKey;
+    }
+
+    public Integer getStartAt() {
+        return startAt;
+    }
+
+    public void setStartAt(Integer startAt) {
+        this.startAt = startAt;
+    }
+
+    public Integer getMaxResults() {
+        return maxResults;
+    }
+
+    public void setMaxResults(Integer maxResults) {
+        this.maxResults = maxResults;
+    }
+
+    public String getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(String startDate) {
+        this.startDate = startDate;
+    }
+
+    public String getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(String endDate) {
+        this.endDate = endDate;
+    }
+
+    public Long getUpdatedSince() {
+        return updatedSince;
+    }
+
+    public void setUpdatedSince(Long updatedSince) {
+        this.updatedSince = updatedSince;
+    }
+
+    public String getPageToken() {
+        return pageToken;
+    }
+
+    public void setPageToken(String pageToken) {
+        this.pageToken = pageToken;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getFailedAt() {
+        return failedAt;
+    }
+
+    public void setFailedAt(String failedAt) {
+        this.failedAt = failedAt;
+    }
+}
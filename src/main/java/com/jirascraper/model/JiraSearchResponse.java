@@ -1,5 +1,6 @@
 package com.jirascraper.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -21,7 +22,21 @@ public class JiraSearchResponse {
     private int total;
 
     @JsonProperty("issues")
-    private List<JiraIssue> issues;
+    private List<CompactIssue> issues;
+
+    // Token-paginated search (/rest/api/3/search/jql) only
+    @JsonProperty("nextPageToken")
+    private String nextPageToken;
+
+    @JsonProperty("isLast")
+    private boolean lastPage;
+
+    // Response metrics recorded by the client, not part of the API payload
+    @JsonIgnore
+    private long latencyMs;
+
+    @JsonIgnore
+    private long responseBytes;
 
     public int getStartAt() {
         return startAt;
@@ -47,11 +62,43 @@ public class JiraSearchResponse {
         this.total = total;
     }
 
-    public List<JiraIssue> getIssues() {
+    public List<CompactIssue> getIssues() {
         return issues;
     }
 
-    public void setIssues(List<JiraIssue> issues) {
+    public void setIssues(List<CompactIssue> issues) {
         this.issues = issues;
     }
+
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
+
+    public void setNextPageToken(String nextPageToken) {
+        this.nextPageToken = nextPageToken;
+    }
+
+    public boolean isLastPage() {
+        return lastPage;
+    }
+
+    public void setLastPage(boolean lastPage) {
+        this.lastPage = lastPage;
+    }
+
+    public long getLatencyMs() {
+        return latencyMs;
+    }
+
+    public void setLatencyMs(long latencyMs) {
+        this.latencyMs = latencyMs;
+    }
+
+    public long getResponseBytes() {
+        return responseBytes;
+    }
+
+    public void setResponseBytes(long responseBytes) {
+        this.responseBytes = responseBytes;
+    }
 }
@@ -1,17 +1,43 @@
 package com.jirascraper.model;
 
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Model representing the transformed data for LLM training in JSONL format.
+ * Setters of low-cardinality fields store canonical instances from {@link StringCanonicalizer}.
  */
 public class LLMTrainingData {
 
     @JsonProperty("issue_key")
     private String issueKey;
 
+    // Only set when an issue is split into several records
+    @JsonProperty("part")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer part;
+
+    @JsonProperty("part_count")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer partCount;
+
+    // Only set when near-duplicates are tagged instead of dropped
+    @JsonProperty("near_duplicate")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean nearDuplicate;
+
+    // Only set when token counting is enabled: estimated tokens of title, description and comments
+    @JsonProperty("token_count")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer tokenCount;
+
     @JsonProperty("project")
     private String project;
 
@@ -46,6 +72,7 @@ public class LLMTrainingData {
     private String resolution;
 
     @JsonProperty("labels")
+    @JsonDeserialize(contentUsing = CanonicalStringDeserializer.class)
     private List<String> labels;
 
     @JsonProperty("description")
@@ -67,12 +94,20 @@ public class LLMTrainingData {
         @JsonProperty("created")
         private String created;
 
+        @JsonProperty("near_duplicate")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Boolean nearDuplicate;
+
+        @JsonProperty("token_count")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Integer tokenCount;
+
         public String getAuthor() {
             return author;
         }
 
         public void setAuthor(String author) {
-            this.author = author;
+            this.author = StringCanonicalizer.shared().canonicalize(author);
         }
 
         public String getBody() {
@@ -90,6 +125,22 @@ public class LLMTrainingData {
         public void setCreated(String created) {
             this.created = created;
         }
+
+        public Boolean getNearDuplicate() {
+            return nearDuplicate;
+        }
+
+        public void setNearDuplicate(Boolean nearDuplicate) {
+            this.nearDuplicate = nearDuplicate;
+        }
+
+        public Integer getTokenCount() {
+            return tokenCount;
+        }
+
+        public void setTokenCount(Integer tokenCount) {
+            this.tokenCount = tokenCount;
+        }
     }
 
     public static class Tasks {
@@ -102,6 +153,8 @@ public class LLMTrainingData {
         @JsonProperty("qna")
         private List<QnA> qna;
 
+        private Map<String, Object> extensions;
+
         public String getSummarization() {
             return summarization;
         }
@@ -125,6 +178,53 @@ public class LLMTrainingData {
         public void setQna(List<QnA> qna) {
             this.qna = qna;
         }
+
+        /**
+         * Tasks from additional generators, written after the built-in tasks under their names.
+         */
+        @JsonAnyGetter
+        public Map<String, Object> getExtensions() {
+            return extensions != null ? extensions : Map.of();
+        }
+
+        @JsonAnySetter
+        public void setExtension(String name, Object value) {
+            if (extensions == null) {
+                extensions = new LinkedHashMap<>();
+            }
+            extensions.put(name, value);
+        }
+
+        /**
+         * Store the output of the task generator called {@code name}.
+         *
+         * @throws IllegalArgumentException if a built-in task name is given a value of another type
+         */
+        @SuppressWarnings("unchecked")
+        public void put(String name, Object value) {
+            switch (name) {
+                case "summarization":
+                    setSummarization((String) requireType(name, value, String.class));
+                    break;
+                case "classification":
+                    setClassification((Classification) requireType(name, value, Classification.class));
+                    break;
+                case "qna":
+                    setQna((List<QnA>) requireType(name, value, List.class));
+                    break;
+                default:
+                    setExtension(name, value);
+                    break;
+            }
+        }
+
+        private static Object requireType(String name, Object value, Class<?> type) {
+            if (value != null && !type.isInstance(value)) {
+                throw new IllegalArgumentException("Task '" + name + "' must be a " + type.getSimpleName()
+                        + ", got " + value.getClass().getName());
+            }
+            return value;
+        }
     }
 
     public static class Classification {
@@ -142,7 +242,7 @@ public class LLMTrainingData {
         }
 
         public void setIssueType(String issueType) {
-            this.issueType = issueType;
+            this.issueType = StringCanonicalizer.shared().canonicalize(issueType);
         }
 
         public String getPriority() {
@@ -150,7 +250,7 @@ public class LLMTrainingData {
         }
 
         public void setPriority(String priority) {
-            this.priority = priority;
+            this.priority = StringCanonicalizer.shared().canonicalize(priority);
         }
 
         public String getStatus() {
@@ -158,7 +258,7 @@ public class LLMTrainingData {
         }
 
         public void setStatus(String status) {
-            this.status = status;
+            this.status = StringCanonicalizer.shared().canonicalize(status);
         }
     }
 
@@ -195,12 +295,44 @@ public class LLMTrainingData {
         this.issueKey = issueKey;
     }
 
+    public Integer getPart() {
+        return part;
+    }
+
+    public void setPart(Integer part) {
+        this.part = part;
+    }
+
+    public Integer getPartCount() {
+        return partCount;
+    }
+
+    public void setPartCount(Integer partCount) {
+        this.partCount = partCount;
+    }
+
+    public Boolean getNearDuplicate() {
+        return nearDuplicate;
+    }
+
+    public void setNearDuplicate(Boolean nearDuplicate) {
+        this.nearDuplicate = nearDuplicate;
+    }
+
+    public Integer getTokenCount() {
+        return tokenCount;
+    }
+
+    public void setTokenCount(Integer tokenCount) {
+        this.tokenCount = tokenCount;
+    }
+
     public String getProject() {
         return project;
     }
 
     public void setProject(String project) {
-        this.project = project;
+        this.project = StringCanonicalizer.shared().canonicalize(project);
     }
 
     public String getIssueType() {
@@ -208,7 +340,7 @@ public class LLMTrainingData {
     }
 
     public void setIssueType(String issueType) {
-        this.issueType = issueType;
+        this.issueType = StringCanonicalizer.shared().canonicalize(issueType);
     }
 
     public String getTitle() {
@@ -224,7 +356,7 @@ public class LLMTrainingData {
     }
 
     public void setStatus(String status) {
-        this.status = status;
+        this.status = StringCanonicalizer.shared().canonicalize(status);
     }
 
     public String getPriority() {
@@ -232,7 +364,7 @@ public class LLMTrainingData {
     }
 
     public void setPriority(String priority) {
-        this.priority = priority;
+        this.priority = StringCanonicalizer.shared().canonicalize(priority);
     }
 
     public String getReporter() {
@@ -240,7 +372,7 @@ public class LLMTrainingData {
     }
 
     public void setReporter(String reporter) {
-        this.reporter = reporter;
+        this.reporter = StringCanonicalizer.shared().canonicalize(reporter);
     }
 
     public String getAssignee() {
@@ -248,7 +380,7 @@ public class LLMTrainingData {
     }
 
     public void setAssignee(String assignee) {
-        this.assignee = assignee;
+        this.assignee = StringCanonicalizer.shared().canonicalize(assignee);
     }
 
     public String getCreated() {
@@ -280,7 +412,7 @@ public class LLMTrainingData {
     }
 
     public void setResolution(String resolution) {
-        this.resolution = resolution;
+        this.resolution = StringCanonicalizer.shared().canonicalize(resolution);
     }
 
     public List<String> getLabels() {
@@ -0,0 +1,136 @@
+package com.jirascraper.model;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Text field kept as a slice of the raw UTF-8 response and decoded on first use.
+ *
+ * <p>Descriptions and comment bodies are by far the largest values in a search response. Keeping
+ * them as slices of the response bytes means deserialising a page allocates no strings for them,
+ * and their size is known without decoding. The slice still contains the JSON escapes of the
+ * original value; they are resolved when the text is decoded. A slice keeps the whole response
+ * buffer reachable, so issues should not outlive the page they came from for long.
+ */
+public final class LazyText {
+
+    private final byte[] source;
+    private final int offset;
+    private final int length;
+    private final boolean escaped;
+    private String text;
+
+    private LazyText(byte[] source, int offset, int length, boolean escaped, String text) {
+        this.source = source;
+        this.offset = offset;
+        this.length = length;
+        this.escaped = escaped;
+        this.text = text;
+    }
+
+    /**
+     * Text that is already decoded.
+     */
+    public static LazyText of(String text) {
+        return text == null ? null : new LazyText(null, 0, 0, false, text);
+    }
+
+    /**
+     * Text backed by the content of a JSON string value (without its quotes) in {@code source}.
+     *
+     * @param escaped whether the slice contains backslash escapes
+     */
+    public static LazyText ofJson(byte[] source, int offset, int length, boolean escaped) {
+        return new LazyText(source, offset, length, escaped, null);
+    }
+
+    /**
+     * Encoded size in bytes, without decoding: the JSON-escaped UTF-8 length for a slice.
+     */
+    public int byteLength() {
+        return source != null ? length : text.length();
+    }
+
+    public boolean isDecoded() {
+        return text != null;
+    }
+
+    /**
+     * The decoded text. The result is kept, so decoding happens at most once.
+     */
+    @Override
+    public String toString() {
+        String decoded = text;
+        if (decoded == null) {
+            decoded = decode();
+            text = decoded;
+        }
+        return decoded;
+    }
+
+    /**
+     * The decoded text without keeping it, for callers that use it once and want it collectable
+     * as soon as they are done.
+     */
+    public String decode() {
+        String decoded = text;
+        if (decoded != null) {
+            return decoded;
+        }
+        return escaped
+                ? unescape(source, offset, length)
+                : new String(source, offset, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Decode a JSON string body, resolving escapes between runs of UTF-8.
+     */
+    private static String unescape(byte[] source, int offset, int length) {
+        StringBuilder out = new StringBuilder(length);
+        int end = offset + length;
+        int runStart = offset;
+        int i = offset;
+        while (i < end) {
+            if (source[i] != '\\') {
+                i++;
+                continue;
+            }
+            if (i > runStart) {
+                out.append(new String(source, runStart, i - runStart, StandardCharsets.UTF_8));
+            }
+            char escape = i + 1 < end ? (char) source[i + 1] : '\\';
+            switch (escape) {
+                case 'n':
+                    out.append('\n');
+                    break;
+                case 't':
+                    out.append('\t');
+                    break;
+                case 'r':
+                    out.append('\r');
+                    break;
+                case 'b':
+                    out.append('\b');
+                    break;
+                case 'f':
+                    out.append('\f');
+                    break;
+                case 'u':
+                    if (i + 6 <= end) {
+                        out.append((char) Integer.parseInt(new String(source, i + 2, 4, StandardCharsets.US_ASCII), 16));
+                        i += 4;
+                    }
+                    break;
+                default:
+                    // \" \\ \/
+                    out.append(escape);
+                    break;
+            }
+            i += 2;
+            runStart = i;
+        }
+        if (end > runStart) {
+            out.append(new String(source, runStart, end - runStart, StandardCharsets.UTF_8));
+        }
+        return out.toString();
+    }
+}
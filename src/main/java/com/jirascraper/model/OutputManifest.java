@@ -0,0 +1,249 @@
+package com.jirascraper.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Manifest of one output series, written next to its chunk files as they are written: per chunk
+ * the record count, size, XXH64 checksum, issue key and created range, and optionally the byte
+ * offsets of some issues' first records.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class OutputManifest {
+
+    @JsonProperty("name")
+    private String name;
+
+    @JsonProperty("base_timestamp")
+    private String baseTimestamp;
+
+    @JsonProperty("updated_at")
+    private String updatedAt;
+
+    @JsonProperty("index_interval")
+    private int indexInterval;
+
+    @JsonProperty("chunks")
+    private List<Chunk> chunks = new ArrayList<>();
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getBaseTimestamp() {
+        return baseTimestamp;
+    }
+
+    public void setBaseTimestamp(String baseTimestamp) {
+        this.baseTimestamp = baseTimestamp;
+    }
+
+    public String getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(String updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public int getIndexInterval() {
+        return indexInterval;
+    }
+
+    public void setIndexInterval(int indexInterval) {
+        this.indexInterval = indexInterval;
+    }
+
+    public List<Chunk> getChunks() {
+        return chunks;
+    }
+
+    public void setChunks(List<Chunk> chunks) {
+        this.chunks = chunks;
+    }
+
+    /**
+     * One chunk file, relative to the output directory.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Chunk {
+        @JsonProperty("file")
+        private String file;
+
+        @JsonProperty("chunk")
+        private int chunk;
+
+        @JsonProperty("records")
+        private long records;
+
+        @JsonProperty("issues")
+        private long issues;
+
+        @JsonProperty("bytes")
+        private long bytes;
+
+        @JsonProperty("xxhash64")
+        private String xxhash64;
+
+        @JsonProperty("first_issue_key")
+        private String firstIssueKey;
+
+        @JsonProperty("last_issue_key")
+        private String lastIssueKey;
+
+        @JsonProperty("created_min")
+        private String createdMin;
+
+        @JsonProperty("created_max")
+        private String createdMax;
+
+        @JsonProperty("index")
+        @JsonInclude(JsonInclude.Include.NON_EMPTY)
+        private List<IndexEntry> index = new ArrayList<>();
+
+        /** Checksum state after the last record, so that a resumed run can continue the checksum. */
+        @JsonProperty("hash_state")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private String hashState;
+
+        public String getFile() {
+            return file;
+        }
+
+        public void setFile(String file) {
+            this.file = file;
+        }
+
+        public int getChunk() {
+            return chunk;
+        }
+
+        public void setChunk(int chunk) {
+            this.chunk = chunk;
+        }
+
+        public long getRecords() {
+            return records;
+        }
+
+        public void setRecords(long records) {
+            this.records = records;
+        }
+
+        public long getIssues() {
+            return issues;
+        }
+
+        public void setIssues(long issues) {
+            this.issues = issues;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public void setBytes(long bytes) {
+            this.bytes = bytes;
+        }
+
+        public String getXxhash64() {
+            return xxhash64;
+        }
+
+        public void setXxhash64(String xxhash64) {
+            this.xxhash64 = xxhash64;
+        }
+
+        public String getFirstIssueKey() {
+            return firstIssueKey;
+        }
+
+        public void setFirstIssueKey(String firstIssueKey) {
+            this.firstIssueKey = firstIssueKey;
+        }
+
+        public String getLastIssueKey() {
+            return lastIssueKey;
+        }
+
+        public void setLastIssueKey(String lastIssueKey) {
+            this.lastIssueKey = lastIssueKey;
+        }
+
+        public String getCreatedMin() {
+            return createdMin;
+        }
+
+        public void setCreatedMin(String createdMin) {
+            this.createdMin = createdMin;
+        }
+
+        public String getCreatedMax() {
+            return createdMax;
+        }
+
+        public void setCreatedMax(String createdMax) {
+            this.createdMax = createdMax;
+        }
+
+        public List<IndexEntry> getIndex() {
+            return index;
+        }
+
+        public void setIndex(List<IndexEntry> index) {
+            this.index = index;
+        }
+
+        public String getHashState() {
+            return hashState;
+        }
+
+        public void setHashState(String hashState) {
+            this.hashState = hashState;
+        }
+    }
+
+    /**
+     * Byte offset of an issue's first record within its chunk.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class IndexEntry {
+        @JsonProperty("issue_key")
+        private String issueKey;
+
+        @JsonProperty("offset")
+        private long offset;
+
+        public IndexEntry() {
+        }
+
+        public IndexEntry(String issueKey, long offset) {
+            this.issueKey = issueKey;
+            this.offset = offset;
+        }
+
+        public String getIssueKey() {
+            return issueKey;
+        }
+
+        public void setIssueKey(String issueKey) {
+            this.issueKey = issueKey;
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        public void setOffset(long offset) {
+            this.offset = offset;
+        }
+    }
+}
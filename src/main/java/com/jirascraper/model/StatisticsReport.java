@@ -0,0 +1,321 @@
+package com.jirascraper.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Corpus profile of the records written by a run: counts, distinct people, text length
+ * quantiles and label histograms. The {@code sketches} section holds the raw sketch state, so
+ * reports of several shards or nodes can be merged without losing accuracy.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class StatisticsReport {
+
+    @JsonProperty("generated_at")
+    private String generatedAt;
+
+    @JsonProperty("issues")
+    private long issues;
+
+    @JsonProperty("records")
+    private long records;
+
+    @JsonProperty("comments")
+    private long comments;
+
+    @JsonProperty("distinct_reporters")
+    private long distinctReporters;
+
+    @JsonProperty("distinct_assignees")
+    private long distinctAssignees;
+
+    @JsonProperty("description_length")
+    private LengthSummary descriptionLength;
+
+    @JsonProperty("comment_length")
+    private LengthSummary commentLength;
+
+    @JsonProperty("status")
+    private Map<String, Long> status = new LinkedHashMap<>();
+
+    @JsonProperty("issue_type")
+    private Map<String, Long> issueType = new LinkedHashMap<>();
+
+    @JsonProperty("priority")
+    private Map<String, Long> priority = new LinkedHashMap<>();
+
+    @JsonProperty("labels")
+    private Map<String, Long> labels = new LinkedHashMap<>();
+
+    @JsonProperty("sketches")
+    private Sketches sketches;
+
+    public String getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public void setGeneratedAt(String generatedAt) {
+        this.generatedAt = generatedAt;
+    }
+
+    public long getIssues() {
+        return issues;
+    }
+
+    public void setIssues(long issues) {
+        this.issues = issues;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    public void setRecords(long records) {
+        this.records = records;
+    }
+
+    public long getComments() {
+        return comments;
+    }
+
+    public void setComments(long comments) {
+        this.comments = comments;
+    }
+
+    public long getDistinctReporters() {
+        return distinctReporters;
+    }
+
+    public void setDistinctReporters(long distinctReporters) {
+        this.distinctReporters = distinctReporters;
+    }
+
+    public long getDistinctAssignees() {
+        return distinctAssignees;
+    }
+
+    public void setDistinctAssignees(long distinctAssignees) {
+        this.distinctAssignees = distinctAssignees;
+    }
+
+    public LengthSummary getDescriptionLength() {
+        return descriptionLength;
+    }
+
+    public void setDescriptionLength(LengthSummary descriptionLength) {
+        this.descriptionLength = descriptionLength;
+    }
+
+    public LengthSummary getCommentLength() {
+        return commentLength;
+    }
+
+    public void setCommentLength(LengthSummary commentLength) {
+        this.commentLength = commentLength;
+    }
+
+    public Map<String, Long> getStatus() {
+        return status;
+    }
+
+    public void setStatus(Map<String, Long> status) {
+        this.status = status;
+    }
+
+    public Map<String, Long> getIssueType() {
+        return issueType;
+    }
+
+    public void setIssueType(Map<String, Long> issueType) {
+        this.issueType = issueType;
+    }
+
+    public Map<String, Long> getPriority() {
+        return priority;
+    }
+
+    public void setPriority(Map<String, Long> priority) {
+        this.priority = priority;
+    }
+
+    public Map<String, Long> getLabels() {
+        return labels;
+    }
+
+    public void setLabels(Map<String, Long> labels) {
+        this.labels = labels;
+    }
+
+    public Sketches getSketches() {
+        return sketches;
+    }
+
+    public void setSketches(Sketches sketches) {
+        this.sketches = sketches;
+    }
+
+    /**
+     * Distribution of text lengths in characters. Quantiles are accurate to about 1%.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class LengthSummary {
+        @JsonProperty("count")
+        private long count;
+
+        @JsonProperty("mean")
+        private double mean;
+
+        @JsonProperty("min")
+        private long min;
+
+        @JsonProperty("max")
+        private long max;
+
+        @JsonProperty("quantiles")
+        private Map<String, Long> quantiles = new LinkedHashMap<>();
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+
+        public double getMean() {
+            return mean;
+        }
+
+        public void setMean(double mean) {
+            this.mean = mean;
+        }
+
+        public long getMin() {
+            return min;
+        }
+
+        public void setMin(long min) {
+            this.min = min;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public void setMax(long max) {
+            this.max = max;
+        }
+
+        public Map<String, Long> getQuantiles() {
+            return quantiles;
+        }
+
+        public void setQuantiles(Map<String, Long> quantiles) {
+            this.quantiles = quantiles;
+        }
+    }
+
+    /**
+     * Mergeable sketch state: HyperLogLog registers, Base64-encoded, and the non-empty buckets of
+     * the length sketches with their sums.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Sketches {
+        @JsonProperty("reporters_hll")
+        private String reportersHll;
+
+        @JsonProperty("assignees_hll")
+        private String assigneesHll;
+
+        @JsonProperty("description_length")
+        private LengthSketch descriptionLength;
+
+        @JsonProperty("comment_length")
+        private LengthSketch commentLength;
+
+        public String getReportersHll() {
+            return reportersHll;
+        }
+
+        public void setReportersHll(String reportersHll) {
+            this.reportersHll = reportersHll;
+        }
+
+        public String getAssigneesHll() {
+            return assigneesHll;
+        }
+
+        public void setAssigneesHll(String assigneesHll) {
+            this.assigneesHll = assigneesHll;
+        }
+
+        public LengthSketch getDescriptionLength() {
+            return descriptionLength;
+        }
+
+        public void setDescriptionLength(LengthSketch descriptionLength) {
+            this.descriptionLength = descriptionLength;
+        }
+
+        public LengthSketch getCommentLength() {
+            return commentLength;
+        }
+
+        public void setCommentLength(LengthSketch commentLength) {
+            this.commentLength = commentLength;
+        }
+    }
+
+    /**
+     * Bucket counts of a length sketch by bucket index, with the exact sum, minimum and maximum.
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class LengthSketch {
+        @JsonProperty("buckets")
+        private Map<Integer, Long> buckets = new LinkedHashMap<>();
+
+        @JsonProperty("sum")
+        private long sum;
+
+        @JsonProperty("min")
+        private long min;
+
+        @JsonProperty("max")
+        private long max;
+
+        public Map<Integer, Long> getBuckets() {
+            return buckets;
+        }
+
+        public void setBuckets(Map<Integer, Long> buckets) {
+            this.buckets = buckets;
+        }
+
+        public long getSum() {
+            return sum;
+        }
+
+        public void setSum(long sum) {
+            this.sum = sum;
+        }
+
+        public long getMin() {
+            return min;
+        }
+
+        public void setMin(long min) {
+            this.min = min;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public void setMax(long max) {
+            this.max = max;
+        }
+    }
+}
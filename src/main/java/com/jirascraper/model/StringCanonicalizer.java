@@ -0,0 +1,96 @@
+package com.jirascraper.model;
+
+/**
+ * Bounded cache that maps equal short strings to one shared instance.
+ *
+ * <p>Status, priority, issue type, resolution, project key, label and user name values repeat
+ * across millions of issues but have only a few thousand distinct values. Canonicalising them
+ * at deserialisation keeps one copy of each in memory instead of one per issue.
+ *
+ * <p>The cache is a fixed-size direct-mapped table: a value that collides with another one
+ * replaces it, so memory stays bounded however many distinct values arrive, at the cost of
+ * occasional duplicates. Lookups take no lock; strings are immutable, so a racing reader sees
+ * either the old or the new entry, and both are correct values. Strings longer than
+ * {@link #MAX_LENGTH} are never cached.
+ */
+public final class StringCanonicalizer {
+
+    static final int MAX_LENGTH = 64;
+
+    private static final int DEFAULT_CAPACITY = 8192;
+
+    private static final StringCanonicalizer SHARED = new StringCanonicalizer(DEFAULT_CAPACITY);
+
+    private final String[] table;
+    private final int mask;
+
+    /**
+     * @param capacity number of cached values, rounded up to a power of two
+     */
+    public StringCanonicalizer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.table = new String[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * The process-wide cache used by the model classes.
+     */
+    public static StringCanonicalizer shared() {
+        return SHARED;
+    }
+
+    /**
+     * The cached instance equal to {@code value}, or {@code value} itself after caching it.
+     */
+    public String canonicalize(String value) {
+        if (value == null || value.length() > MAX_LENGTH) {
+            return value;
+        }
+        int index = spread(value.hashCode()) & mask;
+        String cached = table[index];
+        if (cached != null && cached.equals(value)) {
+            return cached;
+        }
+        table[index] = value;
+        return value;
+    }
+
+    /**
+     * The cached instance equal to the given characters. A new string is only created on a miss,
+     * so parsers can pass their text buffer directly.
+     */
+    public String canonicalize(char[] chars, int offset, int length) {
+        if (length > MAX_LENGTH) {
+            return new String(chars, offset, length);
+        }
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        int index = spread(hash) & mask;
+        String cached = table[index];
+        if (cached != null && matches(cached, chars, offset, length)) {
+            return cached;
+        }
+        String value = new String(chars, offset, length);
+        table[index] = value;
+        return value;
+    }
+
+    private static boolean matches(String cached, char[] chars, int offset, int length) {
+        if (cached.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (cached.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
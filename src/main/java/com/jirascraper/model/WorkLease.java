@@ -0,0 +1,108 @@
+package com.jirascraper.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Model representing a project work item in the shared work queue, together with
+ * the lease held by the worker currently scraping it.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class WorkLease {
+
+    @JsonProperty("project_key")
+    private String projectKey;
+
+    @JsonProperty("worker_id")
+    private String workerId;
+
+    @JsonProperty("enqueued_at")
+    private long enqueuedAt;
+
+    @JsonProperty("claimed_at")
+    private long claimedAt;
+
+    @JsonProperty("heartbeat_at")
+    private long heartbeatAt;
+
+    @JsonProperty("expires_at")
+    private long expiresAt;
+
+    @JsonProperty("attempts")
+    private int attempts;
+
+    public WorkLease() {
+    }
+
+    public WorkLease(String projectKey) {
+        this.projectKey = projectKey;
+        this.enqueuedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Whether the lease holder has stopped heartbeating. Times are epoch milliseconds
+     * so workers on different hosts compare them without time zone issues.
+     */
+    @JsonIgnore
+    public boolean isExpired(long now) {
+        return workerId == null || expiresAt <= now;
+    }
+
+    // Getters and Setters
+    public String getProjectKey() {
+        return projectKey;
+    }
+
+    public void setProjectKey(String projectKey) {
+        this.projectKey = projectKey;
+    }
+
+    public String getWorkerId() {
+        return workerId;
+    }
+
+    public void setWorkerId(String workerId) {
+        this.workerId = workerId;
+    }
+
+    public long getEnqueuedAt() {
+        return enqueuedAt;
+    }
+
+    public void setEnqueuedAt(long enqueuedAt) {
+        this.enqueuedAt = enqueuedAt;
+    }
+
+    public long getClaimedAt() {
+        return claimedAt;
+    }
+
+    public void setClaimedAt(long claimedAt) {
+        this.claimedAt = claimedAt;
+    }
+
+    public long getHeartbeatAt() {
+        return heartbeatAt;
+    }
+
+    public void setHeartbeatAt(long heartbeatAt) {
+        this.heartbeatAt = heartbeatAt;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+}
@@ -0,0 +1,98 @@
+package com.jirascraper.service;
+
+import com.jirascraper.config.ScraperConfig;
+import com.jirascraper.model.JiraSearchResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Adjusts {@code maxResults} per project so each rate-limited request carries as many issues
+ * as the payload profile allows.
+ *
+ * <p>The page size grows by half while responses come back well within the latency and size
+ * budgets, halves when a response exceeds either budget or times out, and never exceeds the
+ * smaller of the configured maximum and the cap the server reports in {@code maxResults}.
+ * The size budget is also enforced predictively from the observed bytes per issue.
+ */
+public class AdaptivePageSizer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptivePageSizer.class);
+
+    private static final int MIN_PAGE_SIZE = 1;
+
+    private final boolean enabled;
+    private final long targetLatencyMs;
+    private final long maxResponseBytes;
+    private int maxPageSize;
+    private int pageSize;
+
+    public AdaptivePageSizer(ScraperConfig config) {
+        this.enabled = config.isAdaptivePageSize();
+        this.targetLatencyMs = config.getTargetPageLatencyMs();
+        this.maxResponseBytes = config.getMaxResponseSizeMB() * 1024 * 1024;
+        this.maxPageSize = Math.max(config.getMaxPageSize(), config.getDefaultPageSize());
+        this.pageSize = config.getDefaultPageSize();
+    }
+
+    /**
+     * Page size to request next.
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * Update the page size from a successful search response.
+     */
+    public void onResponse(int requested, JiraSearchResponse response) {
+        if (!enabled) {
+            return;
+        }
+
+        // The server silently caps maxResults; never ask for more than it will return
+        if (response.getMaxResults() > 0 && response.getMaxResults() < requested) {
+            maxPageSize = Math.max(MIN_PAGE_SIZE, response.getMaxResults());
+        }
+
+        int returned = response.getIssues() != null ? response.getIssues().size() : 0;
+        long latencyMs = response.getLatencyMs();
+        long bytes = response.getResponseBytes();
+
+        int next;
+        if (latencyMs > targetLatencyMs || bytes > maxResponseBytes) {
+            next = requested / 2;
+        } else if (returned >= requested && latencyMs < targetLatencyMs / 2 && bytes < maxResponseBytes / 2) {
+            next = requested + Math.max(1, requested / 2);
+        } else {
+            next = requested;
+        }
+
+        if (returned > 0) {
+            long bytesPerIssue = Math.max(1, bytes / returned);
+            next = (int) Math.min(next, maxResponseBytes / bytesPerIssue);
+        }
+
+        setPageSize(next, latencyMs, bytes);
+    }
+
+    /**
+     * Shrink the page size after a timeout.
+     *
+     * @return false if the page size is already at its minimum
+     */
+    public boolean onTimeout() {
+        if (!enabled || pageSize <= MIN_PAGE_SIZE) {
+            return false;
+        }
+        setPageSize(pageSize / 2, -1, -1);
+        return true;
+    }
+
+    private void setPageSize(int next, long latencyMs, long bytes) {
+        next = Math.max(MIN_PAGE_SIZE, Math.min(maxPageSize, next));
+        if (next != pageSize) {
+            logger.info("Adjusting page size {} -> {} (latency {}ms, {} bytes)", pageSize, next, latencyMs, bytes);
+            pageSize = next;
+        }
+    }
+}
@@ -0,0 +1,545 @@
+package com.jirascraper.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.jirascraper.model.LLMTrainingData;
+import com.jirascraper.model.OutputManifest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * One output series of JSONL files, {@code {name}_{timestamp}.jsonl} followed by
+ * {@code {name}_{timestamp}_chunk_NNN.jsonl} chunks once a file reaches the size limit or,
+ * if one is set, the limit of estimated tokens of text.
+ *
+ * <p>With a {@link SplitRouter} the series is written once per route, in a subdirectory of the
+ * output directory such as {@code train/} or {@code test/bug/}, and each route rotates its own
+ * chunks. Files are opened when their first record arrives, and a route only rotates between
+ * issues, so the records of one issue are never spread over two files.
+ *
+ * <p>With a manifest, {@code {name}_{timestamp}_manifest.json} describes every chunk of the series
+ * as it is written: records, issues, bytes, XXH64 checksum, first and last issue key, created
+ * range and, with an index interval, the byte offset of every Nth issue's first record. Bytes are
+ * counted and hashed on their way to the file, so nothing is read back. The manifest is rewritten
+ * when a chunk rotates, on {@link #writeManifest()} and on close; a resumed series continues the
+ * checksum of its open chunks from the saved state, and only re-reads a chunk whose size no longer
+ * matches the manifest.
+ */
+final class ChunkedOutput implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChunkedOutput.class);
+
+    /** Route of the output directory itself, used when records are not routed. */
+    private static final String ROOT = "";
+
+    private final Path outputDir;
+    private final String name;
+    private final String baseTimestamp;
+    private final SplitRouter router;
+    private final long maxFileSizeBytes;
+    private final long maxFileTokens;
+    private final ObjectMapper objectMapper;
+    private final boolean append;
+    private final boolean manifest;
+    private final int indexInterval;
+    private final Map<String, Route> routes = new LinkedHashMap<>();
+    // Manifest entries by file, loaded when the first chunk is opened
+    private Map<String, OutputManifest.Chunk> chunks;
+
+    /**
+     * @param maxFileTokens estimated tokens of text per file, 0 for no limit
+     * @param currentChunk  chunk to continue with when records are not routed
+     * @param splitChunks   chunk to continue with per route when they are
+     * @param chunkTokens   estimated tokens already in the chunk continued with, per route
+     * @param append        whether the current chunks are appended to (resuming) or overwritten
+     * @param manifest      whether to keep a manifest of the series' chunks
+     * @param indexInterval index every Nth issue of a chunk in the manifest, 0 for no index
+     */
+    ChunkedOutput(Path outputDir, String name, String baseTimestamp, SplitRouter router, long maxFileSizeBytes,
+                  long maxFileTokens, ObjectMapper objectMapper, int currentChunk, Map<String, Integer> splitChunks,
+                  Map<String, Long> chunkTokens, boolean append, boolean manifest, int indexInterval) {
+        this.outputDir = outputDir;
+        this.name = name;
+        this.baseTimestamp = baseTimestamp;
+        this.router = router;
+        this.maxFileSizeBytes = maxFileSizeBytes;
+        this.maxFileTokens = maxFileTokens;
+        this.objectMapper = objectMapper;
+        this.append = append;
+        this.manifest = manifest;
+        this.indexInterval = indexInterval;
+
+        if (router == null) {
+            routes.put(ROOT, new Route(ROOT, currentChunk));
+        } else if (splitChunks != null) {
+            splitChunks.forEach((route, chunk) -> routes.put(route, new Route(route, chunk)));
+        }
+        if (append && chunkTokens != null) {
+            routes.forEach((route, state) -> state.tokens = chunkTokens.getOrDefault(route, 0L));
+        }
+    }
+
+    /**
+     * A sink for the records of one issue.
+     */
+    DataTransformationService.RecordSink issueSink() {
+        return new IssueSink();
+    }
+
+    String getBaseTimestamp() {
+        return baseTimestamp;
+    }
+
+    /**
+     * Current chunk of the unrouted series, 1 when records are routed.
+     */
+    int getCurrentChunk() {
+        Route root = routes.get(ROOT);
+        return root != null ? root.chunk : 1;
+    }
+
+    /**
+     * Current chunk of every route, empty when records are not routed.
+     */
+    Map<String, Integer> getSplitChunks() {
+        Map<String, Integer> chunks = new LinkedHashMap<>();
+        if (router != null) {
+            routes.forEach((route, state) -> chunks.put(route, state.chunk));
+        }
+        return chunks;
+    }
+
+    /**
+     * Estimated tokens in the current chunk of every route, empty when there is no token limit.
+     */
+    Map<String, Long> getChunkTokens() {
+        Map<String, Long> tokens = new LinkedHashMap<>();
+        if (maxFileTokens > 0) {
+            routes.forEach((route, state) -> tokens.put(route, state.tokens));
+        }
+        return tokens;
+    }
+
+    /**
+     * Number of chunks over all routes.
+     */
+    int getChunkCount() {
+        int count = 0;
+        for (Route route : routes.values()) {
+            count += route.chunk;
+        }
+        return count;
+    }
+
+    /**
+     * Rewrite the manifest with everything written so far, if there is one and a chunk has been
+     * opened. Called with checkpoints, so that a resumed run finds a manifest that matches them.
+     */
+    void writeManifest() throws IOException {
+        if (!manifest || chunks == null) {
+            return;
+        }
+        for (Route route : routes.values()) {
+            route.sync(true);
+        }
+        OutputManifest written = new OutputManifest();
+        written.setName(name);
+        written.setBaseTimestamp(baseTimestamp);
+        written.setUpdatedAt(LocalDateTime.now().toString());
+        written.setIndexInterval(indexInterval);
+        List<OutputManifest.Chunk> entries = new ArrayList<>(chunks.values());
+        entries.sort(Comparator.comparing(OutputManifest.Chunk::getFile));
+        written.setChunks(entries);
+
+        Path file = manifestFile();
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(out, written);
+        }
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public void close() throws IOException {
+        IOException failure = null;
+        try {
+            abandon();
+        } catch (IOException e) {
+            failure = e;
+        }
+        try {
+            writeManifest();
+        } catch (IOException e) {
+            failure = addFailure(failure, e);
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Close the files without updating the manifest, for a series another process has taken over.
+     */
+    void abandon() throws IOException {
+        IOException failure = null;
+        for (Route route : routes.values()) {
+            try {
+                route.close();
+            } catch (IOException e) {
+                failure = addFailure(failure, e);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Close the files and delete every chunk and the manifest of the series, for a series that
+     * could not be written completely and will be written again.
+     */
+    void delete() throws IOException {
+        IOException failure = null;
+        try {
+            abandon();
+        } catch (IOException e) {
+            failure = e;
+        }
+        for (Route route : routes.values()) {
+            for (int chunk = 1; chunk <= route.chunk; chunk++) {
+                try {
+                    Files.deleteIfExists(route.file(chunk).toPath());
+                } catch (IOException e) {
+                    failure = addFailure(failure, e);
+                }
+            }
+        }
+        try {
+            Files.deleteIfExists(manifestFile());
+        } catch (IOException e) {
+            failure = addFailure(failure, e);
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static IOException addFailure(IOException failure, IOException e) {
+        if (failure == null) {
+            return e;
+        }
+        failure.addSuppressed(e);
+        return failure;
+    }
+
+    private Path manifestFile() {
+        return outputDir.resolve(String.format("%s_%s_manifest.json", name, baseTimestamp));
+    }
+
+    /**
+     * Manifest entries by file; when resuming, those of the existing manifest.
+     */
+    private Map<String, OutputManifest.Chunk> chunks() {
+        if (chunks == null) {
+            chunks = new HashMap<>();
+            Path file = manifestFile();
+            if (append && Files.exists(file)) {
+                try {
+                    for (OutputManifest.Chunk entry : objectMapper.readValue(file.toFile(), OutputManifest.class).getChunks()) {
+                        chunks.put(entry.getFile(), entry);
+                    }
+                } catch (IOException e) {
+                    logger.warn("Ignoring unreadable manifest {}: {}", file, e.getMessage());
+                }
+            }
+        }
+        return chunks;
+    }
+
+    private Route route(LLMTrainingData record) {
+        String route = router != null ? router.route(record) : ROOT;
+        return routes.computeIfAbsent(route, key -> new Route(key, 1));
+    }
+
+    /**
+     * Chunk files of one route.
+     */
+    private final class Route {
+        private final String route;
+        private int chunk;
+        private File file;
+        private BufferedWriter writer;
+        // Bytes in the current chunk, including any it had when reopened
+        private long position;
+        // Estimated tokens in the current chunk, including those of a reopened chunk's checkpoint
+        private long tokens;
+        // Manifest entry and running checksum of the current chunk, if there is a manifest
+        private OutputManifest.Chunk entry;
+        private XxHash64 hash;
+
+        Route(String route, int chunk) {
+            this.route = route;
+            this.chunk = chunk;
+        }
+
+        /**
+         * Open the current chunk, or rotate to a new one if it is full, before an issue is written.
+         */
+        void startIssue(LLMTrainingData first) throws IOException {
+            if (writer == null) {
+                open(append);
+            }
+            if (position >= maxFileSizeBytes || (maxFileTokens > 0 && tokens >= maxFileTokens)) {
+                logger.info("File limit reached ({}MB, {} tokens), rotating {} to chunk {}",
+                        position / (1024 * 1024), tokens, route.isEmpty() ? name : route + "/" + name, chunk + 1);
+                writer.close();
+                sync(false);
+                entry = null;
+                writeManifest();
+                tokens = 0;
+                chunk++;
+                open(false); // New file, no append
+            }
+            if (entry != null) {
+                if (indexInterval > 0 && entry.getIssues() % indexInterval == 0) {
+                    entry.getIndex().add(new OutputManifest.IndexEntry(first.getIssueKey(), position));
+                }
+                entry.setIssues(entry.getIssues() + 1);
+            }
+        }
+
+        void write(LLMTrainingData record) throws IOException {
+            if (entry != null) {
+                count(entry, record.getIssueKey(), record.getCreated());
+            }
+            objectMapper.writeValue(writer, record);
+            writer.newLine();
+            writer.flush();
+            if (entry != null) {
+                entry.setBytes(position);
+            }
+            if (maxFileTokens > 0) {
+                tokens += TokenEstimator.estimate(record);
+            }
+        }
+
+        void close() throws IOException {
+            if (writer != null) {
+                writer.close();
+                writer = null;
+                sync(true);
+            }
+        }
+
+        /**
+         * Bring the manifest entry of the current chunk up to date.
+         *
+         * @param open whether more may be appended to the chunk, so its checksum state is kept
+         */
+        void sync(boolean open) {
+            if (entry != null) {
+                entry.setBytes(position);
+                entry.setXxhash64(XxHash64.hex(hash.digest()));
+                entry.setHashState(open ? hash.state() : null);
+            }
+        }
+
+        private void open(boolean appending) throws IOException {
+            file = file(chunk);
+            Files.createDirectories(file.toPath().getParent());
+            position = appending && file.exists() ? file.length() : 0;
+            if (position == 0) {
+                tokens = 0;
+            }
+            if (manifest) {
+                resume(relativePath(chunk));
+            }
+            writer = new BufferedWriter(new OutputStreamWriter(
+                    new TrackingStream(new FileOutputStream(file, appending)), StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Pick up the manifest entry and checksum of the chunk about to be opened: fresh for an
+         * empty chunk, from the saved state if the chunk is as the manifest left it, and otherwise
+         * by reading the chunk back.
+         */
+        private void resume(String path) throws IOException {
+            OutputManifest.Chunk previous = chunks().get(path);
+            entry = null;
+            if (position == 0) {
+                entry = new OutputManifest.Chunk();
+                entry.setFile(path);
+                entry.setChunk(chunk);
+                hash = new XxHash64();
+            } else if (previous != null && previous.getBytes() == position && previous.getHashState() != null) {
+                try {
+                    hash = XxHash64.restore(previous.getHashState());
+                    entry = previous;
+                } catch (IllegalArgumentException e) {
+                    logger.warn("Invalid checksum state for {}, re-reading it: {}", path, e.getMessage());
+                }
+            }
+            if (entry == null) {
+                logger.info("Manifest does not match {}, re-reading it", path);
+                rescan(path);
+            }
+            chunks().put(path, entry);
+        }
+
+        /**
+         * Rebuild the manifest entry of the current chunk from its contents.
+         */
+        private void rescan(String path) throws IOException {
+            entry = new OutputManifest.Chunk();
+            entry.setFile(path);
+            entry.setChunk(chunk);
+            hash = new XxHash64();
+
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            byte[] buffer = new byte[64 * 1024];
+            long offset = 0;
+            long lineStart = 0;
+            String previousKey = null;
+            try (InputStream in = Files.newInputStream(file.toPath())) {
+                int read;
+                while ((read = in.read(buffer)) > 0) {
+                    hash.update(buffer, 0, read);
+                    int from = 0;
+                    for (int i = 0; i < read; i++) {
+                        if (buffer[i] != '\n') {
+                            continue;
+                        }
+                        line.write(buffer, from, i - from);
+                        from = i + 1;
+                        JsonNode record;
+                        try {
+                            record = objectMapper.readTree(line.toByteArray());
+                        } catch (JsonProcessingException e) {
+                            record = MissingNode.getInstance(); // Counted, without key or date
+                        }
+                        String key = record.path("issue_key").asText(null);
+                        if (entry.getRecords() == 0 || !Objects.equals(key, previousKey)) {
+                            if (indexInterval > 0 && entry.getIssues() % indexInterval == 0) {
+                                entry.getIndex().add(new OutputManifest.IndexEntry(key, lineStart));
+                            }
+                            entry.setIssues(entry.getIssues() + 1);
+                        }
+                        count(entry, key, record.path("created").asText(null));
+                        previousKey = key;
+                        lineStart = offset + i + 1;
+                        line.reset();
+                    }
+                    line.write(buffer, from, read - from);
+                    offset += read;
+                }
+            }
+            entry.setBytes(offset);
+        }
+
+        private File file(int chunkNumber) {
+            Path dir = route.isEmpty() ? outputDir : outputDir.resolve(route);
+            return dir.resolve(fileName(chunkNumber)).toFile();
+        }
+
+        private String relativePath(int chunkNumber) {
+            return route.isEmpty() ? fileName(chunkNumber) : route + "/" + fileName(chunkNumber);
+        }
+
+        private String fileName(int chunkNumber) {
+            if (chunkNumber == 1) {
+                // First chunk doesn't have chunk suffix for backward compatibility
+                return String.format("%s_%s.jsonl", name, baseTimestamp);
+            }
+            // Subsequent chunks have chunk number
+            return String.format("%s_%s_chunk_%03d.jsonl", name, baseTimestamp, chunkNumber);
+        }
+
+        /**
+         * Counts bytes on their way to the chunk file and, with a manifest, hashes them.
+         */
+        private final class TrackingStream extends FilterOutputStream {
+            TrackingStream(OutputStream out) {
+                super(out);
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+                position++;
+                if (hash != null) {
+                    hash.update(b);
+                }
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                out.write(bytes, offset, length);
+                position += length;
+                if (hash != null) {
+                    hash.update(bytes, offset, length);
+                }
+            }
+        }
+    }
+
+    /**
+     * Add a record to a manifest entry's counts, key range and created range.
+     */
+    private static void count(OutputManifest.Chunk entry, String issueKey, String created) {
+        entry.setRecords(entry.getRecords() + 1);
+        if (entry.getFirstIssueKey() == null) {
+            entry.setFirstIssueKey(issueKey);
+        }
+        entry.setLastIssueKey(issueKey);
+        if (created != null) {
+            if (entry.getCreatedMin() == null || created.compareTo(entry.getCreatedMin()) < 0) {
+                entry.setCreatedMin(created);
+            }
+            if (entry.getCreatedMax() == null || created.compareTo(entry.getCreatedMax()) > 0) {
+                entry.setCreatedMax(created);
+            }
+        }
+    }
+
+    /**
+     * Routes the first record of an issue and sends the rest after it; all records of an issue
+     * share its key and type, and so its route.
+     */
+    private final class IssueSink implements DataTransformationService.RecordSink {
+        private Route route;
+
+        @Override
+        public void accept(LLMTrainingData record) throws IOException {
+            if (route == null) {
+                route = route(record);
+                route.startIssue(record);
+            }
+            route.write(record);
+        }
+    }
+}
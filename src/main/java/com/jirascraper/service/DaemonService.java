@@ -0,0 +1,257 @@
+package com.jirascraper.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.jirascraper.config.ScraperConfig;
+import com.jirascraper.model.Checkpoint;
+import com.jirascraper.model.DaemonState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Long-running mode that keeps one scraper service (and its connection pool, scheduler and
+ * latency statistics) alive and refreshes projects on a fixed interval.
+ *
+ * <p>The first refresh of a project is a full crawl; later refreshes only fetch issues updated
+ * since the start of the previous completed refresh. Project state is kept in
+ * {@code {checkpointDir}/daemon_state.json} so a restarted daemon continues incrementally.
+ *
+ * <p>Control commands are read from {@code {checkpointDir}/daemon.control}, one per line:
+ * <pre>
+ *   add KEY       start refreshing a project
+ *   remove KEY    stop refreshing a project
+ *   pause KEY     skip a project until it is resumed
+ *   resume KEY    refresh a paused project again
+ *   refresh KEY   refresh a project now instead of waiting for the interval
+ *   stop          exit after the refresh in progress
+ * </pre>
+ * The file is renamed before it is read, so commands appended while it is processed are
+ * picked up on the next poll.
+ */
+public class DaemonService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DaemonService.class);
+
+    private static final long POLL_INTERVAL_MS = 5000;
+    private static final DateTimeFormatter BASE_TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+    private final JiraScraperService scraperService;
+    private final CheckpointService checkpointService;
+    private final ObjectMapper objectMapper;
+    private final Path stateFile;
+    private final Path controlFile;
+    private final long refreshIntervalMs;
+    private DaemonState state;
+    private volatile boolean running = true;
+
+    public DaemonService(ScraperConfig config, JiraScraperService scraperService) {
+        this.scraperService = scraperService;
+        this.checkpointService = new CheckpointService(config);
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+
+        Path checkpointDir = Paths.get(config.getCheckpointDir());
+        this.stateFile = checkpointDir.resolve("daemon_state.json");
+        this.controlFile = checkpointDir.resolve("daemon.control");
+        this.refreshIntervalMs = TimeUnit.MINUTES.toMillis(config.getRefreshIntervalMinutes());
+    }
+
+    /**
+     * Refresh projects until a {@code stop} command is received.
+     */
+    public void run(List<String> initialProjects) {
+        state = loadState();
+        if (initialProjects != null) {
+            for (String projectKey : initialProjects) {
+                state.getProjects().putIfAbsent(projectKey, new DaemonState.ProjectState());
+            }
+        }
+        saveState();
+
+        logger.info("Daemon started: refreshing {} every {} minutes; control file {}",
+                state.getProjects().keySet(), TimeUnit.MILLISECONDS.toMinutes(refreshIntervalMs), controlFile);
+
+        while (running) {
+            processCommands();
+
+            for (String projectKey : new ArrayList<>(state.getProjects().keySet())) {
+                DaemonState.ProjectState projectState = state.getProjects().get(projectKey);
+                if (!running || projectState == null || projectState.isPaused() || !isDue(projectState)) {
+                    continue;
+                }
+                refresh(projectKey, projectState);
+                processCommands();
+            }
+
+            try {
+                Thread.sleep(POLL_INTERVAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        logger.info("Daemon stopped");
+    }
+
+    /**
+     * Ask the daemon to exit after the refresh in progress.
+     */
+    public void stop() {
+        running = false;
+    }
+
+    private boolean isDue(DaemonState.ProjectState projectState) {
+        return projectState.getLastRefreshAt() == 0
+                || System.currentTimeMillis() - projectState.getLastRefreshAt() >= refreshIntervalMs;
+    }
+
+    private void refresh(String projectKey, DaemonState.ProjectState projectState) {
+        long now = System.currentTimeMillis();
+
+        // A pending checkpoint is resumed; its window started when that crawl started
+        Checkpoint checkpoint = checkpointService.hasCheckpoint(projectKey)
+                ? checkpointService.loadCheckpoint(projectKey)
+                : null;
+        long windowStart = checkpoint != null ? parseBaseTimestamp(checkpoint.getBaseTimestamp(), now) : now;
+
+        logger.info("Refreshing project {} ({})", projectKey, projectState.getUpdatedSince() == null
+                ? "full crawl"
+                : "updated since " + Instant.ofEpochMilli(projectState.getUpdatedSince()));
+
+        boolean completed = scraperService.refreshProject(projectKey, projectState.getUpdatedSince());
+
+        projectState.setLastRefreshAt(now);
+        projectState.setLastRefreshCompleted(completed);
+        if (completed) {
+            projectState.setUpdatedSince(windowStart);
+        } else {
+            logger.warn("Refresh of project {} did not complete; it resumes from its checkpoint next time", projectKey);
+        }
+        saveState();
+    }
+
+    private static long parseBaseTimestamp(String baseTimestamp, long fallback) {
+        if (baseTimestamp == null) {
+            return fallback;
+        }
+        try {
+            return LocalDateTime.parse(baseTimestamp, BASE_TIMESTAMP_FORMAT)
+                    .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return fallback;
+        }
+    }
+
+    /**
+     * Apply control commands written to the control file since the last poll.
+     */
+    private void processCommands() {
+        if (!Files.exists(controlFile)) {
+            return;
+        }
+
+        List<String> lines;
+        Path processing = controlFile.resolveSibling(controlFile.getFileName() + ".processing");
+        try {
+            Files.move(controlFile, processing, StandardCopyOption.ATOMIC_MOVE);
+            lines = Files.readAllLines(processing, StandardCharsets.UTF_8);
+            Files.deleteIfExists(processing);
+        } catch (NoSuchFileException e) {
+            return;
+        } catch (IOException e) {
+            logger.error("Failed to read daemon control file {}", controlFile, e);
+            return;
+        }
+
+        Map<String, DaemonState.ProjectState> projects = state.getProjects();
+        for (String line : lines) {
+            String[] parts = line.trim().split("\\s+");
+            String command = parts[0].toLowerCase();
+            String projectKey = parts.length > 1 ? parts[1].toUpperCase() : null;
+
+            if (command.isEmpty() || command.startsWith("#")) {
+                continue;
+            }
+            if (command.equals("stop")) {
+                logger.info("Stop requested");
+                running = false;
+                continue;
+            }
+            if (projectKey == null) {
+                logger.warn("Ignoring daemon command without a project key: {}", line);
+                continue;
+            }
+
+            switch (command) {
+                case "add":
+                    if (projects.putIfAbsent(projectKey, new DaemonState.ProjectState()) == null) {
+                        logger.info("Added project {}", projectKey);
+                    }
+                    break;
+                case "remove":
+                    if (projects.remove(projectKey) != null) {
+                        logger.info("Removed project {}", projectKey);
+                    }
+                    break;
+                case "pause":
+                case "resume":
+                case "refresh":
+                    DaemonState.ProjectState projectState = projects.get(projectKey);
+                    if (projectState == null) {
+                        logger.warn("Ignoring '{}' for unknown project {}", command, projectKey);
+                    } else if (command.equals("refresh")) {
+                        projectState.setLastRefreshAt(0);
+                        logger.info("Refresh of project {} requested", projectKey);
+                    } else {
+                        projectState.setPaused(command.equals("pause"));
+                        logger.info("{} project {}", command.equals("pause") ? "Paused" : "Resumed", projectKey);
+                    }
+                    break;
+                default:
+                    logger.warn("Ignoring unknown daemon command: {}", line);
+            }
+        }
+        saveState();
+    }
+
+    private DaemonState loadState() {
+        if (!Files.exists(stateFile)) {
+            return new DaemonState();
+        }
+        try {
+            return objectMapper.readValue(stateFile.toFile(), DaemonState.class);
+        } catch (IOException e) {
+            logger.error("Failed to load daemon state {}, starting fresh", stateFile, e);
+            return new DaemonState();
+        }
+    }
+
+    private void saveState() {
+        try {
+            Files.createDirectories(stateFile.getParent());
+            Path tmp = stateFile.resolveSibling(stateFile.getFileName() + ".tmp");
+            objectMapper.writeValue(tmp.toFile(), state);
+            Files.move(tmp, stateFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.error("Failed to save daemon state {}", stateFile, e);
+        }
+    }
+}
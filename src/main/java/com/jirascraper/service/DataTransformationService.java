@@ -1,16 +1,18 @@
 package com.jirascraper.service;
 
-import com.jirascraper.model.JiraIssue;
+import com.jirascraper.config.ScraperConfig;
+import com.jirascraper.model.CompactIssue;
+import com.jirascraper.model.LazyText;
 import com.jirascraper.model.LLMTrainingData;
-import org.jsoup.Jsoup;
+import com.jirascraper.task.TaskPipeline;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Service for transforming Jira issues into LLM training data format.
@@ -19,220 +21,282 @@ public class DataTransformationService {
 
     private static final Logger logger = LoggerFactory.getLogger(DataTransformationService.class);
 
+    private static final String TRUNCATION_MARKER = " [truncated]";
+    private static final int TRUNCATION_MARKER_TOKENS = TokenEstimator.estimate(TRUNCATION_MARKER);
+
+    private final TextFormat textFormat;
+    private final int maxRecordChars;
+    private final int maxCommentsPerRecord;
+    private final int commentOverlap;
+    private final TaskPipeline taskPipeline;
+    private final PiiScrubber scrubber;
+    private final int maxTextTokens;
+    private final boolean countTokens;
+
+    public DataTransformationService(ScraperConfig config) {
+        this(config.getTextFormat(), config.getMaxRecordChars(), config.getMaxCommentsPerRecord(),
+                config.getCommentOverlap(), TaskPipeline.installed(), PiiScrubber.fromConfig(config),
+                config.getMaxTextTokens(), config.isCountTokens());
+    }
+
     /**
-     * Transform a Jira issue into LLM training data.
+     * @param maxRecordChars       text budget of one record (description plus comment bodies), 0 for none
+     * @param maxCommentsPerRecord comments per record before the thread is split, 0 for none
+     * @param commentOverlap       comments repeated at the start of each continuation record
+     * @param taskPipeline         generators of the {@code tasks} of each record
+     * @param scrubber             removes personal data and secrets from title, description and
+     *                             comments, {@code null} to keep the text as is
+     * @param maxTextTokens        estimated tokens each description and comment is truncated to, 0 for none
+     * @param countTokens          whether records and comments get their estimated {@code token_count}
      */
-    public LLMTrainingData transform(JiraIssue issue) {
-        try {
-            LLMTrainingData data = new LLMTrainingData();
-
-            // Basic metadata
-            data.setIssueKey(issue.getKey());
-
-            if (issue.getFields() != null) {
-                JiraIssue.Fields fields = issue.getFields();
-
-                // Project information
-                if (fields.getProject() != null) {
-                    data.setProject(fields.getProject().getKey());
-                }
-
-                // Issue type
-                if (fields.getIssueType() != null) {
-                    data.setIssueType(fields.getIssueType().getName());
-                }
-
-                // Title
-                data.setTitle(fields.getSummary());
-
-                // Status
-                if (fields.getStatus() != null) {
-                    data.setStatus(fields.getStatus().getName());
-                }
-
-                // Priority
-                if (fields.getPriority() != null) {
-                    data.setPriority(fields.getPriority().getName());
-                }
-
-                // Reporter
-                if (fields.getReporter() != null) {
-                    data.setReporter(fields.getReporter().getDisplayName() != null ?
-                            fields.getReporter().getDisplayName() : fields.getReporter().getName());
-                }
-
-                // Assignee
-                if (fields.getAssignee() != null) {
-                    data.setAssignee(fields.getAssignee().getDisplayName() != null ?
-                            fields.getAssignee().getDisplayName() : fields.getAssignee().getName());
-                }
-
-                // Timestamps
-                data.setCreated(fields.getCreated());
-                data.setUpdated(fields.getUpdated());
-                data.setResolutionDate(fields.getResolutionDate());
-
-                // Resolution
-                if (fields.getResolution() != null) {
-                    data.setResolution(fields.getResolution().getName());
-                }
-
-                // Labels
-                data.setLabels(fields.getLabels() != null ? fields.getLabels() : Collections.emptyList());
-
-                // Description (clean HTML)
-                data.setDescription(cleanHtml(fields.getDescription()));
-
-                // Comments
-                List<LLMTrainingData.CommentData> comments = transformComments(fields);
-                data.setComments(comments);
-
-                // Generate derived tasks
-                LLMTrainingData.Tasks tasks = generateTasks(data, fields, comments);
-                data.setTasks(tasks);
-            }
-
-            return data;
+    public DataTransformationService(TextFormat textFormat, int maxRecordChars, int maxCommentsPerRecord,
+                                     int commentOverlap, TaskPipeline taskPipeline, PiiScrubber scrubber,
+                                     int maxTextTokens, boolean countTokens) {
+        this.taskPipeline = taskPipeline;
+        this.scrubber = scrubber;
+        this.textFormat = textFormat;
+        this.maxRecordChars = maxRecordChars;
+        this.maxCommentsPerRecord = maxCommentsPerRecord;
+        this.commentOverlap = commentOverlap;
+        this.maxTextTokens = maxTextTokens;
+        this.countTokens = countTokens;
+    }
 
-        } catch (Exception e) {
-            logger.error("Failed to transform issue {}: {}", issue.getKey(), e.getMessage(), e);
-            return null;
-        }
+    /**
+     * Receives the records of an issue as they are built.
+     */
+    @FunctionalInterface
+    public interface RecordSink {
+        void accept(LLMTrainingData record) throws IOException;
     }
 
     /**
-     * Transform Jira comments to training data format.
+     * Transform a Jira issue into records within the configured budgets, handing each one to
+     * {@code sink} before the next is built. An issue within budget gives one record. A longer
+     * comment thread is split into several records numbered by {@code part}/{@code part_count};
+     * the description is only in the first, and each continuation starts with the last
+     * {@code commentOverlap} comments of the previous one as context. Text that does not fit the
+     * budget still left in the record is truncated, so no record exceeds it.
+     *
+     * @return number of records passed to the sink, 0 if the issue could not be transformed
      */
-    private List<LLMTrainingData.CommentData> transformComments(JiraIssue.Fields fields) {
-        if (fields.getComment() == null || fields.getComment().getComments() == null) {
-            return Collections.emptyList();
+    public int transform(CompactIssue issue, RecordSink sink) throws IOException {
+        List<CompactIssue.Comment> comments = issue.comments() != null ? issue.comments() : List.of();
+        List<int[]> parts;
+        try {
+            parts = planParts(issue, comments);
+        } catch (Exception e) {
+            logger.error("Failed to transform issue {}: {}", issue.key(), e.getMessage(), e);
+            return 0;
+        }
+        if (parts.size() > 1) {
+            logger.info("Splitting issue {} ({} comments) into {} records", issue.key(), comments.size(), parts.size());
         }
 
-        return fields.getComment().getComments().stream()
-                .map(comment -> {
-                    LLMTrainingData.CommentData commentData = new LLMTrainingData.CommentData();
-                    if (comment.getAuthor() != null) {
-                        commentData.setAuthor(comment.getAuthor().getDisplayName() != null ?
-                                comment.getAuthor().getDisplayName() : comment.getAuthor().getName());
-                    }
-                    commentData.setBody(cleanHtml(comment.getBody()));
-                    commentData.setCreated(comment.getCreated());
-                    return commentData;
-                })
-                .collect(Collectors.toList());
+        for (int part = 0; part < parts.size(); part++) {
+            int[] range = parts.get(part);
+            LLMTrainingData record;
+            try {
+                record = buildRecord(issue, part == 0, comments.subList(range[0], range[1]), comments.size(),
+                        maxRecordChars);
+            } catch (Exception e) {
+                logger.error("Failed to transform part {} of issue {}: {}", part + 1, issue.key(), e.getMessage(), e);
+                return part;
+            }
+            if (parts.size() > 1) {
+                record.setPart(part + 1);
+                record.setPartCount(parts.size());
+            }
+            sink.accept(record);
+        }
+        return parts.size();
     }
 
     /**
-     * Generate derived tasks for LLM training.
+     * Split the comment thread into {@code [from, to)} ranges that fit the budgets. Text is sized in
+     * chars by its encoded length, which is never less than the decoded length, so that nothing is
+     * decoded here; {@link #buildRecord} enforces the budget on the rendered text.
      */
-    private LLMTrainingData.Tasks generateTasks(LLMTrainingData data,
-                                                  JiraIssue.Fields fields,
-                                                  List<LLMTrainingData.CommentData> comments) {
-        LLMTrainingData.Tasks tasks = new LLMTrainingData.Tasks();
-
-        // Summarization task
-        tasks.setSummarization(generateSummarization(data, comments));
-
-        // Classification task
-        tasks.setClassification(generateClassification(data));
+    private List<int[]> planParts(CompactIssue issue, List<CompactIssue.Comment> comments) {
+        List<int[]> parts = new ArrayList<>();
+        int start = 0;
+        long used = textSize(issue.description());
+        int fresh = 0;
+        int i = 0;
+        while (i < comments.size()) {
+            long size = textSize(comments.get(i).body());
+            boolean full = fresh > 0
+                    && ((maxCommentsPerRecord > 0 && i - start >= maxCommentsPerRecord)
+                    || (maxRecordChars > 0 && used + size > maxRecordChars));
+            if (!full) {
+                used += size;
+                fresh++;
+                i++;
+                continue;
+            }
 
-        // Q&A tasks
-        tasks.setQna(generateQnA(data, fields, comments));
+            parts.add(new int[]{start, i});
 
-        return tasks;
+            // Continue with overlapping context, leaving room for at least one new comment
+            int next = Math.max(i - commentOverlap, start);
+            if (maxCommentsPerRecord > 0) {
+                next = Math.max(next, i - (maxCommentsPerRecord - 1));
+            }
+            used = 0;
+            for (int k = next; k < i; k++) {
+                used += textSize(comments.get(k).body());
+            }
+            while (next < i && maxRecordChars > 0 && used + size > maxRecordChars) {
+                used -= textSize(comments.get(next).body());
+                next++;
+            }
+            start = next;
+            fresh = 0;
+        }
+        parts.add(new int[]{start, comments.size()});
+        return parts;
     }
 
     /**
-     * Generate a summarization of the issue.
+     * Upper bound of the decoded length of the text in chars, capped at the record budget.
      */
-    private String generateSummarization(LLMTrainingData data, List<LLMTrainingData.CommentData> comments) {
-        StringBuilder summary = new StringBuilder();
-        summary.append("Issue: ").append(data.getTitle()).append("\n");
-        summary.append("Status: ").append(data.getStatus()).append("\n");
-
-        if (data.getDescription() != null && !data.getDescription().trim().isEmpty()) {
-            String desc = data.getDescription();
-            if (desc.length() > 500) {
-                desc = desc.substring(0, 497) + "...";
-            }
-            summary.append("Description: ").append(desc).append("\n");
+    private long textSize(LazyText text) {
+        if (text == null) {
+            return 0;
+        }
+        return maxRecordChars > 0 ? Math.min(text.byteLength(), maxRecordChars) : text.byteLength();
+    }
+
+    private LLMTrainingData buildRecord(CompactIssue issue, boolean withDescription,
+                                        List<CompactIssue.Comment> issueComments, int totalComments,
+                                        int maxTextChars) {
+        LLMTrainingData data = new LLMTrainingData();
+
+        // Basic metadata
+        data.setIssueKey(issue.key());
+        data.setProject(issue.projectKey());
+        data.setIssueType(issue.issueType());
+        data.setTitle(scrub(issue.summary()));
+        data.setStatus(issue.status());
+        data.setPriority(issue.priority());
+        data.setReporter(issue.reporter());
+        data.setAssignee(issue.assignee());
+
+        // Timestamps
+        data.setCreated(issue.created());
+        data.setUpdated(issue.updated());
+        data.setResolutionDate(issue.resolutionDate());
+
+        data.setResolution(issue.resolution());
+        data.setLabels(issue.labels() != null ? issue.labels() : Collections.emptyList());
+
+        // Description, decoded from the response bytes here; it and the comments share the budget
+        int[] remaining = {maxTextChars};
+        if (withDescription) {
+            data.setDescription(fit(scrub(renderText(issue.description())), remaining));
         }
 
-        if (comments != null && !comments.isEmpty()) {
-            summary.append("Comments: ").append(comments.size()).append(" comment(s)");
+        // Comments
+        List<LLMTrainingData.CommentData> comments = transformComments(issueComments, remaining);
+        data.setComments(comments);
+
+        if (countTokens) {
+            data.setTokenCount(TokenEstimator.estimate(data));
         }
 
-        return summary.toString();
+        // Generate derived tasks with every installed generator in one pass
+        LLMTrainingData.Tasks tasks = taskPipeline.generate(data, totalComments);
+        data.setTasks(tasks);
+
+        return data;
     }
 
     /**
-     * Generate classification data.
+     * Transform Jira comments to training data format.
      */
-    private LLMTrainingData.Classification generateClassification(LLMTrainingData data) {
-        LLMTrainingData.Classification classification = new LLMTrainingData.Classification();
-        classification.setIssueType(data.getIssueType());
-        classification.setPriority(data.getPriority());
-        classification.setStatus(data.getStatus());
-        return classification;
+    private List<LLMTrainingData.CommentData> transformComments(List<CompactIssue.Comment> issueComments,
+                                                                int[] remaining) {
+        List<LLMTrainingData.CommentData> comments = new ArrayList<>(issueComments.size());
+        for (CompactIssue.Comment comment : issueComments) {
+            LLMTrainingData.CommentData commentData = new LLMTrainingData.CommentData();
+            commentData.setAuthor(comment.author());
+            commentData.setBody(fit(scrub(renderText(comment.body())), remaining));
+            commentData.setCreated(comment.created());
+            if (countTokens) {
+                commentData.setTokenCount(TokenEstimator.estimate(commentData.getBody()));
+            }
+            comments.add(commentData);
+        }
+        return comments;
     }
 
     /**
-     * Generate Q&A pairs for the issue.
+     * Truncate text to the token budget and to the char budget still left in the record, taking its
+     * length from what is left. Without a record budget only the token budget applies.
      */
-    private List<LLMTrainingData.QnA> generateQnA(LLMTrainingData data,
-                                                    JiraIssue.Fields fields,
-                                                    List<LLMTrainingData.CommentData> comments) {
-        List<LLMTrainingData.QnA> qnaPairs = new ArrayList<>();
-
-        // Q&A about issue status
-        qnaPairs.add(createQnA(
-                "What is the status of issue " + data.getIssueKey() + "?",
-                "The status is: " + data.getStatus()
-        ));
-
-        // Q&A about issue priority
-        if (data.getPriority() != null) {
-            qnaPairs.add(createQnA(
-                    "What is the priority of this issue?",
-                    "The priority is: " + data.getPriority()
-            ));
+    private String fit(String text, int[] remaining) {
+        text = truncateTokens(text);
+        if (maxRecordChars <= 0 || text.length() <= remaining[0]) {
+            remaining[0] -= text.length();
+            return text;
         }
+        // With no room left for any text besides the marker, the text is dropped
+        String fitted = remaining[0] > TRUNCATION_MARKER.length() ? truncate(text, remaining[0]) : "";
+        remaining[0] -= fitted.length();
+        return fitted;
+    }
 
-        // Q&A about issue type
-        if (data.getIssueType() != null) {
-            qnaPairs.add(createQnA(
-                    "What type of issue is " + data.getIssueKey() + "?",
-                    "This is a " + data.getIssueType()
-            ));
+    private static String truncate(String text, int maxChars) {
+        if (maxChars <= 0 || text.length() <= maxChars) {
+            return text;
         }
-
-        // Q&A about resolution
-        if (data.getResolution() != null) {
-            qnaPairs.add(createQnA(
-                    "How was this issue resolved?",
-                    "Resolution: " + data.getResolution()
-            ));
+        int cut = Math.max(0, maxChars - TRUNCATION_MARKER.length());
+        if (cut > 0 && Character.isHighSurrogate(text.charAt(cut - 1))) {
+            cut--;
         }
+        return text.substring(0, cut) + TRUNCATION_MARKER;
+    }
 
-        // Q&A about comments
-        if (comments != null && !comments.isEmpty()) {
-            qnaPairs.add(createQnA(
-                    "How many comments does this issue have?",
-                    "This issue has " + comments.size() + " comment(s)"
-            ));
+    /**
+     * Cut text to the token budget, keeping the marker within it.
+     */
+    private String truncateTokens(String text) {
+        if (maxTextTokens <= 0) {
+            return text;
+        }
+        int cut = TokenEstimator.truncationIndex(text, maxTextTokens);
+        if (cut == text.length()) {
+            return text;
         }
+        cut = TokenEstimator.truncationIndex(text, Math.max(0, maxTextTokens - TRUNCATION_MARKER_TOKENS));
+        return text.substring(0, cut) + TRUNCATION_MARKER;
+    }
 
-        return qnaPairs;
+    /**
+     * Remove personal data and secrets, before anything is truncated or derived from the text.
+     */
+    private String scrub(String text) {
+        return scrubber != null ? scrubber.scrub(text) : text;
     }
 
     /**
-     * Helper method to create a Q&A pair.
+     * Render a description or comment body in the configured text format.
      */
-    private LLMTrainingData.QnA createQnA(String question, String answer) {
-        LLMTrainingData.QnA qna = new LLMTrainingData.QnA();
-        qna.setQuestion(question);
-        qna.setAnswer(answer);
-        return qna;
+    private String renderText(LazyText lazyText) {
+        String text = lazyText != null ? lazyText.decode() : null;
+        if (textFormat != TextFormat.MARKDOWN) {
+            return cleanHtml(text);
+        }
+        if (text == null || text.trim().isEmpty()) {
+            return "";
+        }
+
+        try {
+            return WikiMarkupConverter.toMarkdown(text);
+        } catch (Exception e) {
+            logger.warn("Failed to convert wiki markup, cleaning as plain text: {}", e.getMessage());
+            return cleanHtml(text);
+        }
     }
 
     /**
@@ -244,10 +308,8 @@ public class DataTransformationService {
         }
 
         try {
-            // Use Jsoup to parse and extract text from HTML
-            String text = Jsoup.parse(html).text();
-            // Remove extra whitespace
-            return text.replaceAll("\\s+", " ").trim();
+            // Single pass without a DOM; falls back to Jsoup for markup it cannot handle exactly
+            return HtmlTextCleaner.clean(html);
         } catch (Exception e) {
             logger.warn("Failed to clean HTML, returning as-is: {}", e.getMessage());
             return html;
@@ -0,0 +1,136 @@
+package com.jirascraper.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.jirascraper.config.ScraperConfig;
+import com.jirascraper.model.DeadLetterEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service for persisting issues and page ranges that failed during scraping, so they can
+ * be re-fetched later without re-running the whole project.
+ *
+ * <p>Entries are appended as JSONL to {@code {checkpointDir}/{PROJECT}_deadletter.jsonl}.
+ */
+public class DeadLetterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeadLetterService.class);
+
+    private final ObjectMapper objectMapper;
+    private final Path deadLetterDir;
+
+    public DeadLetterService(ScraperConfig config) {
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.disable(SerializationFeature.INDENT_OUTPUT);
+
+        this.deadLetterDir = Paths.get(config.getCheckpointDir());
+
+        try {
+            Files.createDirectories(deadLetterDir);
+        } catch (IOException e) {
+            logger.error("Failed to create dead-letter directory", e);
+        }
+    }
+
+    /**
+     * Append a failed issue or page range to the project's dead-letter file.
+     */
+    public synchronized void record(DeadLetterEntry entry) {
+        File file = getDeadLetterFile(entry.getProjectKey());
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            writer.write(objectMapper.writeValueAsString(entry));
+            writer.newLine();
+        } catch (IOException e) {
+            logger.error("Failed to record dead-letter entry for project {}", entry.getProjectKey(), e);
+        }
+    }
+
+    /**
+     * Load all dead-letter entries for a project, dropping duplicates of the same issue or range.
+     */
+    public synchronized List<DeadLetterEntry> load(String projectKey) {
+        File file = getDeadLetterFile(projectKey);
+        if (!file.exists()) {
+            return Collections.emptyList();
+        }
+
+        Map<String, DeadLetterEntry> entries = new LinkedHashMap<>();
+        try {
+            for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    DeadLetterEntry entry = objectMapper.readValue(line, DeadLetterEntry.class);
+                    String id = entry.isIssue()
+                            ? entry.getIssueKey()
+                            : entry.getStartAt() + "+" + entry.getMaxResults() + " " + entry.getStartDate() + ".."
+                                    + entry.getEndDate() + " " + entry.getUpdatedSince() + " " + entry.getPageToken();
+                    entries.put(id, entry); // keep the most recent error
+                } catch (IOException e) {
+                    logger.warn("Skipping unreadable dead-letter line for project {}: {}", projectKey, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Failed to load dead-letter file for project {}", projectKey, e);
+        }
+        return new ArrayList<>(entries.values());
+    }
+
+    /**
+     * Replace the project's dead-letter file with the entries that are still unresolved.
+     */
+    public synchronized void replace(String projectKey, List<DeadLetterEntry> remaining) {
+        File file = getDeadLetterFile(projectKey);
+        try {
+            if (remaining.isEmpty()) {
+                Files.deleteIfExists(file.toPath());
+                logger.info("Dead-letter queue for project {} is empty", projectKey);
+                return;
+            }
+
+            Path tmp = file.toPath().resolveSibling(file.getName() + ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+                for (DeadLetterEntry entry : remaining) {
+                    writer.write(objectMapper.writeValueAsString(entry));
+                    writer.newLine();
+                }
+            }
+            Files.move(tmp, file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            logger.info("Dead-letter queue for project {} has {} unresolved entries", projectKey, remaining.size());
+        } catch (IOException e) {
+            logger.error("Failed to rewrite dead-letter file for project {}", projectKey, e);
+        }
+    }
+
+    /**
+     * Check if a project has any dead-letter entries.
+     */
+    public boolean hasEntries(String projectKey) {
+        return getDeadLetterFile(projectKey).exists();
+    }
+
+    /**
+     * Get the dead-letter file for a project.
+     */
+    private File getDeadLetterFile(String projectKey) {
+        return deadLetterDir.resolve(projectKey + "_deadletter.jsonl").toFile();
+    }
+}
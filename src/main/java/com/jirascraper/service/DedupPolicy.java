@@ -0,0 +1,11 @@
+package com.jirascraper.service;
+
+/**
+ * What happens to records and comments that {@link NearDuplicateDetector} finds to be near-duplicates.
+ */
+public enum DedupPolicy {
+    /** Near-duplicate records and comments are left out of the output. */
+    DROP,
+    /** They are kept and marked with {@code "near_duplicate": true}. */
+    TAG
+}
@@ -0,0 +1,44 @@
+package com.jirascraper.service;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The string hash shared by split routing, sampling and the run statistics: 64-bit FNV-1a over
+ * the UTF-8 bytes, finished with the MurmurHash3 finalizer so that every output bit depends on
+ * every input bit. Stable across runs and JVMs, unlike {@link String#hashCode()}.
+ */
+final class Hashing {
+
+    static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    static final long FNV_PRIME = 0x100000001b3L;
+
+    private Hashing() {
+    }
+
+    static long hash(String value) {
+        return hash(value, 0);
+    }
+
+    /**
+     * @param seed mixed into the FNV offset basis, so that differently seeded hashes are independent
+     */
+    static long hash(String value, long seed) {
+        long hash = FNV_OFFSET_BASIS ^ seed;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * MurmurHash3 64-bit finalizer.
+     */
+    static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,86 @@
+package com.jirascraper.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+/**
+ * Process-wide admission control for issues being transformed and written.
+ *
+ * <p>Each issue's working memory is estimated from the size of its text before anything is
+ * decoded, and issues only start while the estimates of all issues in flight fit in a fixed
+ * share of the maximum heap. A few giant issues arriving together on different project threads
+ * are then handled one after another instead of all at once. An issue larger than the whole
+ * budget is admitted once nothing else is in flight, so it is never refused.
+ *
+ * <p>The budget is shared by every scraper service in the JVM, including one per run-spec host.
+ */
+public final class HeapAdmission {
+
+    private static final Logger logger = LoggerFactory.getLogger(HeapAdmission.class);
+
+    /**
+     * Working bytes per encoded byte of text: the decoded string, its cleaned copy and the
+     * serializer's buffer.
+     */
+    private static final int BYTES_PER_TEXT_BYTE = 4;
+
+    private static HeapAdmission shared;
+
+    private final long budgetBytes;
+    private long inFlightBytes;
+
+    HeapAdmission(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    /**
+     * The JVM-wide instance, sized from the first caller's {@code heapBudgetPercent}
+     * (0 disables admission control).
+     */
+    public static synchronized HeapAdmission shared(int heapBudgetPercent) {
+        if (shared == null) {
+            shared = new HeapAdmission(Runtime.getRuntime().maxMemory() / 100 * heapBudgetPercent);
+            if (heapBudgetPercent > 0) {
+                logger.info("Heap admission budget: {} MB ({}% of max heap)",
+                        shared.budgetBytes / (1024 * 1024), heapBudgetPercent);
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Wait until an issue with {@code textBytes} of text may be processed.
+     *
+     * @return the amount to pass to {@link #release(long)} when done
+     */
+    public long admit(String issueKey, long textBytes) throws IOException {
+        if (budgetBytes <= 0) {
+            return 0;
+        }
+        long cost = Math.min(textBytes * BYTES_PER_TEXT_BYTE, budgetBytes);
+        synchronized (this) {
+            if (inFlightBytes > 0 && inFlightBytes + cost > budgetBytes) {
+                logger.info("Issue {} ({} KB of text) waiting for heap budget", issueKey, textBytes / 1024);
+            }
+            try {
+                while (inFlightBytes > 0 && inFlightBytes + cost > budgetBytes) {
+                    wait();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted waiting for heap budget for issue " + issueKey, e);
+            }
+            inFlightBytes += cost;
+        }
+        return cost;
+    }
+
+    public synchronized void release(long cost) {
+        if (cost > 0) {
+            inFlightBytes -= cost;
+            notifyAll();
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.jirascraper.service;
+
+import org.jsoup.Jsoup;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Single-pass HTML-to-text cleaner for issue descriptions and comments.
+ *
+ * <p>Tags are stripped, entities decoded and whitespace collapsed in one scan into a
+ * per-thread reusable buffer, without building a DOM. Block-level tags and {@code <br>} act as
+ * word separators and {@code script}/{@code style} content and comments are dropped, as with
+ * Jsoup's {@code text()}. Input without {@code <} or {@code &} (most wiki-markup text) only has
+ * its whitespace collapsed. Markup the scanner does not handle exactly, such as an unterminated
+ * tag or an entity outside the common set, falls back to Jsoup.
+ */
+public final class HtmlTextCleaner {
+
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+    private static final Set<String> BLOCK_TAGS = Set.of(
+            "address", "article", "aside", "blockquote", "br", "caption", "dd", "div", "dl", "dt",
+            "fieldset", "figcaption", "figure", "footer", "form", "h1", "h2", "h3", "h4", "h5", "h6",
+            "header", "hr", "li", "main", "nav", "ol", "p", "pre", "section", "table", "tbody", "td",
+            "tfoot", "th", "thead", "tr", "ul");
+
+    private static final Set<String> RAW_TEXT_TAGS = Set.of("script", "style");
+
+    private static final Map<String, Character> ENTITIES = Map.ofEntries(
+            Map.entry("amp", '&'), Map.entry("lt", '<'), Map.entry("gt", '>'), Map.entry("quot", '"'),
+            Map.entry("apos", '\''), Map.entry("nbsp", '\u00a0'), Map.entry("ndash", '\u2013'),
+            Map.entry("mdash", '\u2014'), Map.entry("lsquo", '\u2018'), Map.entry("rsquo", '\u2019'),
+            Map.entry("ldquo", '\u201c'), Map.entry("rdquo", '\u201d'), Map.entry("hellip", '\u2026'),
+            Map.entry("bull", '\u2022'), Map.entry("middot", '\u00b7'), Map.entry("copy", '\u00a9'),
+            Map.entry("reg", '\u00ae'), Map.entry("trade", '\u2122'), Map.entry("euro", '\u20ac'),
+            Map.entry("rarr", '\u2192'), Map.entry("larr", '\u2190'), Map.entry("times", '\u00d7'));
+
+    private HtmlTextCleaner() {
+    }
+
+    /**
+     * Extract the visible text of an HTML fragment with whitespace collapsed to single spaces.
+     */
+    public static String clean(String html) {
+        if (html == null || html.isEmpty()) {
+            return "";
+        }
+
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        try {
+            if (html.indexOf('<') < 0 && html.indexOf('&') < 0) {
+                appendCollapsed(html, 0, html.length(), out);
+                return trimmedResult(out);
+            }
+            if (!scan(html, out)) {
+                return Jsoup.parse(html).text().replaceAll("\\s+", " ").trim();
+            }
+            return trimmedResult(out);
+        } finally {
+            if (out.capacity() > MAX_RETAINED_CAPACITY) {
+                BUFFER.remove();
+            }
+        }
+    }
+
+    /**
+     * Scan markup into {@code out}.
+     *
+     * @return false if the markup needs the full parser
+     */
+    private static boolean scan(String html, StringBuilder out) {
+        int length = html.length();
+        int i = 0;
+        while (i < length) {
+            char c = html.charAt(i);
+
+            if (c == '<') {
+                int next = i + 1 < length ? html.charAt(i + 1) : -1;
+                if (next == '!' || next == '?') {
+                    i = skipDeclaration(html, i);
+                } else if (next == '/' || isAsciiLetter(next)) {
+                    i = skipTag(html, i, out);
+                } else {
+                    // A '<' that cannot start a tag is text, as in HTML
+                    out.append('<');
+                    i++;
+                    continue;
+                }
+                if (i < 0) {
+                    return false;
+                }
+            } else if (c == '&') {
+                i = decodeEntity(html, i, out);
+                if (i < 0) {
+                    return false;
+                }
+            } else {
+                if (isWhitespace(c)) {
+                    appendSpace(out);
+                } else {
+                    out.append(c);
+                }
+                i++;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Skip a tag starting at {@code start}, emitting a separator for block tags and skipping
+     * the content of raw-text elements.
+     *
+     * @return index after the tag, or -1 if it is unterminated
+     */
+    private static int skipTag(String html, int start, StringBuilder out) {
+        int length = html.length();
+        boolean closing = html.charAt(start + 1) == '/';
+        int nameStart = closing ? start + 2 : start + 1;
+        int nameEnd = nameStart;
+        while (nameEnd < length && (isAsciiLetter(html.charAt(nameEnd)) || Character.isDigit(html.charAt(nameEnd)))) {
+            nameEnd++;
+        }
+
+        // Find the end of the tag, ignoring '>' inside quoted attribute values
+        int i = nameEnd;
+        char quote = 0;
+        while (i < length) {
+            char c = html.charAt(i);
+            if (quote != 0) {
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '"' || c == '\'') {
+                quote = c;
+            } else if (c == '>') {
+                break;
+            }
+            i++;
+        }
+        if (i >= length) {
+            return -1;
+        }
+
+        String name = html.substring(nameStart, nameEnd).toLowerCase();
+        if (BLOCK_TAGS.contains(name) || RAW_TEXT_TAGS.contains(name)) {
+            appendSpace(out);
+        }
+
+        if (!closing && RAW_TEXT_TAGS.contains(name)) {
+            int end = indexOfIgnoreCase(html, "</" + name, i + 1);
+            if (end < 0) {
+                return -1;
+            }
+            int close = html.indexOf('>', end);
+            return close < 0 ? -1 : close + 1;
+        }
+        return i + 1;
+    }
+
+    /**
+     * Skip a comment, doctype or processing instruction.
+     *
+     * @return index after it, or -1 if it is unterminated
+     */
+    private static int skipDeclaration(String html, int start) {
+        if (html.startsWith("<!--", start)) {
+            int end = html.indexOf("-->", start + 4);
+            return end < 0 ? -1 : end + 3;
+        }
+        int end = html.indexOf('>', start);
+        return end < 0 ? -1 : end + 1;
+    }
+
+    /**
+     * Decode a named or numeric entity starting at {@code start}.
+     *
+     * @return index after the entity, or -1 if it is not one the scanner decodes exactly
+     */
+    private static int decodeEntity(String html, int start, StringBuilder out) {
+        int length = html.length();
+        int semicolon = -1;
+        for (int i = start + 1; i < length && i <= start + 10; i++) {
+            char c = html.charAt(i);
+            if (c == ';') {
+                semicolon = i;
+                break;
+            }
+            if (!isAsciiLetter(c) && !Character.isDigit(c) && c != '#') {
+                break;
+            }
+        }
+
+        if (semicolon < 0) {
+            if (start + 1 < length && (isAsciiLetter(html.charAt(start + 1)) || html.charAt(start + 1) == '#')) {
+                return -1; // possibly an entity without ';', which the parser resolves leniently
+            }
+            out.append('&');
+            return start + 1;
+        }
+
+        String name = html.substring(start + 1, semicolon);
+        if (name.startsWith("#")) {
+            int codePoint = parseCodePoint(name);
+            if (codePoint <= 0 || !Character.isValidCodePoint(codePoint)) {
+                return -1;
+            }
+            if (isWhitespace(codePoint)) {
+                appendSpace(out);
+            } else {
+                out.appendCodePoint(codePoint);
+            }
+            return semicolon + 1;
+        }
+
+        Character decoded = ENTITIES.get(name);
+        if (decoded == null) {
+            return -1;
+        }
+        if (isWhitespace(decoded)) {
+            appendSpace(out);
+        } else {
+            out.append(decoded.charValue());
+        }
+        return semicolon + 1;
+    }
+
+    private static int parseCodePoint(String name) {
+        try {
+            if (name.length() > 2 && (name.charAt(1) == 'x' || name.charAt(1) == 'X')) {
+                return Integer.parseInt(name.substring(2), 16);
+            }
+            return Integer.parseInt(name.substring(1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static void appendCollapsed(String text, int from, int to, StringBuilder out) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (isWhitespace(c)) {
+                appendSpace(out);
+            } else {
+                out.append(c);
+            }
+        }
+    }
+
+    /**
+     * Append a single separating space, never at the start and never twice in a row.
+     */
+    private static void appendSpace(StringBuilder out) {
+        int length = out.length();
+        if (length > 0 && out.charAt(length - 1) != ' ') {
+            out.append(' ');
+        }
+    }
+
+    private static String trimmedResult(StringBuilder out) {
+        int length = out.length();
+        if (length > 0 && out.charAt(length - 1) == ' ') {
+            length--;
+        }
+        return out.substring(0, length);
+    }
+
+    /**
+     * Whitespace as collapsed by Jsoup's text normalisation (which includes no-break space)
+     * followed by the regex {@code \s}.
+     */
+    private static boolean isWhitespace(int c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == '\u000b' || c == '\u00a0';
+    }
+
+    private static boolean isAsciiLetter(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static int indexOfIgnoreCase(String text, String needle, int from) {
+        int last = text.length() - needle.length();
+        for (int i = from; i <= last; i++) {
+            if (text.regionMatches(true, i, needle, 0, needle.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
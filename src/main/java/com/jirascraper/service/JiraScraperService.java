@@ -1,27 +1,53 @@
 package com.jirascraper.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.jirascraper.client.CircuitOpenException;
 import com.jirascraper.client.JiraApiClient;
+import com.jirascraper.client.PaginationStrategy;
 import com.jirascraper.config.ScraperConfig;
 import com.jirascraper.model.Checkpoint;
-import com.jirascraper.model.JiraIssue;
+import com.jirascraper.model.CompactIssue;
+import com.jirascraper.model.DeadLetterEntry;
 import com.jirascraper.model.JiraSearchResponse;
 import com.jirascraper.model.LLMTrainingData;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.SocketTimeoutException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Main scraper service that orchestrates the scraping process with pagination,
@@ -31,27 +57,51 @@ public class JiraScraperService {
 
     private static final Logger logger = LoggerFactory.getLogger(JiraScraperService.class);
 
+    private static final String STREAM_SUFFIX = "_webhook";
+    private static final String SAMPLE_SUFFIX = "_sample";
+
     private final JiraApiClient apiClient;
     private final CheckpointService checkpointService;
     private final DataTransformationService transformationService;
+    private final HeapAdmission heapAdmission;
+    private final NearDuplicateDetector duplicateDetector;
+    private final SplitRouter splitRouter;
+    private final RunStatistics statistics;
+    private final Path statisticsFile;
+    private final DeadLetterService deadLetterService;
+    private final ProjectBatchPlanner batchPlanner;
     private final ObjectMapper objectMapper;
     private final Path outputDir;
     private final ScraperConfig config;
     private final long maxFileSizeBytes;
+    private final Map<String, Checkpoint> streamCheckpoints = new HashMap<>();
+    private final Map<String, ChunkedOutput> streamOutputs = new HashMap<>();
 
     public JiraScraperService(ScraperConfig config) {
         this.config = config;
         this.apiClient = new JiraApiClient(config);
         this.checkpointService = new CheckpointService(config);
-        this.transformationService = new DataTransformationService();
+        this.transformationService = new DataTransformationService(config);
+        this.heapAdmission = HeapAdmission.shared(config.getHeapBudgetPercent());
+        this.duplicateDetector = NearDuplicateDetector.fromConfig(config);
+        this.splitRouter = SplitRouter.fromConfig(config);
+        this.deadLetterService = new DeadLetterService(config);
+        this.batchPlanner = new ProjectBatchPlanner(apiClient, config);
 
         this.objectMapper = new ObjectMapper();
         this.objectMapper.registerModule(new JavaTimeModule());
         this.objectMapper.disable(SerializationFeature.INDENT_OUTPUT); // Compact JSON for JSONL
+        this.objectMapper.getFactory().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET); // Records stream into shared writers
 
         this.outputDir = Paths.get(config.getOutputDir());
         this.maxFileSizeBytes = config.getMaxOutputFileSizeMB() * 1024 * 1024; // Convert MB to bytes
 
+        // One report per process, so that reports of several nodes sharing an output dir can be merged
+        this.statistics = config.isStatistics() ? new RunStatistics() : null;
+        this.statisticsFile = outputDir.resolve(String.format("stats_%s_%s.json",
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")),
+                WorkQueueService.resolveWorkerId()));
+
         try {
             Files.createDirectories(outputDir);
         } catch (IOException e) {
@@ -59,10 +109,178 @@ public class JiraScraperService {
         }
     }
 
+    /**
+     * Scrape several projects. With small-project batching enabled, projects without a checkpoint
+     * are planned into {@code project in (...)} batches first; projects that do not fit in a
+     * batch, or that are resuming from a checkpoint, are crawled individually. Individual crawls
+     * run up to {@code parallelism} at a time and share the client's request scheduler.
+     *
+     * @return true if every project was scraped to the end
+     */
+    public boolean scrapeProjects(List<String> projectKeys) {
+        if (!config.isBatchSmallProjects() || config.getPaginationStrategy() != PaginationStrategy.OFFSET) {
+            return crawlProjects(projectKeys);
+        }
+
+        boolean allCompleted = true;
+        List<String> crawl = new ArrayList<>();
+        List<String> fresh = new ArrayList<>();
+        for (String projectKey : projectKeys) {
+            if (checkpointService.hasCheckpoint(projectKey)) {
+                logger.info("Project {} is resuming from a checkpoint, not batched", projectKey);
+                crawl.add(projectKey);
+            } else {
+                fresh.add(projectKey);
+            }
+        }
+
+        for (ProjectBatchPlanner.ProjectBatch batch : batchPlanner.plan(fresh)) {
+            if (batch.isPrefetched()) {
+                allCompleted &= writeBatch(batch);
+            } else {
+                crawl.add(batch.getProjectKeys().get(0));
+            }
+        }
+        return crawlProjects(crawl) && allCompleted;
+    }
+
+    /**
+     * Crawl projects individually, concurrently when parallelism is above one. The combined
+     * request rate stays within the configured limit because every crawl draws permits from
+     * the same scheduler.
+     */
+    private boolean crawlProjects(List<String> projectKeys) {
+        boolean allCompleted = true;
+        int threads = Math.min(config.getParallelism(), projectKeys.size());
+
+        if (threads <= 1) {
+            for (String projectKey : projectKeys) {
+                logger.info("Scraping project: {}", projectKey);
+                allCompleted &= scrapeProject(projectKey);
+            }
+            return allCompleted;
+        }
+
+        logger.info("Scraping {} projects with parallelism {} ({} scheduling)",
+                projectKeys.size(), threads, apiClient.getScheduler().getPolicy());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (String projectKey : projectKeys) {
+                results.add(executor.submit(() -> {
+                    logger.info("Scraping project: {}", projectKey);
+                    return scrapeProject(projectKey);
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                try {
+                    allCompleted &= result.get();
+                } catch (ExecutionException e) {
+                    logger.error("Project crawl failed", e.getCause());
+                    allCompleted = false;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            allCompleted = false;
+        } finally {
+            executor.shutdownNow();
+        }
+        return allCompleted;
+    }
+
+    /**
+     * Demultiplex a prefetched multi-project batch into one output series per project. Each
+     * written project gets a completed checkpoint until the whole batch is written, so a run
+     * interrupted halfway does not write those projects again. The series of a project that
+     * fails to be written is deleted, so the next run writes it again without duplicates.
+     */
+    private boolean writeBatch(ProjectBatchPlanner.ProjectBatch batch) {
+        String baseTimestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+
+        Map<String, List<CompactIssue>> issuesByProject = new LinkedHashMap<>();
+        for (String projectKey : batch.getProjectKeys()) {
+            issuesByProject.put(projectKey, new ArrayList<>());
+        }
+        for (CompactIssue issue : batch.getIssues()) {
+            String projectKey = issue.projectKey();
+            issuesByProject.computeIfAbsent(projectKey, k -> new ArrayList<>()).add(issue);
+        }
+
+        boolean allWritten = true;
+        for (Map.Entry<String, List<CompactIssue>> entry : issuesByProject.entrySet()) {
+            String projectKey = entry.getKey();
+
+            StratifiedSampler sampler = newSampler();
+
+            Checkpoint written = new Checkpoint(projectKey, null, entry.getValue().size(), entry.getValue().size(),
+                    1, baseTimestamp);
+            ChunkedOutput output = newOutput(projectKey, baseTimestamp, null);
+            try (output) {
+                for (CompactIssue issue : entry.getValue()) {
+                    try {
+                        if (!processIssue(issue, issueSink(output, sampler))) {
+                            deadLetterService.record(DeadLetterEntry.forIssue(
+                                    projectKey, issue.key(), "Transformation failed"));
+                        }
+                    } catch (Exception e) {
+                        logger.error("Failed to process issue {}: {}", issue.key(), e.getMessage(), e);
+                        deadLetterService.record(DeadLetterEntry.forIssue(projectKey, issue.key(), e.getMessage()));
+                    }
+                }
+                logger.info("Completed scraping project {}: {} total issues processed (batched with {} other projects)",
+                        projectKey, entry.getValue().size(), batch.getProjectKeys().size() - 1);
+                written.setCurrentChunk(output.getCurrentChunk());
+                written.setSplitChunks(output.getSplitChunks());
+            } catch (IOException e) {
+                logger.error("Failed to write to output file for project {}", projectKey, e);
+                // Without a checkpoint the next run writes the project again in full
+                try {
+                    output.delete();
+                } catch (IOException deleteFailure) {
+                    logger.error("Failed to delete partial output of project {}; the next run duplicates it",
+                            projectKey, deleteFailure);
+                }
+                allWritten = false;
+                continue;
+            }
+            if (sampler != null) {
+                writeSample(projectKey, baseTimestamp, sampler);
+            }
+            if (!entry.getValue().isEmpty()) {
+                written.setLastIssueKey(entry.getValue().get(entry.getValue().size() - 1).key());
+            }
+            written.setCompleted(true);
+            checkpointService.saveCheckpoint(written);
+        }
+
+        // The batch is written; like a finished crawl, it leaves no checkpoints behind
+        for (String projectKey : issuesByProject.keySet()) {
+            checkpointService.deleteCheckpoint(projectKey);
+        }
+        writeStatistics();
+        return allWritten;
+    }
+
     /**
      * Scrape issues from a specific project with automatic file chunking.
+     *
+     * @return true if the project was scraped to the end, false if progress was checkpointed
+     *         after an error
+     */
+    public boolean scrapeProject(String projectKey) {
+        return scrapeProject(projectKey, () -> false);
+    }
+
+    /**
+     * Scrape a project that may be taken away from this process, as a work queue lease can.
+     *
+     * @param cancelled checked before each page, issue and checkpoint write; once it returns true,
+     *                  the crawl stops writing and leaves the checkpoint, chunks and manifest
+     *                  to the new owner
+     * @return true if the project was scraped to the end
      */
-    public void scrapeProject(String projectKey) {
+    public boolean scrapeProject(String projectKey, BooleanSupplier cancelled) {
         logger.info("Starting scraping for project: {}", projectKey);
 
         // Log date filters if present
@@ -78,178 +296,691 @@ public class JiraScraperService {
 
         // Check for existing checkpoint
         Checkpoint checkpoint = checkpointService.loadCheckpoint(projectKey);
+        if (checkpoint != null && checkpoint.isCompleted()) {
+            logger.info("Project {} was already written by an interrupted batch run", projectKey);
+            checkpointService.deleteCheckpoint(projectKey);
+            apiClient.setUpdatedSince(projectKey, null);
+            return true;
+        }
         int startAt = checkpoint != null ? checkpoint.getStartAt() : 0;
         int totalProcessed = checkpoint != null ? checkpoint.getTotalProcessed() : 0;
-        int currentChunk = checkpoint != null ? checkpoint.getCurrentChunk() : 1;
+        String pageToken = checkpoint != null ? checkpoint.getNextPageToken() : null;
         String baseTimestamp = checkpoint != null && checkpoint.getBaseTimestamp() != null
                 ? checkpoint.getBaseTimestamp()
                 : LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
 
+        // An interrupted incremental refresh must resume with the same window, or offsets shift
+        if (checkpoint != null) {
+            apiClient.setUpdatedSince(projectKey, checkpoint.getUpdatedSince());
+        }
+        if (apiClient.getUpdatedSince(projectKey) != null) {
+            logger.info("Incremental refresh: issues updated since {}",
+                    Instant.ofEpochMilli(apiClient.getUpdatedSince(projectKey)));
+        }
+
         // Smart checkpoint handling with date filters
         if (checkpoint != null) {
             logger.info("Resuming from checkpoint: startAt={}, totalProcessed={}, chunk={}",
-                    startAt, totalProcessed, currentChunk);
+                    startAt, totalProcessed, checkpoint.getCurrentChunk());
         }
 
-        // Create initial output file
-        File outputFile = getOutputFile(projectKey, baseTimestamp, currentChunk);
-        boolean appendMode = checkpoint != null;
+        // Output files are opened as records arrive, appending to the checkpointed chunks
+        ChunkedOutput output = newOutput(projectKey, baseTimestamp, checkpoint);
+        StratifiedSampler sampler = newSampler();
+        if (sampler != null && checkpoint != null && checkpoint.getSample() != null) {
+            sampler.restore(checkpoint.getSample());
+        }
 
-        BufferedWriter writer = null;
+        boolean completed = false;
         try {
-            writer = new BufferedWriter(new FileWriter(outputFile, appendMode));
-
             boolean hasMore = true;
-            int pageSize = config.getDefaultPageSize();
+            AdaptivePageSizer pageSizer = new AdaptivePageSizer(config);
+            int pageSize = pageSizer.getPageSize();
 
             while (hasMore) {
+                if (cancelled.getAsBoolean()) {
+                    logCancelled(projectKey, startAt);
+                    break;
+                }
+                pageSize = pageSizer.getPageSize();
                 try {
-                    logger.info("Fetching issues for project {} starting at {} (chunk {})", projectKey, startAt, currentChunk);
+                    logger.info("Fetching issues for project {} starting at {} ({} chunks)", projectKey, startAt,
+                            output.getChunkCount());
 
                     // Fetch a page of issues with date filters
-                    JiraSearchResponse response = apiClient.searchIssues(
-                            projectKey,
-                            startAt,
-                            pageSize,
-                            config.getStartDate(),
-                            config.getEndDate()
-                    );
-
-                    if (response == null || response.getIssues() == null) {
+                    Page page = fetchPage(projectKey, startAt, pageToken, pageSizer);
+
+                    if (page == null) {
                         logger.warn("Received null or empty response for project {}", projectKey);
                         break;
                     }
 
-                    List<JiraIssue> issues = response.getIssues();
-                    logger.info("Fetched {} issues (total: {})", issues.size(), response.getTotal());
+                    List<CompactIssue> issues = page.issues;
+                    logger.info("Fetched {} issues (total: {})", issues.size(), page.total);
+                    if (page.total >= 0) {
+                        apiClient.getScheduler().updateRemaining(projectKey, page.total - startAt - page.consumed);
+                    }
 
-                    // Process each issue
-                    for (JiraIssue issue : issues) {
+                    // Process each issue; the new owner of a lost project resumes into the same chunks
+                    boolean stopped = false;
+                    for (CompactIssue issue : issues) {
+                        if (cancelled.getAsBoolean()) {
+                            stopped = true;
+                            break;
+                        }
                         try {
-                            // Check if we need to rotate to a new chunk file
-                            if (outputFile.length() >= maxFileSizeBytes) {
-                                logger.info("File size limit reached ({}MB), rotating to chunk {}",
-                                        outputFile.length() / (1024 * 1024), currentChunk + 1);
-
-                                // Close current writer
-                                writer.close();
-
-                                // Increment chunk number
-                                currentChunk++;
-
-                                // Create new output file
-                                outputFile = getOutputFile(projectKey, baseTimestamp, currentChunk);
-                                writer = new BufferedWriter(new FileWriter(outputFile, false)); // New file, no append
-                                appendMode = false;
+                            // Rotates the issue's chunk file first if it is full
+                            if (!processIssue(issue, issueSink(output, sampler))) {
+                                deadLetterService.record(DeadLetterEntry.forIssue(
+                                        projectKey, issue.key(), "Transformation failed"));
                             }
-
-                            processIssue(issue, writer);
                             totalProcessed++;
 
                             // Save checkpoint periodically
                             if (totalProcessed % config.getCheckpointInterval() == 0) {
-                                saveCheckpoint(projectKey, issue.getKey(), startAt + issues.size(), totalProcessed, currentChunk, baseTimestamp);
+                                saveCheckpoint(projectKey, issue.key(), startAt + page.consumed, page.nextPageToken,
+                                        totalProcessed, output, sampler, cancelled);
                             }
 
                         } catch (Exception e) {
-                            logger.error("Failed to process issue {}: {}", issue.getKey(), e.getMessage(), e);
+                            logger.error("Failed to process issue {}: {}", issue.key(), e.getMessage(), e);
                             // Continue processing other issues despite individual failures
+                            deadLetterService.record(DeadLetterEntry.forIssue(projectKey, issue.key(), e.getMessage()));
                         }
                     }
 
+                    if (stopped) {
+                        logCancelled(projectKey, startAt);
+                        break;
+                    }
+
                     // Check if there are more pages
-                    startAt += issues.size();
-                    hasMore = startAt < response.getTotal() && !issues.isEmpty();
+                    startAt += page.consumed;
+                    pageToken = page.nextPageToken;
+                    hasMore = page.hasMore;
 
                     if (!hasMore) {
                         logger.info("Completed scraping project {}: {} total issues processed across {} chunks",
-                                projectKey, totalProcessed, currentChunk);
-                        // Mark checkpoint as completed and delete it
-                        checkpointService.deleteCheckpoint(projectKey);
+                                projectKey, totalProcessed, output.getChunkCount());
+                        if (deadLetterService.hasEntries(projectKey)) {
+                            logger.warn("Project {} has failed issues or pages in its dead-letter queue; run with --repair to re-fetch them",
+                                    projectKey);
+                        }
+                        // Mark checkpoint as completed and delete it, unless the project is no longer ours
+                        if (!cancelled.getAsBoolean()) {
+                            checkpointService.deleteCheckpoint(projectKey);
+                            completed = true;
+                        }
                     } else {
                         // Save checkpoint after each page
-                        String lastKey = issues.isEmpty() ? null : issues.get(issues.size() - 1).getKey();
-                        saveCheckpoint(projectKey, lastKey, startAt, totalProcessed, currentChunk, baseTimestamp);
+                        String lastKey = issues.isEmpty() ? null : issues.get(issues.size() - 1).key();
+                        saveCheckpoint(projectKey, lastKey, startAt, pageToken, totalProcessed, output, sampler, cancelled);
                     }
 
                 } catch (IOException e) {
                     logger.error("Error fetching issues for project {}: {}", projectKey, e.getMessage(), e);
 
-                    if (isRateLimitError(e) || isServerError(e)) {
+                    if (isRateLimitError(e) || isServerError(e) || isCircuitOpenError(e)) {
                         logger.info("Saving checkpoint and will retry later");
-                        saveCheckpoint(projectKey, null, startAt, totalProcessed, currentChunk, baseTimestamp);
+                        saveCheckpoint(projectKey, null, startAt, pageToken, totalProcessed, output, sampler, cancelled);
                         throw new RuntimeException("Scraping paused due to API error. Resume later.", e);
+                    } else if (config.getPaginationStrategy() == PaginationStrategy.TOKEN) {
+                        // The cursor for the next page is only available from this page's response
+                        logger.info("Saving checkpoint; token-paginated pages cannot be skipped");
+                        saveCheckpoint(projectKey, null, startAt, pageToken, totalProcessed, output, sampler, cancelled);
+                        throw new RuntimeException("Scraping paused: page could not be fetched. Resume later.", e);
                     } else {
                         // For other errors, log and continue
                         logger.warn("Skipping this batch due to error, will continue with next");
+                        deadLetterService.record(pageEntry(projectKey, startAt, pageSize, null, e.getMessage()));
                         startAt += pageSize;
                     }
                 }
             }
 
-        } catch (IOException e) {
-            logger.error("Failed to write to output file for project {}", projectKey, e);
-            saveCheckpoint(projectKey, null, startAt, totalProcessed, currentChunk, baseTimestamp);
         } catch (Exception e) {
             logger.error("Unexpected error while scraping project {}", projectKey, e);
-            saveCheckpoint(projectKey, null, startAt, totalProcessed, currentChunk, baseTimestamp);
+            saveCheckpoint(projectKey, null, startAt, pageToken, totalProcessed, output, sampler, cancelled);
         } finally {
-            // Ensure writer is closed
-            if (writer != null) {
+            apiClient.getScheduler().unregister(projectKey);
+            apiClient.setUpdatedSince(projectKey, null);
+
+            // Ensure writers are closed
+            try {
+                if (cancelled.getAsBoolean()) {
+                    output.abandon();
+                } else {
+                    output.close();
+                }
+            } catch (IOException e) {
+                logger.error("Failed to close writer for project {}", projectKey, e);
+            }
+            // An unfinished crawl's sample lives on in its checkpoint
+            if (sampler != null && completed) {
+                writeSample(projectKey, baseTimestamp, sampler);
+            }
+            writeStatistics();
+        }
+        return completed;
+    }
+
+
+    private static void logCancelled(String projectKey, int startAt) {
+        logger.warn("Scrape of project {} cancelled at {}, leaving its checkpoint to the new owner",
+                projectKey, startAt);
+    }
+
+    /**
+     * Incrementally refresh a project: fetch only issues updated at or after the given epoch
+     * milliseconds into a new output file. A pending checkpoint takes precedence, so an
+     * interrupted refresh resumes with its original window.
+     *
+     * @return true if the refresh ran to the end
+     */
+    public boolean refreshProject(String projectKey, Long updatedSince) {
+        apiClient.setUpdatedSince(projectKey, updatedSince);
+        return scrapeProject(projectKey);
+    }
+
+    /**
+     * Fetch a page of issues. If the page cannot be parsed, the range is bisected with
+     * halved {@code maxResults} until each unparseable issue is isolated; only those issues
+     * are quarantined in the dead-letter queue and the rest of the page is kept.
+     *
+     * @return the fetched page, or null if the response had no issue list
+     */
+    private Page fetchPage(String projectKey, int startAt, String pageToken, AdaptivePageSizer pageSizer)
+            throws IOException {
+        PaginationStrategy strategy = config.getPaginationStrategy();
+        int pageSize = pageSizer.getPageSize();
+        JiraSearchResponse response;
+        try {
+            response = apiClient.searchPage(strategy, projectKey, startAt, pageToken, pageSize,
+                    config.getStartDate(), config.getEndDate(), "*all");
+        } catch (SocketTimeoutException e) {
+            if (!pageSizer.onTimeout()) {
+                throw e;
+            }
+            logger.warn("Page at {} for project {} timed out, retrying with page size {}",
+                    startAt, projectKey, pageSizer.getPageSize());
+            return fetchPage(projectKey, startAt, pageToken, pageSizer);
+        } catch (IOException e) {
+            if (!isParseError(e)) {
+                throw e;
+            }
+
+            logger.warn("Page at {} for project {} could not be parsed, bisecting to isolate bad issues",
+                    startAt, projectKey);
+            Page page;
+            if (strategy == PaginationStrategy.TOKEN) {
+                page = shrinkTokenPage(projectKey, startAt, pageToken, pageSize);
+            } else {
+                page = new Page(new ArrayList<>(), -1, 0);
+                bisect(projectKey, startAt, pageSize, page);
+                page.hasMore = page.consumed > 0 && (page.total < 0 || startAt + page.consumed < page.total);
+            }
+            logger.info("Bisection of page at {} recovered {} of {} issues",
+                    startAt, page.issues.size(), page.consumed);
+            return page;
+        }
+
+        if (response == null || response.getIssues() == null) {
+            return null;
+        }
+
+        pageSizer.onResponse(pageSize, response);
+
+        Page page = new Page(response.getIssues(), strategy.total(response), response.getIssues().size());
+        page.nextPageToken = response.getNextPageToken();
+        page.hasMore = strategy.hasMore(response, startAt + page.consumed);
+        return page;
+    }
+
+    /**
+     * Token-paginated counterpart of {@link #bisect}: pages cannot be addressed by offset, so
+     * the same cursor is re-requested with halved {@code maxResults}. A single unparseable issue
+     * is skipped using the cursor returned by a key-only request for it.
+     */
+    private Page shrinkTokenPage(String projectKey, int startAt, String pageToken, int pageSize) throws IOException {
+        Page page = new Page(new ArrayList<>(), -1, 0);
+        String cursor = pageToken;
+        int remaining = pageSize;
+        int size = pageSize / 2; // the full page has already failed
+        boolean more = true;
+
+        while (remaining > 0 && more) {
+            size = Math.max(1, Math.min(size, remaining));
+            JiraSearchResponse response;
+            try {
+                response = apiClient.searchPage(PaginationStrategy.TOKEN, projectKey, 0, cursor, size,
+                        config.getStartDate(), config.getEndDate(), "*all");
+            } catch (IOException e) {
+                if (!isParseError(e)) {
+                    throw e;
+                }
+                if (size > 1) {
+                    size /= 2;
+                    continue;
+                }
+
+                response = apiClient.searchPage(PaginationStrategy.TOKEN, projectKey, 0, cursor, 1,
+                        config.getStartDate(), config.getEndDate(), "key");
+                String issueKey = response.getIssues() != null && !response.getIssues().isEmpty()
+                        ? response.getIssues().get(0).key()
+                        : null;
+                recordQuarantine(projectKey, issueKey, startAt + page.consumed, cursor);
+                page.consumed++;
+                remaining--;
+                cursor = response.getNextPageToken();
+                more = PaginationStrategy.TOKEN.hasMore(response, 0);
+                size = remaining;
+                continue;
+            }
+
+            List<CompactIssue> issues = response.getIssues() != null ? response.getIssues() : List.of();
+            page.issues.addAll(issues);
+            page.consumed += issues.size();
+            remaining -= size;
+            cursor = response.getNextPageToken();
+            more = PaginationStrategy.TOKEN.hasMore(response, 0);
+            size = remaining; // try the rest of the page in one request again
+        }
+
+        page.nextPageToken = cursor;
+        page.hasMore = more;
+        return page;
+    }
+
+    /**
+     * Split an unparseable range in two halves and fetch each separately.
+     */
+    private void bisect(String projectKey, int startAt, int size, Page page) {
+        if (size == 1) {
+            quarantine(projectKey, startAt);
+            page.consumed++;
+            return;
+        }
+
+        int half = size / 2;
+        fetchRange(projectKey, startAt, half, page);
+        fetchRange(projectKey, startAt + half, size - half, page);
+    }
+
+    private void fetchRange(String projectKey, int startAt, int size, Page page) {
+        try {
+            JiraSearchResponse response = apiClient.searchIssues(
+                    projectKey, startAt, size, config.getStartDate(), config.getEndDate());
+            List<CompactIssue> issues = response.getIssues() != null ? response.getIssues() : List.of();
+            page.issues.addAll(issues);
+            page.consumed += issues.size();
+            page.total = response.getTotal();
+        } catch (IOException e) {
+            if (isParseError(e)) {
+                bisect(projectKey, startAt, size, page);
+            } else {
+                logger.warn("Failed to fetch range {}+{} for project {}: {}", startAt, size, projectKey, e.getMessage());
+                deadLetterService.record(pageEntry(projectKey, startAt, size, null, e.getMessage()));
+                page.consumed += size;
+            }
+        }
+    }
+
+    /**
+     * Record a single unparseable issue in the dead-letter queue, identifying it by key
+     * through a key-only search where possible.
+     */
+    private void quarantine(String projectKey, int position) {
+        String issueKey = null;
+        try {
+            JiraSearchResponse response = apiClient.searchIssueKeys(
+                    projectKey, position, 1, config.getStartDate(), config.getEndDate());
+            if (response.getIssues() != null && !response.getIssues().isEmpty()) {
+                issueKey = response.getIssues().get(0).key();
+            }
+        } catch (IOException e) {
+            logger.debug("Could not identify issue at position {} for project {}: {}", position, projectKey, e.getMessage());
+        }
+
+        recordQuarantine(projectKey, issueKey, position, null);
+    }
+
+    private void recordQuarantine(String projectKey, String issueKey, int position, String pageToken) {
+        if (issueKey != null) {
+            logger.warn("Quarantined unparseable issue {}", issueKey);
+            deadLetterService.record(DeadLetterEntry.forIssue(projectKey, issueKey, "Unparseable issue payload"));
+        } else {
+            logger.warn("Quarantined unparseable issue at position {} for project {}", position, projectKey);
+            deadLetterService.record(pageEntry(projectKey, position, 1, pageToken, "Unparseable issue payload"));
+        }
+    }
+
+    /**
+     * Dead-letter entry for a page range of the project's current query, so that the repair pass
+     * replays it with the same date filters and refresh window.
+     */
+    private DeadLetterEntry pageEntry(String projectKey, int startAt, int maxResults, String pageToken, String error) {
+        return DeadLetterEntry.forPage(projectKey, startAt, maxResults, config.getStartDate(), config.getEndDate(),
+                apiClient.getUpdatedSince(projectKey), pageToken, error);
+    }
+
+    /**
+     * Re-run the query a dead-letter page range was recorded with: its date filters, its refresh
+     * window, and its cursor if it was token-paginated.
+     */
+    private JiraSearchResponse replayPage(String projectKey, DeadLetterEntry page) throws IOException {
+        LocalDate startDate = page.getStartDate() != null ? LocalDate.parse(page.getStartDate()) : null;
+        LocalDate endDate = page.getEndDate() != null ? LocalDate.parse(page.getEndDate()) : null;
+        Long previous = apiClient.getUpdatedSince(projectKey);
+        apiClient.setUpdatedSince(projectKey, page.getUpdatedSince());
+        try {
+            if (page.getPageToken() != null) {
+                return apiClient.searchPage(PaginationStrategy.TOKEN, projectKey, 0, page.getPageToken(),
+                        page.getMaxResults(), startDate, endDate, "*all");
+            }
+            return apiClient.searchIssues(projectKey, page.getStartAt(), page.getMaxResults(), startDate, endDate);
+        } finally {
+            apiClient.setUpdatedSince(projectKey, previous);
+        }
+    }
+
+    /**
+     * Re-fetch the issues and page ranges recorded in a project's dead-letter queue.
+     * Individual issues are fetched in bulk with {@code key in (...)} queries; failed page
+     * ranges are re-requested with the filters and cursor of the query they belonged to.
+     * Recovered issues are written to a separate {@code {PROJECT}_{TIMESTAMP}_repair.jsonl}
+     * series, routed like a crawl, and anything still failing stays queued.
+     *
+     * @return true if the dead-letter queue is empty afterwards
+     */
+    public boolean repairProject(String projectKey) {
+        List<DeadLetterEntry> entries = deadLetterService.load(projectKey);
+        if (entries.isEmpty()) {
+            logger.info("No dead-letter entries for project {}", projectKey);
+            return true;
+        }
+
+        logger.info("Repairing {} dead-letter entries for project {}", entries.size(), projectKey);
+
+        List<String> issueKeys = new ArrayList<>();
+        List<DeadLetterEntry> pages = new ArrayList<>();
+        for (DeadLetterEntry entry : entries) {
+            if (entry.isIssue()) {
+                issueKeys.add(entry.getIssueKey());
+            } else {
+                pages.add(entry);
+            }
+        }
+
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        String repairSeries = String.format("%s_%s_repair", projectKey, timestamp);
+        List<DeadLetterEntry> remaining = new ArrayList<>();
+        int recovered = 0;
+
+        try (ChunkedOutput output = newOutput(projectKey, timestamp + "_repair", null)) {
+            int batchSize = config.getMaxPageSize();
+            for (int i = 0; i < issueKeys.size(); i += batchSize) {
+                List<String> batch = issueKeys.subList(i, Math.min(i + batchSize, issueKeys.size()));
                 try {
-                    writer.close();
+                    JiraSearchResponse response = apiClient.searchIssuesByKeys(batch);
+                    List<CompactIssue> issues = response.getIssues() != null ? response.getIssues() : List.of();
+
+                    Set<String> unresolved = new LinkedHashSet<>(batch);
+                    for (CompactIssue issue : issues) {
+                        if (processIssueForRepair(projectKey, issue, output, remaining)) {
+                            recovered++;
+                        }
+                        unresolved.remove(issue.key());
+                    }
+                    for (String key : unresolved) {
+                        remaining.add(DeadLetterEntry.forIssue(projectKey, key, "Not returned by key search"));
+                    }
                 } catch (IOException e) {
-                    logger.error("Failed to close writer for project {}", projectKey, e);
+                    logger.error("Failed to re-fetch {} issues for project {}: {}", batch.size(), projectKey, e.getMessage());
+                    for (String key : batch) {
+                        remaining.add(DeadLetterEntry.forIssue(projectKey, key, e.getMessage()));
+                    }
                 }
             }
+
+            for (DeadLetterEntry page : pages) {
+                try {
+                    JiraSearchResponse response = replayPage(projectKey, page);
+                    List<CompactIssue> issues = response.getIssues() != null ? response.getIssues() : List.of();
+                    for (CompactIssue issue : issues) {
+                        if (processIssueForRepair(projectKey, issue, output, remaining)) {
+                            recovered++;
+                        }
+                    }
+                } catch (IOException e) {
+                    logger.error("Failed to re-fetch page at {} for project {}: {}", page.getStartAt(), projectKey, e.getMessage());
+                    remaining.add(page.failedAgain(e.getMessage()));
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Failed to write repair file for project {}", projectKey, e);
+            return false;
+        }
+
+        deadLetterService.replace(projectKey, remaining);
+        logger.info("Repair of project {} recovered {} issues into {} ({} entries still failing)",
+                projectKey, recovered, repairSeries, remaining.size());
+        return remaining.isEmpty();
+    }
+
+    /**
+     * Process an issue during the repair pass, queueing it again if it still fails.
+     */
+    private boolean processIssueForRepair(String projectKey, CompactIssue issue, ChunkedOutput output,
+                                          List<DeadLetterEntry> remaining) {
+        try {
+            if (processIssue(issue, output.issueSink())) {
+                return true;
+            }
+            remaining.add(DeadLetterEntry.forIssue(projectKey, issue.key(), "Transformation failed"));
+        } catch (IOException e) {
+            logger.error("Failed to process issue {}: {}", issue.key(), e.getMessage(), e);
+            remaining.add(DeadLetterEntry.forIssue(projectKey, issue.key(), e.getMessage()));
+        }
+        return false;
+    }
+
+    /**
+     * Append a single pushed issue (e.g. from a webhook) to the project's stream output.
+     * Streams are written to {@code {PROJECT}_webhook_{timestamp}.jsonl} chunks with the same
+     * rotation as crawls, and tracked by a checkpoint under {@code {PROJECT}_webhook}, so a
+     * restarted listener appends to the chunk it was writing. The stream's output stays open
+     * across issues and its manifest is written on rotation and by {@link #close()}.
+     *
+     * @return false if the issue could not be transformed or written
+     */
+    public synchronized boolean ingestIssue(CompactIssue issue) {
+        String projectKey = issue.projectKey();
+        String streamKey = projectKey + STREAM_SUFFIX;
+
+        Checkpoint checkpoint = streamCheckpoints.computeIfAbsent(streamKey, key -> {
+            Checkpoint existing = checkpointService.loadCheckpoint(key);
+            return existing != null ? existing : new Checkpoint(key, null, 0, 0, 1,
+                    LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")));
+        });
+
+        ChunkedOutput output = streamOutputs.computeIfAbsent(streamKey,
+                key -> newOutput(key, checkpoint.getBaseTimestamp(), checkpoint));
+        boolean written;
+        try {
+            written = processIssue(issue, output.issueSink());
+            if (!written) {
+                deadLetterService.record(DeadLetterEntry.forIssue(projectKey, issue.key(), "Transformation failed"));
+            }
+        } catch (IOException e) {
+            logger.error("Failed to write pushed issue {}: {}", issue.key(), e.getMessage(), e);
+            deadLetterService.record(DeadLetterEntry.forIssue(projectKey, issue.key(), e.getMessage()));
+            // Reopen the stream from its checkpoint with the next issue
+            streamOutputs.remove(streamKey);
+            closeStream(streamKey, output);
+            return false;
         }
+
+        checkpoint.setCurrentChunk(output.getCurrentChunk());
+        checkpoint.setSplitChunks(output.getSplitChunks());
+        checkpoint.setChunkTokens(output.getChunkTokens());
+        if (written) {
+            checkpoint.setTotalProcessed(checkpoint.getTotalProcessed() + 1);
+            checkpoint.setLastIssueKey(issue.key());
+        }
+        checkpoint.setTimestamp(LocalDateTime.now());
+        checkpointService.saveCheckpoint(checkpoint);
+        return written;
     }
 
+    /**
+     * Fetch a single issue with all fields and comments.
+     */
+    public CompactIssue fetchIssue(String issueKey) throws IOException {
+        return apiClient.getIssue(issueKey);
+    }
 
     /**
      * Process a single issue: transform and write to output.
+     *
+     * @return false if the issue could not be transformed
      */
-    private void processIssue(JiraIssue issue, BufferedWriter writer) throws IOException {
-        logger.debug("Processing issue: {}", issue.getKey());
+    private boolean processIssue(CompactIssue issue, DataTransformationService.RecordSink sink) throws IOException {
+        logger.debug("Processing issue: {}", issue.key());
+
+        long admitted = heapAdmission.admit(issue.key(), issue.textBytes());
+        try {
+            // Transform to LLM training data, streaming each record (one per line) to its file
+            int records = transformationService.transform(issue, deduplicate(tally(sink)));
 
-        // Transform to LLM training data
-        LLMTrainingData trainingData = transformationService.transform(issue);
+            if (records == 0) {
+                logger.warn("Failed to transform issue {}, skipping", issue.key());
+                return false;
+            }
+        } finally {
+            heapAdmission.release(admitted);
+        }
+
+        logger.debug("Successfully processed issue: {}", issue.key());
+        return true;
+    }
 
-        if (trainingData == null) {
-            logger.warn("Failed to transform issue {}, skipping", issue.getKey());
+    /**
+     * Drop or tag near-duplicates on their way to {@code sink}, if deduplication is enabled.
+     * Called once per issue.
+     */
+    private DataTransformationService.RecordSink deduplicate(DataTransformationService.RecordSink sink) {
+        return duplicateDetector != null ? duplicateDetector.filter(sink) : sink;
+    }
+
+    /**
+     * Count records in the run statistics on their way to {@code sink}, if statistics are enabled.
+     * Called once per issue.
+     */
+    private DataTransformationService.RecordSink tally(DataTransformationService.RecordSink sink) {
+        return statistics != null ? statistics.tally(sink) : sink;
+    }
+
+    /**
+     * Rewrite the statistics report with everything counted so far, if statistics are enabled.
+     * Synchronized so that concurrent project crawls do not race on the report file.
+     */
+    private synchronized void writeStatistics() {
+        if (statistics == null) {
             return;
         }
+        try {
+            statistics.writeTo(statisticsFile);
+            logger.debug("Wrote statistics of {} issues to {}", statistics.getIssues(), statisticsFile);
+        } catch (IOException e) {
+            logger.error("Failed to write statistics report {}", statisticsFile, e);
+        }
+    }
 
-        // Write as JSONL (one JSON object per line)
-        String json = objectMapper.writeValueAsString(trainingData);
-        writer.write(json);
-        writer.newLine();
-        writer.flush();
+    /**
+     * Where the records of the next issue go: the sample if sampling is enabled, otherwise the output.
+     */
+    private DataTransformationService.RecordSink issueSink(ChunkedOutput output, StratifiedSampler sampler) {
+        return sampler != null ? sampler.issueSink() : output.issueSink();
+    }
 
-        logger.debug("Successfully processed issue: {}", issue.getKey());
+    /**
+     * A sampler for one project's issues, or {@code null} if sampling is off.
+     */
+    private StratifiedSampler newSampler() {
+        return config.getSampleSize() > 0
+                ? new StratifiedSampler(config.getSampleSize(), config.getSampleFields())
+                : null;
     }
 
     /**
-     * Save a checkpoint with chunk information.
+     * Write a completed project's sample to {@code {PROJECT}_{TIMESTAMP}_sample.jsonl}, routed like
+     * the full output, replacing any earlier file of that name.
      */
-    private void saveCheckpoint(String projectKey, String lastIssueKey, int startAt, int totalProcessed, int currentChunk, String baseTimestamp) {
-        Checkpoint checkpoint = new Checkpoint(projectKey, lastIssueKey, startAt, totalProcessed, currentChunk, baseTimestamp);
-        checkpointService.saveCheckpoint(checkpoint);
+    private void writeSample(String projectKey, String baseTimestamp, StratifiedSampler sampler) {
+        try (ChunkedOutput output = new ChunkedOutput(outputDir, projectKey, baseTimestamp + SAMPLE_SUFFIX,
+                splitRouter, maxFileSizeBytes, config.getMaxFileTokens(), objectMapper, 1, null, null, false,
+                config.isManifest(), config.getManifestIndexInterval())) {
+            sampler.writeTo(output);
+            logger.info("Wrote sample of {} issues in {} strata for project {}",
+                    sampler.size(), sampler.getStrataCount(), projectKey);
+        } catch (IOException e) {
+            logger.error("Failed to write sample for project {}", projectKey, e);
+        }
     }
 
     /**
-     * Get the output file for a project with chunk number.
+     * Save a checkpoint with chunk information and the sample so far, and bring the output's
+     * manifest up to date with it. Nothing is saved once the crawl is cancelled.
      */
-    private File getOutputFile(String projectKey, String baseTimestamp, int chunkNumber) {
-        String filename;
-        if (chunkNumber == 1) {
-            // First chunk doesn't have chunk suffix for backward compatibility
-            filename = String.format("%s_%s.jsonl", projectKey, baseTimestamp);
-        } else {
-            // Subsequent chunks have chunk number
-            filename = String.format("%s_%s_chunk_%03d.jsonl", projectKey, baseTimestamp, chunkNumber);
+    private void saveCheckpoint(String projectKey, String lastIssueKey, int startAt, String nextPageToken,
+                                int totalProcessed, ChunkedOutput output, StratifiedSampler sampler,
+                                BooleanSupplier cancelled) {
+        if (cancelled.getAsBoolean()) {
+            logger.warn("Not saving checkpoint for project {}: crawl was cancelled", projectKey);
+            return;
+        }
+        Checkpoint checkpoint = new Checkpoint(projectKey, lastIssueKey, startAt, totalProcessed,
+                output.getCurrentChunk(), output.getBaseTimestamp());
+        checkpoint.setSplitChunks(output.getSplitChunks());
+        checkpoint.setChunkTokens(output.getChunkTokens());
+        checkpoint.setNextPageToken(nextPageToken);
+        checkpoint.setUpdatedSince(apiClient.getUpdatedSince(projectKey));
+        if (sampler != null) {
+            checkpoint.setSample(sampler.records());
+        }
+        checkpointService.saveCheckpoint(checkpoint);
+        try {
+            output.writeManifest();
+        } catch (IOException e) {
+            logger.error("Failed to write output manifest for project {}", projectKey, e);
         }
-        return outputDir.resolve(filename).toFile();
+    }
+
+    /**
+     * Output series {@code {name}_{baseTimestamp}}, continuing the chunks of a checkpoint if
+     * one is given.
+     */
+    private ChunkedOutput newOutput(String name, String baseTimestamp, Checkpoint checkpoint) {
+        return new ChunkedOutput(outputDir, name, baseTimestamp, splitRouter, maxFileSizeBytes,
+                config.getMaxFileTokens(), objectMapper,
+                checkpoint != null ? checkpoint.getCurrentChunk() : 1,
+                checkpoint != null ? checkpoint.getSplitChunks() : null,
+                checkpoint != null ? checkpoint.getChunkTokens() : null, checkpoint != null,
+                config.isManifest(), config.getManifestIndexInterval());
+    }
+
+    /**
+     * Check if an exception is a response parsing error.
+     */
+    private boolean isParseError(Exception e) {
+        return e.getMessage() != null && e.getMessage().startsWith("Failed to parse JSON response");
+    }
+
+    /**
+     * Check if an exception was raised because the host's circuit breaker is open.
+     */
+    private boolean isCircuitOpenError(Exception e) {
+        return e instanceof CircuitOpenException;
     }
 
     /**
@@ -271,10 +1002,167 @@ public class JiraScraperService {
                message.contains("503") || message.contains("504");
     }
 
+    /**
+     * A page of search results. {@code consumed} is the number of result positions the page
+     * covers, which is larger than {@code issues.size()} when issues were quarantined.
+     * A negative {@code total} means it is unknown (token pagination, or no request in the
+     * page succeeded).
+     */
+    private static final class Page {
+        private final List<CompactIssue> issues;
+        private int total;
+        private int consumed;
+        private String nextPageToken;
+        private boolean hasMore;
+
+        private Page(List<CompactIssue> issues, int total, int consumed) {
+            this.issues = issues;
+            this.total = total;
+            this.consumed = consumed;
+        }
+    }
+
+    /**
+     * Lazily iterate over a project's transformed records without writing files or checkpoints.
+     * A page is only fetched when the records of the previous one have been consumed. Issues
+     * that cannot be transformed are skipped and recorded in the dead-letter queue; fetch
+     * errors are thrown as {@link UncheckedIOException}.
+     */
+    public Iterator<LLMTrainingData> iterate(String projectKey) {
+        return new RecordIterator(projectKey);
+    }
+
+    /**
+     * Pull-based stream over a project's transformed records; see {@link #iterate(String)}.
+     * Close the stream to release the project's scheduler share if it is not fully consumed.
+     */
+    public Stream<LLMTrainingData> stream(String projectKey) {
+        RecordIterator iterator = new RecordIterator(projectKey);
+        Spliterator<LLMTrainingData> spliterator = Spliterators.spliteratorUnknownSize(
+                iterator, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(iterator::close);
+    }
+
+    /**
+     * Reactive publisher of a project's transformed records with demand-driven page fetching;
+     * see {@link TrainingDataPublisher}. Every subscriber reads the project from the start.
+     */
+    public Flow.Publisher<LLMTrainingData> publish(String projectKey, Executor executor) {
+        return new TrainingDataPublisher(() -> new RecordIterator(projectKey), executor);
+    }
+
+    /**
+     * Iterator that fetches pages on demand, reusing the crawl's page sizing and parse-failure
+     * recovery. Closing it before the end drops the buffered records and releases the project's
+     * scheduler share.
+     */
+    private final class RecordIterator implements Iterator<LLMTrainingData>, AutoCloseable {
+        private final String projectKey;
+        private final AdaptivePageSizer pageSizer = new AdaptivePageSizer(config);
+        private final Deque<LLMTrainingData> buffer = new ArrayDeque<>();
+        private int startAt;
+        private String pageToken;
+        private boolean hasMore = true;
+
+        private RecordIterator(String projectKey) {
+            this.projectKey = projectKey;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (buffer.isEmpty() && hasMore) {
+                fetchNextPage();
+            }
+            return !buffer.isEmpty();
+        }
+
+        @Override
+        public LLMTrainingData next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return buffer.poll();
+        }
+
+        private void fetchNextPage() {
+            Page page;
+            try {
+                page = fetchPage(projectKey, startAt, pageToken, pageSizer);
+            } catch (IOException e) {
+                hasMore = false;
+                apiClient.getScheduler().unregister(projectKey);
+                throw new UncheckedIOException("Failed to fetch page at " + startAt + " for project " + projectKey, e);
+            }
+
+            if (page == null) {
+                hasMore = false;
+            } else {
+                for (CompactIssue issue : page.issues) {
+                    boolean processed;
+                    try {
+                        // Admitted against the heap budget like the crawl; the buffer sink does not throw
+                        processed = processIssue(issue, buffer::add);
+                    } catch (IOException e) {
+                        hasMore = false;
+                        apiClient.getScheduler().unregister(projectKey);
+                        throw new UncheckedIOException("Failed to process issue " + issue.key(), e);
+                    }
+                    if (!processed) {
+                        deadLetterService.record(DeadLetterEntry.forIssue(projectKey, issue.key(), "Transformation failed"));
+                    }
+                }
+                startAt += page.consumed;
+                pageToken = page.nextPageToken;
+                hasMore = page.hasMore;
+                if (page.total >= 0) {
+                    apiClient.getScheduler().updateRemaining(projectKey, page.total - startAt);
+                }
+            }
+
+            if (!hasMore) {
+                apiClient.getScheduler().unregister(projectKey);
+            }
+        }
+
+        @Override
+        public void close() {
+            hasMore = false;
+            buffer.clear();
+            apiClient.getScheduler().unregister(projectKey);
+        }
+    }
+
+    /**
+     * Close the open stream outputs, writing their manifests.
+     */
+    private synchronized void closeStreams() {
+        streamOutputs.forEach(this::closeStream);
+        streamOutputs.clear();
+    }
+
+    private void closeStream(String streamKey, ChunkedOutput output) {
+        try {
+            output.close();
+        } catch (IOException e) {
+            logger.error("Failed to close stream output {}", streamKey, e);
+        }
+    }
+
     /**
      * Close resources.
      */
     public void close() {
+        closeStreams();
+        if (duplicateDetector != null) {
+            logger.info("Near-duplicates {}: {} records, {} comments",
+                    duplicateDetector.getPolicy() == DedupPolicy.DROP ? "dropped" : "tagged",
+                    duplicateDetector.getDuplicateRecords(), duplicateDetector.getDuplicateComments());
+        }
+        if (statistics != null) {
+            writeStatistics();
+            logger.info("Statistics of {} issues ({} records) written to {}",
+                    statistics.getIssues(), statistics.getRecords(), statisticsFile);
+        }
         apiClient.close();
     }
 }
@@ -0,0 +1,149 @@
+package com.jirascraper.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Case-insensitive Aho-Corasick automaton over a fixed set of literals, compiled into a dense
+ * DFA so that each input character costs one table lookup.
+ *
+ * <p>Characters are folded to lower case and mapped to a compact alphabet of the characters that
+ * occur in the literals; every other character shares one class. Transitions are stored in one
+ * {@code int} array indexed by {@code state * alphabetSize + class}.
+ */
+final class MultiPatternMatcher {
+
+    private static final int[] NO_MATCHES = new int[0];
+
+    private final char[] classOf = new char[Character.MAX_VALUE + 1];
+    private final int alphabetSize;
+    private final int[] transitions;
+    private final int[][] matches;
+    private final int[] lengths;
+
+    /**
+     * @param literals non-empty literals; pattern ids are their indexes
+     */
+    MultiPatternMatcher(List<String> literals) {
+        // Alphabet of folded characters used by the literals; class 0 is every other character
+        int classes = 1;
+        for (String literal : literals) {
+            for (int i = 0; i < literal.length(); i++) {
+                char c = fold(literal.charAt(i));
+                if (classOf[c] == 0) {
+                    classOf[c] = (char) classes++;
+                }
+            }
+        }
+        alphabetSize = classes;
+
+        // Trie
+        List<int[]> gotoRows = new ArrayList<>();
+        List<int[]> output = new ArrayList<>();
+        gotoRows.add(newRow());
+        output.add(NO_MATCHES);
+        lengths = new int[literals.size()];
+        for (int id = 0; id < literals.size(); id++) {
+            String literal = literals.get(id);
+            if (literal.isEmpty()) {
+                throw new IllegalArgumentException("Empty pattern");
+            }
+            int state = 0;
+            for (int i = 0; i < literal.length(); i++) {
+                int c = classOf[fold(literal.charAt(i))];
+                int next = gotoRows.get(state)[c];
+                if (next < 0) {
+                    next = gotoRows.size();
+                    gotoRows.get(state)[c] = next;
+                    gotoRows.add(newRow());
+                    output.add(NO_MATCHES);
+                }
+                state = next;
+            }
+            output.set(state, append(output.get(state), id));
+            lengths[id] = literal.length();
+        }
+
+        // Failure links in breadth-first order, folded into a complete transition table
+        int states = gotoRows.size();
+        transitions = new int[states * alphabetSize];
+        matches = new int[states][];
+        int[] fail = new int[states];
+        int[] queue = new int[states];
+        int head = 0;
+        int tail = 0;
+        int[] root = gotoRows.get(0);
+        for (int c = 0; c < alphabetSize; c++) {
+            int next = root[c];
+            if (next > 0) {
+                fail[next] = 0;
+                queue[tail++] = next;
+                transitions[c] = next;
+            } else {
+                transitions[c] = 0;
+            }
+        }
+        matches[0] = output.get(0);
+        while (head < tail) {
+            int state = queue[head++];
+            matches[state] = output.get(state).length == 0 && matches[fail[state]].length == 0
+                    ? NO_MATCHES
+                    : concat(output.get(state), matches[fail[state]]);
+            int[] row = gotoRows.get(state);
+            for (int c = 0; c < alphabetSize; c++) {
+                int next = row[c];
+                if (next >= 0) {
+                    fail[next] = transitions[fail[state] * alphabetSize + c];
+                    queue[tail++] = next;
+                    transitions[state * alphabetSize + c] = next;
+                } else {
+                    transitions[state * alphabetSize + c] = transitions[fail[state] * alphabetSize + c];
+                }
+            }
+        }
+    }
+
+    static char fold(char c) {
+        if (c < 128) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + 32) : c;
+        }
+        return Character.toLowerCase(c);
+    }
+
+    /**
+     * State after reading {@code c} in {@code state}; the start state is 0.
+     */
+    int next(int state, char c) {
+        return transitions[state * alphabetSize + classOf[fold(c)]];
+    }
+
+    /**
+     * Ids of the literals ending at the character that led to {@code state}, empty if none.
+     */
+    int[] matches(int state) {
+        return matches[state];
+    }
+
+    int length(int id) {
+        return lengths[id];
+    }
+
+    private int[] newRow() {
+        int[] row = new int[alphabetSize];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    private static int[] append(int[] values, int value) {
+        int[] result = Arrays.copyOf(values, values.length + 1);
+        result[values.length] = value;
+        return result;
+    }
+
+    private static int[] concat(int[] a, int[] b) {
+        int[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+}
@@ -0,0 +1,340 @@
+package com.jirascraper.service;
+
+import com.jirascraper.config.ScraperConfig;
+import com.jirascraper.model.LLMTrainingData;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streaming near-duplicate detection for descriptions and comments with MinHash and
+ * locality-sensitive hashing.
+ *
+ * <p>Each text is reduced to a MinHash signature over its word 2-shingles. The signature is
+ * split into {@value #BANDS} bands of {@value #ROWS} rows, and a text becomes a candidate
+ * duplicate of an earlier one when any band matches. Candidates are confirmed by estimating the
+ * Jaccard similarity from stored 8-bit signatures. Texts that are not duplicates are indexed.
+ * Each indexed text remembers its issue, and never makes a later text of the same issue a
+ * duplicate, so an issue re-emitted by a refresh or a webhook update is not dropped as a copy of
+ * itself.
+ *
+ * <p>All state lives in primitive arrays sized from the capacity when the detector is created, so
+ * memory is fixed at about 114 bytes per indexed text (about 114 MB per million). The index is a
+ * sliding window: once full, the oldest texts are forgotten first. Texts shorter than
+ * {@value #MIN_WORDS} words are never considered duplicates.
+ */
+public final class NearDuplicateDetector {
+
+    static final int BANDS = 8;
+    static final int ROWS = 6;
+    private static final int HASHES = BANDS * ROWS;
+
+    private static final int SHINGLE_WORDS = 2;
+    private static final int MIN_WORDS = 5;
+
+    /** Slots per set of a band table; the oldest entry of a full set is replaced. */
+    private static final int WAYS = 4;
+
+    /** Chance that two unrelated 8-bit minima are equal, removed from the similarity estimate. */
+    private static final double BYTE_COLLISION = 1.0 / 256;
+
+    private static final long[] MULTIPLIERS = new long[HASHES];
+    private static final long[] ADDENDS = new long[HASHES];
+
+    static {
+        // Fixed seed: signatures must be comparable across runs and instances
+        SplittableRandom random = new SplittableRandom(0x5DEECE66DL);
+        for (int i = 0; i < HASHES; i++) {
+            MULTIPLIERS[i] = random.nextLong() | 1;
+            ADDENDS[i] = random.nextLong();
+        }
+    }
+
+    private final DedupPolicy policy;
+    private final double threshold;
+    private final int capacity;
+
+    private final byte[] signatures;
+    // Issue of each indexed text by signature slot, as a non-zero hash of its key; 0 for none
+    private final int[] owners;
+    private final int[][] bandKeys;
+    private final int[][] bandIds;
+    private final int setMask;
+    private int nextId = 1;
+
+    private final AtomicLong duplicateRecords = new AtomicLong();
+    private final AtomicLong duplicateComments = new AtomicLong();
+
+    /**
+     * @param threshold estimated Jaccard similarity of word shingles above which a text is a
+     *                  near-duplicate
+     * @param capacity  number of most recent texts kept in the index
+     */
+    public NearDuplicateDetector(DedupPolicy policy, double threshold, int capacity) {
+        this.policy = policy;
+        this.threshold = threshold;
+        this.capacity = capacity;
+        this.signatures = new byte[Math.multiplyExact(capacity, HASHES)];
+        this.owners = new int[capacity];
+
+        int slots = Math.max(WAYS, Integer.highestOneBit(Math.max(1, capacity - 1)) << 1);
+        this.bandKeys = new int[BANDS][slots];
+        this.bandIds = new int[BANDS][slots];
+        this.setMask = slots / WAYS - 1;
+    }
+
+    /**
+     * The detector configured by {@code --dedup}, or {@code null} if deduplication is off.
+     */
+    public static NearDuplicateDetector fromConfig(ScraperConfig config) {
+        if (config.getDedupPolicy() == null) {
+            return null;
+        }
+        return new NearDuplicateDetector(config.getDedupPolicy(), config.getDedupThreshold(), config.getDedupCapacity());
+    }
+
+    /**
+     * Wrap the sink of one issue's records so that near-duplicate descriptions and comments are
+     * dropped or tagged before the records reach it. A record whose description is a
+     * near-duplicate is dropped with all later parts of the issue. Comments repeated as context
+     * at the start of a continuation part keep the outcome of their first appearance.
+     */
+    public DataTransformationService.RecordSink filter(DataTransformationService.RecordSink sink) {
+        return new IssueFilter(sink);
+    }
+
+    /**
+     * Whether {@code text} is a near-duplicate of an indexed text; if not, it is indexed.
+     */
+    public boolean checkAndAdd(String text) {
+        return checkAndAdd(text, null);
+    }
+
+    /**
+     * Whether {@code text} is a near-duplicate of an indexed text of another issue; if not, it is
+     * indexed, unless it is already indexed for this issue.
+     */
+    public boolean checkAndAdd(String text, String issueKey) {
+        long[] minima = text != null ? minHash(text) : null;
+        if (minima == null) {
+            return false;
+        }
+        byte[] signature = new byte[HASHES];
+        for (int i = 0; i < HASHES; i++) {
+            signature[i] = (byte) minima[i];
+        }
+        long[] bandHashes = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            bandHashes[band] = bandHash(minima, band);
+        }
+
+        int owner = owner(issueKey);
+        synchronized (this) {
+            boolean indexed = false;
+            for (int band = 0; band < BANDS; band++) {
+                int set = ((int) bandHashes[band] & setMask) * WAYS;
+                int key = (int) (bandHashes[band] >>> 32);
+                for (int slot = set; slot < set + WAYS; slot++) {
+                    int id = bandIds[band][slot];
+                    if (isLive(id) && bandKeys[band][slot] == key && isSimilar(signature, id)) {
+                        if (owner == 0 || owners[id % capacity] != owner) {
+                            return true;
+                        }
+                        indexed = true; // An earlier version of this issue's own text
+                    }
+                }
+            }
+            if (!indexed) {
+                add(signature, bandHashes, owner);
+            }
+            return false;
+        }
+    }
+
+    public long getDuplicateRecords() {
+        return duplicateRecords.get();
+    }
+
+    public long getDuplicateComments() {
+        return duplicateComments.get();
+    }
+
+    public DedupPolicy getPolicy() {
+        return policy;
+    }
+
+    private void add(byte[] signature, long[] bandHashes, int owner) {
+        if (nextId == Integer.MAX_VALUE) {
+            // Ids are about to wrap; start over with an empty index
+            for (int band = 0; band < BANDS; band++) {
+                Arrays.fill(bandIds[band], 0);
+            }
+            nextId = 1;
+        }
+        int id = nextId++;
+        System.arraycopy(signature, 0, signatures, (id % capacity) * HASHES, HASHES);
+        owners[id % capacity] = owner;
+
+        for (int band = 0; band < BANDS; band++) {
+            int set = ((int) bandHashes[band] & setMask) * WAYS;
+            int victim = set;
+            for (int slot = set; slot < set + WAYS; slot++) {
+                int existing = bandIds[band][slot];
+                if (!isLive(existing)) {
+                    victim = slot;
+                    break;
+                }
+                if (existing < bandIds[band][victim]) {
+                    victim = slot;
+                }
+            }
+            bandKeys[band][victim] = (int) (bandHashes[band] >>> 32);
+            bandIds[band][victim] = id;
+        }
+    }
+
+    // 0 marks a text of no issue
+    private static int owner(String issueKey) {
+        if (issueKey == null) {
+            return 0;
+        }
+        int hash = issueKey.hashCode();
+        return hash != 0 ? hash : 1;
+    }
+
+    // Ids older than the last `capacity` texts have had their signature slot reused
+    private boolean isLive(int id) {
+        return id != 0 && nextId - id <= capacity;
+    }
+
+    private boolean isSimilar(byte[] signature, int id) {
+        int offset = (id % capacity) * HASHES;
+        int equal = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (signatures[offset + i] == signature[i]) {
+                equal++;
+            }
+        }
+        double estimate = ((double) equal / HASHES - BYTE_COLLISION) / (1 - BYTE_COLLISION);
+        return estimate >= threshold;
+    }
+
+    /**
+     * MinHash of the text's lower-cased word 2-shingles, or {@code null} if it is too short.
+     * The i-th minimum is over {@code (shingle * a_i + b_i) >>> 32}.
+     */
+    static long[] minHash(String text) {
+        long[] minima = null;
+        long previous = 0;
+        int words = 0;
+        int n = text.length();
+        int i = 0;
+        while (i < n) {
+            while (i < n && !Character.isLetterOrDigit(text.charAt(i))) {
+                i++;
+            }
+            if (i == n) {
+                break;
+            }
+            long word = Hashing.FNV_OFFSET_BASIS;
+            boolean digits = false;
+            while (i < n && Character.isLetterOrDigit(text.charAt(i))) {
+                char c = text.charAt(i);
+                digits |= Character.isDigit(c);
+                word = (word ^ Character.toLowerCase(c)) * Hashing.FNV_PRIME;
+                i++;
+            }
+            if (digits) {
+                // Build numbers, versions, dates and hashes all count as the same word
+                word = 0x2545f4914f6cdd1dL;
+            }
+            words++;
+            if (words >= SHINGLE_WORDS) {
+                if (minima == null) {
+                    minima = new long[HASHES];
+                    Arrays.fill(minima, Long.MAX_VALUE);
+                }
+                long shingle = Hashing.mix(Long.rotateLeft(previous, 21) ^ word);
+                for (int k = 0; k < HASHES; k++) {
+                    long value = (shingle * MULTIPLIERS[k] + ADDENDS[k]) >>> 32;
+                    if (value < minima[k]) {
+                        minima[k] = value;
+                    }
+                }
+            }
+            previous = word;
+        }
+        return words >= MIN_WORDS ? minima : null;
+    }
+
+    private static long bandHash(long[] minima, int band) {
+        long hash = (band + 1) * 0x9e3779b97f4a7c15L;
+        for (int row = 0; row < ROWS; row++) {
+            hash = Hashing.mix(hash ^ minima[band * ROWS + row]);
+        }
+        return hash;
+    }
+
+    /**
+     * Applies the policy to the records of one issue.
+     */
+    private final class IssueFilter implements DataTransformationService.RecordSink {
+        private final DataTransformationService.RecordSink sink;
+        private final Map<String, Boolean> seenComments = new HashMap<>();
+        private boolean dropped;
+
+        IssueFilter(DataTransformationService.RecordSink sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void accept(LLMTrainingData record) throws IOException {
+            if (dropped) {
+                return;
+            }
+
+            if (checkAndAdd(record.getDescription(), record.getIssueKey())) {
+                duplicateRecords.incrementAndGet();
+                if (policy == DedupPolicy.DROP) {
+                    dropped = true;
+                    return;
+                }
+                record.setNearDuplicate(true);
+            }
+
+            List<LLMTrainingData.CommentData> comments = record.getComments();
+            if (comments != null && !comments.isEmpty()) {
+                List<LLMTrainingData.CommentData> kept = new ArrayList<>(comments.size());
+                for (LLMTrainingData.CommentData comment : comments) {
+                    String key = comment.getCreated() + '\n' + comment.getAuthor() + '\n'
+                            + (comment.getBody() != null ? comment.getBody().length() : 0);
+                    Boolean duplicate = seenComments.get(key);
+                    if (duplicate == null) {
+                        duplicate = checkAndAdd(comment.getBody(), record.getIssueKey());
+                        seenComments.put(key, duplicate);
+                        if (duplicate) {
+                            duplicateComments.incrementAndGet();
+                        }
+                    }
+                    if (!duplicate) {
+                        kept.add(comment);
+                    } else if (policy == DedupPolicy.TAG) {
+                        comment.setNearDuplicate(true);
+                        kept.add(comment);
+                    }
+                }
+                if (kept.size() != comments.size()) {
+                    record.setComments(kept);
+                }
+            }
+
+            sink.accept(record);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.jirascraper.service;
+
+/**
+ * Kinds of personal or secret data removed from issue text by {@link PiiScrubber}.
+ */
+public enum PiiCategory {
+    /** E-mail addresses. */
+    EMAIL,
+    /** IPv4 and IPv6 addresses, except loopback and unspecified addresses. */
+    IP,
+    /** Host names under internal suffixes such as {@code .internal}, {@code .local} or {@code .corp}. */
+    HOSTNAME,
+    /**
+     * Credentials: cloud and SCM access tokens, JWTs, private key blocks, bearer tokens, URL
+     * passwords and values assigned to {@code password}, {@code token}, {@code secret} and similar keys.
+     */
+    SECRET,
+    /** File system paths under user home directories, as found in stack traces and logs. */
+    PATH,
+    /** Literal terms from a user-supplied list, such as customer or internal project names. */
+    TERM
+}
@@ -0,0 +1,118 @@
+package com.jirascraper.service;
+
+import com.jirascraper.client.JiraApiClient;
+import com.jirascraper.client.JiraApiException;
+import com.jirascraper.config.ScraperConfig;
+import com.jirascraper.model.CompactIssue;
+import com.jirascraper.model.JiraSearchResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plans how to fetch a set of projects so that small projects share requests.
+ *
+ * <p>A group of projects is probed with one {@code project in (...)} count query
+ * ({@code maxResults=0}). If the whole group fits in one page of {@code maxPageSize} results,
+ * that page is fetched and the group becomes a single batch. Otherwise the group is split in
+ * half and each half is probed again, until large projects are isolated and left to the regular
+ * per-project crawl. Groups that are too large cost only their count query.
+ */
+public class ProjectBatchPlanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProjectBatchPlanner.class);
+
+    private final JiraApiClient apiClient;
+    private final ScraperConfig config;
+
+    public ProjectBatchPlanner(JiraApiClient apiClient, ScraperConfig config) {
+        this.apiClient = apiClient;
+        this.config = config;
+    }
+
+    /**
+     * Split projects into prefetched batches and projects that need their own crawl.
+     */
+    public List<ProjectBatch> plan(List<String> projectKeys) {
+        List<ProjectBatch> batches = new ArrayList<>();
+        if (!projectKeys.isEmpty()) {
+            probe(projectKeys, batches);
+        }
+        return batches;
+    }
+
+    private void probe(List<String> group, List<ProjectBatch> batches) {
+        int capacity = config.getMaxPageSize();
+        String flowKey = JiraApiClient.batchFlowKey(group);
+        try {
+            JiraSearchResponse count = apiClient.searchProjects(
+                    group, 0, 0, config.getStartDate(), config.getEndDate());
+            if (count.getTotal() <= capacity) {
+                // Weighted like a crawl of the group's issues, so the fetch is not starved
+                apiClient.getScheduler().updateRemaining(flowKey, count.getTotal());
+                JiraSearchResponse response = apiClient.searchProjects(
+                        group, 0, capacity, config.getStartDate(), config.getEndDate());
+                List<CompactIssue> issues = response.getIssues() != null ? response.getIssues() : List.of();
+
+                // Issues created since the count may have pushed the group over the page
+                if (response.getTotal() <= issues.size()) {
+                    logger.info("Batched {} projects with {} issues into one request: {}",
+                            group.size(), issues.size(), group);
+                    batches.add(new ProjectBatch(group, issues));
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            // An unknown project key fails the whole query with 400; split to isolate it.
+            // Anything else (rate limit, server errors) falls back to individual crawls.
+            if (!(e instanceof JiraApiException) || ((JiraApiException) e).getStatusCode() != 400) {
+                logger.warn("Batch probe failed for {}: {}. Scraping these projects individually", group, e.getMessage());
+                for (String projectKey : group) {
+                    batches.add(new ProjectBatch(List.of(projectKey), null));
+                }
+                return;
+            }
+        } finally {
+            // All requests of the group are made here; the batch is written without any
+            apiClient.getScheduler().unregister(flowKey);
+        }
+
+        if (group.size() == 1) {
+            batches.add(new ProjectBatch(group, null));
+            return;
+        }
+
+        int half = group.size() / 2;
+        probe(group.subList(0, half), batches);
+        probe(group.subList(half, group.size()), batches);
+    }
+
+    /**
+     * A set of projects fetched together, or a single project that still needs its own crawl
+     * (when {@code issues} is null).
+     */
+    public static class ProjectBatch {
+        private final List<String> projectKeys;
+        private final List<CompactIssue> issues;
+
+        public ProjectBatch(List<String> projectKeys, List<CompactIssue> issues) {
+            this.projectKeys = new ArrayList<>(projectKeys);
+            this.issues = issues;
+        }
+
+        public List<String> getProjectKeys() {
+            return projectKeys;
+        }
+
+        public List<CompactIssue> getIssues() {
+            return issues;
+        }
+
+        public boolean isPrefetched() {
+            return issues != null;
+        }
+    }
+}
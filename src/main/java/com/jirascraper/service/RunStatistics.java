@@ -0,0 +1,459 @@
+package com.jirascraper.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.jirascraper.model.LLMTrainingData;
+import com.jirascraper.model.StatisticsReport;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Corpus statistics kept up to date as records are written: issue, record and comment counts,
+ * distinct reporters and assignees, quantiles of description and comment length, and histograms
+ * by status, issue type, priority and label.
+ *
+ * <p>Everything is a mergeable sketch updated without locks, so concurrent project crawls share
+ * one instance. Distinct counts come from HyperLogLog with 2^{@value #HLL_PRECISION} registers
+ * (about 0.8% standard error); lengths go into a log-bucketed quantile sketch whose quantiles are
+ * within 1% of the true value. Reports written by several shards or nodes merge into the same
+ * result as a single run over all of their records.
+ */
+public final class RunStatistics {
+
+    static final int HLL_PRECISION = 14;
+    private static final int HLL_REGISTERS = 1 << HLL_PRECISION;
+
+    /** Label of a histogram entry for records without the field. */
+    static final String NONE = "(none)";
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    private final LongAdder issues = new LongAdder();
+    private final LongAdder records = new LongAdder();
+    private final LongAdder comments = new LongAdder();
+    private final HyperLogLog reporters = new HyperLogLog();
+    private final HyperLogLog assignees = new HyperLogLog();
+    private final LengthSketch descriptionLength = new LengthSketch();
+    private final LengthSketch commentLength = new LengthSketch();
+    private final Map<String, LongAdder> status = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> issueType = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> priority = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> labels = new ConcurrentHashMap<>();
+
+    /**
+     * Wrap the sink of one issue's records so that each record is counted on its way to it.
+     * Issue fields and the description are counted once per issue, and comments repeated as
+     * context in a continuation part once per comment.
+     */
+    public DataTransformationService.RecordSink tally(DataTransformationService.RecordSink sink) {
+        return new DataTransformationService.RecordSink() {
+            private final Set<String> seenComments = new HashSet<>();
+
+            @Override
+            public void accept(LLMTrainingData record) throws IOException {
+                add(record, seenComments);
+                sink.accept(record);
+            }
+        };
+    }
+
+    private void add(LLMTrainingData record, Set<String> seenComments) {
+        records.increment();
+        if (record.getPart() == null || record.getPart() == 1) {
+            issues.increment();
+            reporters.add(record.getReporter());
+            assignees.add(record.getAssignee());
+            if (record.getDescription() != null) {
+                descriptionLength.add(record.getDescription().length());
+            }
+            increment(status, record.getStatus());
+            increment(issueType, record.getIssueType());
+            increment(priority, record.getPriority());
+            if (record.getLabels() != null) {
+                for (String label : record.getLabels()) {
+                    increment(labels, label);
+                }
+            }
+        }
+        if (record.getComments() != null) {
+            for (LLMTrainingData.CommentData comment : record.getComments()) {
+                int length = comment.getBody() != null ? comment.getBody().length() : 0;
+                if (record.getPart() == null
+                        || seenComments.add(comment.getCreated() + '\n' + comment.getAuthor() + '\n' + length)) {
+                    comments.increment();
+                    commentLength.add(length);
+                }
+            }
+        }
+    }
+
+    /**
+     * Add the statistics of {@code other} to these.
+     */
+    public void merge(RunStatistics other) {
+        issues.add(other.issues.sum());
+        records.add(other.records.sum());
+        comments.add(other.comments.sum());
+        reporters.merge(other.reporters);
+        assignees.merge(other.assignees);
+        descriptionLength.merge(other.descriptionLength);
+        commentLength.merge(other.commentLength);
+        merge(status, other.status);
+        merge(issueType, other.issueType);
+        merge(priority, other.priority);
+        merge(labels, other.labels);
+    }
+
+    public long getIssues() {
+        return issues.sum();
+    }
+
+    public long getRecords() {
+        return records.sum();
+    }
+
+    /**
+     * A snapshot of the statistics, with the sketches that make it mergeable. Updates that race
+     * with the snapshot may be in some of its figures and not yet in others.
+     */
+    public StatisticsReport toReport() {
+        StatisticsReport report = new StatisticsReport();
+        report.setGeneratedAt(LocalDateTime.now().toString());
+        report.setIssues(issues.sum());
+        report.setRecords(records.sum());
+        report.setComments(comments.sum());
+        report.setDistinctReporters(reporters.estimate());
+        report.setDistinctAssignees(assignees.estimate());
+        report.setDescriptionLength(descriptionLength.summary());
+        report.setCommentLength(commentLength.summary());
+        report.setStatus(histogram(status));
+        report.setIssueType(histogram(issueType));
+        report.setPriority(histogram(priority));
+        report.setLabels(histogram(labels));
+
+        StatisticsReport.Sketches sketches = new StatisticsReport.Sketches();
+        sketches.setReportersHll(reporters.encode());
+        sketches.setAssigneesHll(assignees.encode());
+        sketches.setDescriptionLength(descriptionLength.toSketch());
+        sketches.setCommentLength(commentLength.toSketch());
+        report.setSketches(sketches);
+        return report;
+    }
+
+    /**
+     * Statistics restored from a report written by {@link #toReport()}.
+     *
+     * @throws IllegalArgumentException if the report has no sketches or they are malformed
+     */
+    public static RunStatistics fromReport(StatisticsReport report) {
+        StatisticsReport.Sketches sketches = report.getSketches();
+        if (sketches == null) {
+            throw new IllegalArgumentException("Statistics report has no sketches to merge");
+        }
+        RunStatistics statistics = new RunStatistics();
+        statistics.issues.add(report.getIssues());
+        statistics.records.add(report.getRecords());
+        statistics.comments.add(report.getComments());
+        statistics.reporters.decode(sketches.getReportersHll());
+        statistics.assignees.decode(sketches.getAssigneesHll());
+        statistics.descriptionLength.fromSketch(sketches.getDescriptionLength());
+        statistics.commentLength.fromSketch(sketches.getCommentLength());
+        restore(statistics.status, report.getStatus());
+        restore(statistics.issueType, report.getIssueType());
+        restore(statistics.priority, report.getPriority());
+        restore(statistics.labels, report.getLabels());
+        return statistics;
+    }
+
+    /**
+     * Write the report to {@code file}, replacing it atomically so readers never see a partial
+     * report.
+     */
+    public void writeTo(Path file) throws IOException {
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        mapper().writeValue(tmp.toFile(), toReport());
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Statistics read from a report file.
+     *
+     * @throws IllegalArgumentException if the report has no sketches or they are malformed
+     */
+    public static RunStatistics readFrom(Path file) throws IOException {
+        return fromReport(mapper().readValue(file.toFile(), StatisticsReport.class));
+    }
+
+    /**
+     * Merge report files, and the {@code stats_*.json} reports in directories, into one.
+     */
+    public static RunStatistics mergeFiles(List<Path> paths) throws IOException {
+        RunStatistics merged = new RunStatistics();
+        for (Path path : paths) {
+            List<Path> files = new ArrayList<>();
+            if (Files.isDirectory(path)) {
+                try (var stream = Files.newDirectoryStream(path, "stats_*.json")) {
+                    stream.forEach(files::add);
+                }
+                files.sort(null);
+            } else {
+                files.add(path);
+            }
+            for (Path file : files) {
+                try {
+                    merged.merge(readFrom(file));
+                } catch (IllegalArgumentException e) {
+                    throw new IOException("Cannot merge " + file + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        return merged;
+    }
+
+    private static ObjectMapper mapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.enable(SerializationFeature.INDENT_OUTPUT);
+        return mapper;
+    }
+
+    private static void increment(Map<String, LongAdder> histogram, String label) {
+        String key = label != null ? label : NONE;
+        LongAdder count = histogram.get(key);
+        if (count == null) {
+            count = histogram.computeIfAbsent(key, k -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    private static void merge(Map<String, LongAdder> into, Map<String, LongAdder> from) {
+        from.forEach((label, count) -> into.computeIfAbsent(label, k -> new LongAdder()).add(count.sum()));
+    }
+
+    private static void restore(Map<String, LongAdder> into, Map<String, Long> from) {
+        if (from != null) {
+            from.forEach((label, count) -> into.computeIfAbsent(label, k -> new LongAdder()).add(count));
+        }
+    }
+
+    // Most frequent first, ties by label
+    private static Map<String, Long> histogram(Map<String, LongAdder> counts) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>();
+        counts.forEach((label, count) -> entries.add(Map.entry(label, count.sum())));
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (Map.Entry<String, Long> entry : entries) {
+            histogram.put(entry.getKey(), entry.getValue());
+        }
+        return histogram;
+    }
+
+    /**
+     * HyperLogLog distinct counter. Each register holds the longest run of leading zeros seen in
+     * its share of the hashes and only ever grows, so updates are a compare-and-set loop and
+     * merging is a register-wise maximum.
+     */
+    static final class HyperLogLog {
+        private final AtomicIntegerArray registers = new AtomicIntegerArray(HLL_REGISTERS);
+
+        /**
+         * Count {@code value}; {@code null} is not a value.
+         */
+        void add(String value) {
+            if (value == null) {
+                return;
+            }
+            long hash = Hashing.hash(value);
+            int index = (int) (hash >>> (64 - HLL_PRECISION));
+            int rank = Long.numberOfLeadingZeros((hash << HLL_PRECISION) | (1L << (HLL_PRECISION - 1))) + 1;
+            raise(index, rank);
+        }
+
+        void merge(HyperLogLog other) {
+            for (int i = 0; i < HLL_REGISTERS; i++) {
+                raise(i, other.registers.get(i));
+            }
+        }
+
+        long estimate() {
+            double sum = 0;
+            int zeros = 0;
+            for (int i = 0; i < HLL_REGISTERS; i++) {
+                int register = registers.get(i);
+                sum += Math.scalb(1.0, -register);
+                if (register == 0) {
+                    zeros++;
+                }
+            }
+            double m = HLL_REGISTERS;
+            double estimate = 0.7213 / (1 + 1.079 / m) * m * m / sum;
+            if (estimate <= 2.5 * m && zeros > 0) {
+                // Linear counting is more accurate while many registers are still empty
+                estimate = m * Math.log(m / zeros);
+            }
+            return Math.round(estimate);
+        }
+
+        String encode() {
+            byte[] bytes = new byte[HLL_REGISTERS];
+            for (int i = 0; i < HLL_REGISTERS; i++) {
+                bytes[i] = (byte) registers.get(i);
+            }
+            return Base64.getEncoder().encodeToString(bytes);
+        }
+
+        void decode(String encoded) {
+            if (encoded == null) {
+                return;
+            }
+            byte[] bytes = Base64.getDecoder().decode(encoded);
+            if (bytes.length != HLL_REGISTERS) {
+                throw new IllegalArgumentException("HyperLogLog sketch has " + bytes.length
+                        + " registers, expected " + HLL_REGISTERS);
+            }
+            for (int i = 0; i < HLL_REGISTERS; i++) {
+                raise(i, bytes[i]);
+            }
+        }
+
+        private void raise(int index, int rank) {
+            int current;
+            do {
+                current = registers.get(index);
+                if (rank <= current) {
+                    return;
+                }
+            } while (!registers.compareAndSet(index, current, rank));
+        }
+    }
+
+    /**
+     * Quantile sketch of non-negative lengths. A length {@code x >= 1} is counted in bucket
+     * {@code 1 + ceil(log(x) / log(GAMMA))} and 0 in bucket 0, and a bucket's value is reported
+     * as the point within 1% of every length in it. Buckets are fixed counters, so adding and
+     * merging are plain atomic additions and the sketch is the same whatever order lengths
+     * arrive in.
+     */
+    static final class LengthSketch {
+        private static final double ACCURACY = 0.01;
+        private static final double GAMMA = (1 + ACCURACY) / (1 - ACCURACY);
+        private static final double LOG_GAMMA = Math.log(GAMMA);
+        // Enough for any int length
+        private static final int BUCKETS = (int) Math.ceil(Math.log(Integer.MAX_VALUE) / LOG_GAMMA) + 2;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        private final LongAccumulator max = new LongAccumulator(Math::max, Long.MIN_VALUE);
+
+        void add(int length) {
+            buckets.incrementAndGet(bucket(length));
+            count.increment();
+            sum.add(length);
+            min.accumulate(length);
+            max.accumulate(length);
+        }
+
+        void merge(LengthSketch other) {
+            for (int i = 0; i < BUCKETS; i++) {
+                long bucketCount = other.buckets.get(i);
+                if (bucketCount != 0) {
+                    buckets.addAndGet(i, bucketCount);
+                }
+            }
+            count.add(other.count.sum());
+            sum.add(other.sum.sum());
+            min.accumulate(other.min.get());
+            max.accumulate(other.max.get());
+        }
+
+        StatisticsReport.LengthSummary summary() {
+            StatisticsReport.LengthSummary summary = new StatisticsReport.LengthSummary();
+            long total = count.sum();
+            summary.setCount(total);
+            if (total == 0) {
+                return summary;
+            }
+            long low = min.get();
+            long high = max.get();
+            summary.setMin(low);
+            summary.setMax(high);
+            summary.setMean((double) sum.sum() / total);
+
+            // Walk the buckets once, picking off each quantile's rank
+            long seen = 0;
+            int q = 0;
+            for (int i = 0; i < BUCKETS && q < QUANTILES.length; i++) {
+                seen += buckets.get(i);
+                while (q < QUANTILES.length && seen > (long) (QUANTILES[q] * (total - 1))) {
+                    long value = Math.max(low, Math.min(high, value(i)));
+                    summary.getQuantiles().put("p" + Math.round(QUANTILES[q] * 100), value);
+                    q++;
+                }
+            }
+            return summary;
+        }
+
+        StatisticsReport.LengthSketch toSketch() {
+            StatisticsReport.LengthSketch sketch = new StatisticsReport.LengthSketch();
+            for (int i = 0; i < BUCKETS; i++) {
+                long bucketCount = buckets.get(i);
+                if (bucketCount != 0) {
+                    sketch.getBuckets().put(i, bucketCount);
+                }
+            }
+            sketch.setSum(sum.sum());
+            if (count.sum() > 0) {
+                sketch.setMin(min.get());
+                sketch.setMax(max.get());
+            }
+            return sketch;
+        }
+
+        void fromSketch(StatisticsReport.LengthSketch sketch) {
+            if (sketch == null || sketch.getBuckets() == null) {
+                return;
+            }
+            long total = 0;
+            for (Map.Entry<Integer, Long> bucket : sketch.getBuckets().entrySet()) {
+                int index = bucket.getKey();
+                if (index < 0 || index >= BUCKETS || bucket.getValue() < 0) {
+                    throw new IllegalArgumentException("Length sketch has an invalid bucket " + index);
+                }
+                buckets.addAndGet(index, bucket.getValue());
+                total += bucket.getValue();
+            }
+            count.add(total);
+            sum.add(sketch.getSum());
+            if (total > 0) {
+                min.accumulate(sketch.getMin());
+                max.accumulate(sketch.getMax());
+            }
+        }
+
+        private static int bucket(int length) {
+            return length == 0 ? 0 : 1 + (int) Math.ceil(Math.log(length) / LOG_GAMMA);
+        }
+
+        // Within ACCURACY of every length in bucket i, (GAMMA^(i-2), GAMMA^(i-1)]
+        private static long value(int i) {
+            return i == 0 ? 0 : Math.round(2 * Math.pow(GAMMA, i - 1) / (GAMMA + 1));
+        }
+    }
+}
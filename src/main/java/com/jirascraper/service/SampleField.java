@@ -0,0 +1,29 @@
+package com.jirascraper.service;
+
+import com.jirascraper.model.LLMTrainingData;
+
+/**
+ * Classification labels that {@link StratifiedSampler} can stratify by, in addition to the project.
+ */
+public enum SampleField {
+    /** {@code issue_type}, such as Bug or Improvement. */
+    ISSUE_TYPE,
+    /** {@code priority}, such as Major or Minor. */
+    PRIORITY,
+    /** {@code status}, such as Open or Resolved. */
+    STATUS;
+
+    /**
+     * The label of this field, {@code null} if the issue has none.
+     */
+    public String value(LLMTrainingData.Classification classification) {
+        switch (this) {
+            case ISSUE_TYPE:
+                return classification.getIssueType();
+            case PRIORITY:
+                return classification.getPriority();
+            default:
+                return classification.getStatus();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.jirascraper.service;
+
+/**
+ * How text matched by {@link PiiScrubber} is replaced.
+ */
+public enum ScrubPolicy {
+    /** Replaced by the category in brackets, e.g. {@code [EMAIL]}. */
+    REDACT,
+    /** Every character replaced by {@code *}, keeping the length. */
+    MASK,
+    /**
+     * Replaced by the category and a short hash of the match, e.g. {@code [EMAIL:3fa9c2d1]}, so
+     * the same value is recognisable across records. The hash is unsalted and not an anonymisation
+     * of guessable values.
+     */
+    HASH,
+    /** Removed entirely. */
+    REMOVE
+}
@@ -0,0 +1,117 @@
+package com.jirascraper.service;
+
+import com.jirascraper.config.ScraperConfig;
+import com.jirascraper.model.LLMTrainingData;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Assigns each record to an output split, and optionally an issue-type shard, from the record
+ * alone.
+ *
+ * <p>The split is chosen by a stable hash of the issue key: the key's UTF-8 bytes are hashed with
+ * 64-bit FNV-1a, finished with the MurmurHash3 finalizer, and the top 53 bits are read as a
+ * position in [0, 1) that falls into one split's share of the cumulative weights. The position
+ * depends on nothing but the key, so every part of an issue, every rerun and every incremental
+ * sync puts the issue in the same split as long as the split names, order and weights stay the
+ * same.
+ */
+public final class SplitRouter {
+
+    private static final String UNKNOWN_ISSUE_TYPE = "unknown";
+
+    private final String[] names;
+    private final double[] upperBounds;
+    private final boolean shardByIssueType;
+
+    /**
+     * @param splits           relative weight of each split, in order; empty to route by issue type only
+     * @param shardByIssueType whether each split is further divided by issue type
+     */
+    public SplitRouter(Map<String, Double> splits, boolean shardByIssueType) {
+        this.names = splits.keySet().toArray(new String[0]);
+        this.upperBounds = new double[names.length];
+        this.shardByIssueType = shardByIssueType;
+
+        double total = 0;
+        for (double weight : splits.values()) {
+            total += weight;
+        }
+        double cumulative = 0;
+        for (int i = 0; i < names.length; i++) {
+            cumulative += splits.get(names[i]);
+            upperBounds[i] = cumulative / total;
+        }
+        if (names.length > 0) {
+            upperBounds[names.length - 1] = 1.0; // no gap at the top from rounding
+        }
+    }
+
+    /**
+     * The router configured by {@code --splits} and {@code --shard-by-issue-type}, or {@code null}
+     * if all records go to one series of files.
+     */
+    public static SplitRouter fromConfig(ScraperConfig config) {
+        if (config.getSplits().isEmpty() && !config.isShardByIssueType()) {
+            return null;
+        }
+        return new SplitRouter(config.getSplits(), config.isShardByIssueType());
+    }
+
+    /**
+     * Output directory of a record relative to the output root, such as {@code train} or
+     * {@code train/bug}.
+     */
+    public String route(LLMTrainingData record) {
+        String split = names.length > 0 ? split(record.getIssueKey()) : null;
+        if (!shardByIssueType) {
+            return split;
+        }
+        String shard = shardName(record.getIssueType());
+        return split != null ? split + "/" + shard : shard;
+    }
+
+    /**
+     * The split of an issue.
+     */
+    public String split(String issueKey) {
+        double position = position(issueKey);
+        for (int i = 0; i < names.length - 1; i++) {
+            if (position < upperBounds[i]) {
+                return names[i];
+            }
+        }
+        return names[names.length - 1];
+    }
+
+    /**
+     * Position of an issue key in [0, 1).
+     */
+    static double position(String issueKey) {
+        return (Hashing.hash(issueKey) >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * Directory name of an issue type: lower case, with runs of other characters than letters and
+     * digits replaced by a dash.
+     */
+    static String shardName(String issueType) {
+        if (issueType == null) {
+            return UNKNOWN_ISSUE_TYPE;
+        }
+        StringBuilder name = new StringBuilder(issueType.length());
+        for (int i = 0; i < issueType.length(); i++) {
+            char c = issueType.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                name.append(c);
+            } else if (name.length() > 0 && name.charAt(name.length() - 1) != '-') {
+                name.append('-');
+            }
+        }
+        if (name.length() > 0 && name.charAt(name.length() - 1) == '-') {
+            name.setLength(name.length() - 1);
+        }
+        return name.length() > 0 ? name.toString().toLowerCase(Locale.ROOT) : UNKNOWN_ISSUE_TYPE;
+    }
+}
@@ -0,0 +1,198 @@
+package com.jirascraper.service;
+
+import com.jirascraper.model.LLMTrainingData;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * Stratified sample of one project's issues, taken while its records stream past.
+ *
+ * <p>Issues are grouped into strata by the configured classification labels, and each stratum
+ * keeps a reservoir of at most {@code perStratum} issues with all their records. The reservoir
+ * keeps the issues with the lowest hash of their key, which is a uniform sample that does not
+ * depend on the order issues arrive in, so reruns and parallel crawls pick the same issues.
+ * Memory is bounded by the number of strata times {@code perStratum} issues, however many issues
+ * the project has. A crawl that is interrupted saves {@link #records()} with its checkpoint and the
+ * resumed crawl {@link #restore restores} them. Not thread-safe; each project crawl uses its own
+ * sampler.
+ */
+final class StratifiedSampler {
+
+    /**
+     * Mixed into the key hash so that the sample does not line up with the split positions of
+     * {@link SplitRouter}, which would put the whole sample in the first split.
+     */
+    private static final long SALT = 0x6a09e667f3bcc908L;
+
+    private final int perStratum;
+    private final List<SampleField> fields;
+    private final Map<String, PriorityQueue<Entry>> strata = new LinkedHashMap<>();
+    private long sequence;
+
+    /**
+     * @param perStratum issues kept per stratum
+     * @param fields     classification labels that, with the project, make up a stratum
+     */
+    StratifiedSampler(int perStratum, List<SampleField> fields) {
+        this.perStratum = perStratum;
+        this.fields = fields;
+    }
+
+    /**
+     * A sink for the records of one issue, which are kept if the issue is in its stratum's sample.
+     */
+    DataTransformationService.RecordSink issueSink() {
+        return new DataTransformationService.RecordSink() {
+            private Entry entry;
+            private boolean rejected;
+
+            @Override
+            public void accept(LLMTrainingData record) {
+                if (entry == null && !rejected) {
+                    entry = offer(record);
+                    rejected = entry == null;
+                }
+                if (entry != null) {
+                    entry.records.add(record);
+                }
+            }
+        };
+    }
+
+    /**
+     * Number of issues in the sample.
+     */
+    int size() {
+        int size = 0;
+        for (PriorityQueue<Entry> reservoir : strata.values()) {
+            size += reservoir.size();
+        }
+        return size;
+    }
+
+    int getStrataCount() {
+        return strata.size();
+    }
+
+    /**
+     * Write the sampled issues stratum by stratum, in the order they arrived within each stratum.
+     */
+    void writeTo(ChunkedOutput output) throws IOException {
+        for (Entry entry : entries()) {
+            DataTransformationService.RecordSink sink = output.issueSink();
+            for (LLMTrainingData record : entry.records) {
+                sink.accept(record);
+            }
+        }
+    }
+
+    /**
+     * The records of the sampled issues, in the order {@link #writeTo} writes them.
+     */
+    List<LLMTrainingData> records() {
+        List<LLMTrainingData> records = new ArrayList<>();
+        for (Entry entry : entries()) {
+            records.addAll(entry.records);
+        }
+        return records;
+    }
+
+    /**
+     * Offer the {@link #records()} of an interrupted crawl's sampler again. Ranks depend only on
+     * the issue keys, so this rebuilds the same reservoirs.
+     */
+    void restore(List<LLMTrainingData> records) {
+        Entry entry = null;
+        String issueKey = null;
+        for (int i = 0; i < records.size(); i++) {
+            LLMTrainingData record = records.get(i);
+            if (i == 0 || !Objects.equals(issueKey, record.getIssueKey())) {
+                entry = offer(record);
+                issueKey = record.getIssueKey();
+            }
+            if (entry != null) {
+                entry.records.add(record);
+            }
+        }
+    }
+
+    private List<Entry> entries() {
+        List<Entry> all = new ArrayList<>();
+        for (PriorityQueue<Entry> reservoir : strata.values()) {
+            List<Entry> entries = new ArrayList<>(reservoir);
+            entries.sort(Comparator.comparingLong(entry -> entry.sequence));
+            all.addAll(entries);
+        }
+        return all;
+    }
+
+    /**
+     * Add an issue to its stratum's reservoir if it ranks among the lowest hashes, evicting the
+     * highest one of a full reservoir.
+     *
+     * @return the issue's entry, {@code null} if it is not sampled
+     */
+    private Entry offer(LLMTrainingData record) {
+        PriorityQueue<Entry> reservoir = strata.computeIfAbsent(stratum(record),
+                key -> new PriorityQueue<>(Comparator.comparingLong((Entry entry) -> entry.rank).reversed()));
+        long rank = rank(record.getIssueKey());
+        if (reservoir.size() >= perStratum) {
+            if (rank >= reservoir.peek().rank) {
+                return null;
+            }
+            reservoir.poll();
+        }
+        Entry entry = new Entry(rank, sequence++);
+        reservoir.add(entry);
+        return entry;
+    }
+
+    private String stratum(LLMTrainingData record) {
+        LLMTrainingData.Classification classification = classification(record);
+        StringBuilder key = new StringBuilder(record.getProject() != null ? record.getProject() : "");
+        for (SampleField field : fields) {
+            key.append('\u0000').append(field.value(classification));
+        }
+        return key.toString();
+    }
+
+    /**
+     * The record's classification task, or the same labels from the record if no generator made one.
+     */
+    private static LLMTrainingData.Classification classification(LLMTrainingData record) {
+        if (record.getTasks() != null && record.getTasks().getClassification() != null) {
+            return record.getTasks().getClassification();
+        }
+        LLMTrainingData.Classification classification = new LLMTrainingData.Classification();
+        classification.setIssueType(record.getIssueType());
+        classification.setPriority(record.getPriority());
+        classification.setStatus(record.getStatus());
+        return classification;
+    }
+
+    // Salted key hash, made non-negative
+    private static long rank(String issueKey) {
+        return Hashing.hash(issueKey != null ? issueKey : "", SALT) >>> 1;
+    }
+
+    /**
+     * A sampled issue and its records.
+     */
+    private static final class Entry {
+        private final long rank;
+        private final long sequence;
+        private final List<LLMTrainingData> records = new ArrayList<>(1);
+
+        Entry(long rank, long sequence) {
+            this.rank = rank;
+            this.sequence = sequence;
+        }
+    }
+}
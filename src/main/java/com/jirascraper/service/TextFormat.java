@@ -0,0 +1,11 @@
+package com.jirascraper.service;
+
+/**
+ * How description and comment bodies are rendered in training records.
+ */
+public enum TextFormat {
+    /** Markup stripped and whitespace collapsed to single spaces. */
+    PLAIN,
+    /** Jira wiki markup converted to Markdown, with code block whitespace preserved. */
+    MARKDOWN
+}
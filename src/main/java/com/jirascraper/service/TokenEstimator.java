@@ -0,0 +1,242 @@
+package com.jirascraper.service;
+
+import com.jirascraper.model.LLMTrainingData;
+
+/**
+ * Fast estimate of the number of BPE tokens in a text, without a vocabulary file.
+ *
+ * <p>The text is split into pre-tokens with the rules of the {@code cl100k_base} tokenizer: a
+ * word takes one leading space or punctuation character, digits go in groups of three, runs of
+ * punctuation and of whitespace stay together, and the last space before a word joins the word.
+ * Each pre-token is then priced by what BPE merges typically leave of it: short words are one
+ * token, long words and every camel-case hump of an identifier add more, CJK characters are about
+ * a token each. Counts are estimates for budgeting, not exact tokenizer output.
+ *
+ * <p>One pass over the characters, with no allocation.
+ */
+public final class TokenEstimator {
+
+    private static final byte LETTER = 0;
+    private static final byte DIGIT = 1;
+    private static final byte SPACE = 2;
+    private static final byte NEWLINE = 3;
+    private static final byte OTHER = 4;
+
+    private static final byte[] ASCII_KINDS = new byte[128];
+
+    static {
+        for (int c = 0; c < 128; c++) {
+            if (Character.isLetter(c)) {
+                ASCII_KINDS[c] = LETTER;
+            } else if (c >= '0' && c <= '9') {
+                ASCII_KINDS[c] = DIGIT;
+            } else if (c == '\n' || c == '\r') {
+                ASCII_KINDS[c] = NEWLINE;
+            } else if (Character.isWhitespace(c)) {
+                ASCII_KINDS[c] = SPACE;
+            } else {
+                ASCII_KINDS[c] = OTHER;
+            }
+        }
+    }
+
+    private TokenEstimator() {
+    }
+
+    /**
+     * Estimated tokens in {@code text}; 0 for {@code null}.
+     */
+    public static int estimate(CharSequence text) {
+        return text != null ? (int) scan(text, Integer.MAX_VALUE) : 0;
+    }
+
+    /**
+     * Estimated tokens of a record's text: title, description and comment bodies. A count already
+     * set on the record is used as is.
+     */
+    public static int estimate(LLMTrainingData record) {
+        if (record.getTokenCount() != null) {
+            return record.getTokenCount();
+        }
+        int tokens = estimate(record.getTitle()) + estimate(record.getDescription());
+        if (record.getComments() != null) {
+            for (LLMTrainingData.CommentData comment : record.getComments()) {
+                tokens += comment.getTokenCount() != null ? comment.getTokenCount() : estimate(comment.getBody());
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Length of the longest prefix of {@code text} that ends between pre-tokens and has at most
+     * {@code maxTokens} estimated tokens; the length of the text if all of it fits.
+     */
+    public static int truncationIndex(CharSequence text, int maxTokens) {
+        return (int) (scan(text, Math.max(0, maxTokens)) >>> 32);
+    }
+
+    /**
+     * Price pre-tokens until the text ends or the next one would exceed the budget.
+     *
+     * @return the end of the last pre-token within budget in the high half, the tokens in the low
+     */
+    private static long scan(CharSequence text, int budget) {
+        int n = text.length();
+        long tokens = 0;
+        int i = 0;
+        while (i < n) {
+            long next = preToken(text, i, n);
+            int cost = (int) next;
+            if (tokens + cost > budget) {
+                break;
+            }
+            tokens += cost;
+            i = (int) (next >>> 32);
+        }
+        return ((long) i << 32) | tokens;
+    }
+
+    /**
+     * The pre-token starting at {@code i}.
+     *
+     * @return its end in the high half, its estimated tokens in the low
+     */
+    private static long preToken(CharSequence text, int i, int n) {
+        byte kind = kind(text.charAt(i));
+        byte following = i + 1 < n ? kind(text.charAt(i + 1)) : NEWLINE;
+
+        switch (kind) {
+            case LETTER:
+                return word(text, i, n);
+            case DIGIT: {
+                int end = i;
+                while (end < n && kind(text.charAt(end)) == DIGIT) {
+                    end++;
+                }
+                return packed(end, (end - i + 2) / 3);
+            }
+            case NEWLINE: {
+                int end = i;
+                while (end < n && isWhitespace(kind(text.charAt(end)))) {
+                    end++;
+                }
+                end = leaveSpaceForWord(text, i, end, n);
+                return packed(end, 1 + (end - i) / 16);
+            }
+            case SPACE: {
+                if (following == LETTER) {
+                    return word(text, i + 1, n);
+                }
+                if (following == OTHER) {
+                    return punctuation(text, i + 1, n);
+                }
+                int end = i;
+                while (end < n && isWhitespace(kind(text.charAt(end)))) {
+                    end++;
+                }
+                end = leaveSpaceForWord(text, i, end, n);
+                return packed(end, 1 + (end - i) / 16);
+            }
+            default:
+                if (following == LETTER) {
+                    return word(text, i + 1, n);
+                }
+                return punctuation(text, i, n);
+        }
+    }
+
+    /**
+     * A word from {@code from}, after any prefix character. Each camel-case hump is priced on its
+     * own; other scripts are priced per character.
+     */
+    private static long word(CharSequence text, int from, int n) {
+        int tokens = 0;
+        int hump = 0;
+        int wide = 0;
+        int other = 0;
+        boolean lower = false;
+        int end = from;
+        for (; end < n; end++) {
+            char c = text.charAt(end);
+            if (c < 128) {
+                if (ASCII_KINDS[c] != LETTER) {
+                    break;
+                }
+                boolean upper = c <= 'Z';
+                if (upper && lower) {
+                    tokens += humpTokens(hump);
+                    hump = 0;
+                }
+                lower = !upper;
+                hump++;
+            } else if (Character.isLetter(c)) {
+                if (isWide(c)) {
+                    wide++;
+                } else {
+                    other++;
+                }
+            } else {
+                break;
+            }
+        }
+        tokens += humpTokens(hump) + wide + (other + 1) / 2;
+        return packed(end, Math.max(1, tokens));
+    }
+
+    /**
+     * A run of punctuation and symbols with any line breaks after it.
+     */
+    private static long punctuation(CharSequence text, int from, int n) {
+        int end = from;
+        while (end < n && kind(text.charAt(end)) == OTHER) {
+            end++;
+        }
+        int length = end - from;
+        while (end < n && kind(text.charAt(end)) == NEWLINE) {
+            end++;
+        }
+        return packed(end, 1 + (length - 1) / 3);
+    }
+
+    private static int humpTokens(int length) {
+        if (length == 0) {
+            return 0;
+        }
+        return length <= 9 ? 1 : 1 + (length - 4) / 6;
+    }
+
+    // Like the tokenizer's \s+(?!\S): the last space before a word or symbol belongs to it
+    private static int leaveSpaceForWord(CharSequence text, int start, int end, int n) {
+        if (end < n && end - start > 1 && kind(text.charAt(end - 1)) == SPACE) {
+            return end - 1;
+        }
+        return end;
+    }
+
+    private static boolean isWhitespace(byte kind) {
+        return kind == SPACE || kind == NEWLINE;
+    }
+
+    private static byte kind(char c) {
+        if (c < 128) {
+            return ASCII_KINDS[c];
+        }
+        if (Character.isLetter(c)) {
+            return LETTER;
+        }
+        if (Character.isDigit(c)) {
+            return DIGIT;
+        }
+        return Character.isWhitespace(c) ? SPACE : OTHER;
+    }
+
+    // Han, kana and Hangul: BPE vocabularies rarely merge these beyond one character
+    private static boolean isWide(char c) {
+        return (c >= '\u3040' && c <= '\u30ff') || (c >= '\u3400' && c <= '\u9fff')
+                || (c >= '\uac00' && c <= '\ud7af') || (c >= '\uf900' && c <= '\ufaff');
+    }
+
+    private static long packed(int end, int tokens) {
+        return ((long) end << 32) | tokens;
+    }
+}
@@ -0,0 +1,133 @@
+package com.jirascraper.service;
+
+import com.jirascraper.model.LLMTrainingData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * {@link Flow.Publisher} over a lazily paging record iterator. Each subscriber gets its own
+ * iterator, and records are only pulled from it while the subscriber has outstanding demand,
+ * so pages are fetched from Jira no faster than the subscriber consumes them.
+ *
+ * <p>Signals are delivered on the given executor, one drain loop at a time per subscription.
+ * Page fetching blocks on the rate limiter and the network, so the executor should not be
+ * the common fork-join pool. An iterator that is {@link AutoCloseable} is closed when the
+ * subscription completes, fails or is cancelled.
+ */
+public class TrainingDataPublisher implements Flow.Publisher<LLMTrainingData> {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrainingDataPublisher.class);
+
+    private final Supplier<Iterator<LLMTrainingData>> source;
+    private final Executor executor;
+
+    public TrainingDataPublisher(Supplier<Iterator<LLMTrainingData>> source, Executor executor) {
+        this.source = source;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super LLMTrainingData> subscriber) {
+        IteratorSubscription subscription = new IteratorSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    private final class IteratorSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super LLMTrainingData> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger pendingDrains = new AtomicInteger();
+        private final AtomicBoolean done = new AtomicBoolean();
+        private Iterator<LLMTrainingData> iterator;
+        private Throwable invalidRequest;
+
+        private IteratorSubscription(Flow.Subscriber<? super LLMTrainingData> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("Requested " + n + " records; demand must be positive");
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            scheduleDrain();
+        }
+
+        @Override
+        public void cancel() {
+            done.set(true);
+            // The iterator is released by the drain loop, which is the only one to touch it
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (pendingDrains.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        /**
+         * Emit records while there is demand. Only one drain runs at a time; requests made
+         * while it runs are picked up before it exits.
+         */
+        private void drain() {
+            int missed = 1;
+            do {
+                try {
+                    if (invalidRequest != null) {
+                        terminate(invalidRequest);
+                    }
+                    if (iterator == null && !done.get()) {
+                        iterator = source.get();
+                    }
+                    while (!done.get() && demand.get() > 0) {
+                        if (!iterator.hasNext()) {
+                            if (done.compareAndSet(false, true)) {
+                                subscriber.onComplete();
+                            }
+                            break;
+                        }
+                        subscriber.onNext(iterator.next());
+                        demand.decrementAndGet();
+                    }
+                } catch (RuntimeException e) {
+                    logger.error("Record stream failed: {}", e.getMessage(), e);
+                    terminate(e);
+                }
+                if (done.get()) {
+                    release();
+                }
+                missed = pendingDrains.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /**
+         * Close the iterator of a finished subscription and drop it.
+         */
+        private void release() {
+            if (iterator instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) iterator).close();
+                } catch (Exception e) {
+                    logger.warn("Failed to close record iterator: {}", e.getMessage());
+                }
+            }
+            iterator = null;
+        }
+
+        private void terminate(Throwable error) {
+            if (done.compareAndSet(false, true)) {
+                subscriber.onError(error);
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.jirascraper.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.jirascraper.config.ScraperConfig;
+import com.jirascraper.model.CompactIssue;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embedded HTTP listener for Jira webhooks, for near-real-time ingestion without polling.
+ *
+ * <p>Issue created/updated events carry the full issue and are transformed directly. Comment
+ * events only carry a partial issue, so the issue is fetched once to get the whole comment
+ * thread; if that fails the payload issue is used with the pushed comment. Deletions are
+ * acknowledged and ignored. Records are appended through {@link JiraScraperService#ingestIssue}.
+ *
+ * <p>Events are handled one at a time, in arrival order. When a secret is configured, the
+ * webhook URL must carry it as a {@code secret} query parameter.
+ */
+public class WebhookService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebhookService.class);
+
+    private static final Set<String> ISSUE_EVENTS = Set.of("jira:issue_created", "jira:issue_updated");
+    private static final Set<String> COMMENT_EVENTS = Set.of("comment_created", "comment_updated");
+
+    private final JiraScraperService scraperService;
+    private final ObjectMapper objectMapper;
+    private final int port;
+    private final String secret;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public WebhookService(ScraperConfig config, JiraScraperService scraperService) {
+        this.scraperService = scraperService;
+        this.port = config.getWebhookPort();
+        this.secret = config.getWebhookSecret();
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.registerModule(new JavaTimeModule());
+    }
+
+    /**
+     * Start listening on {@code /webhook}.
+     */
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext("/webhook", this::handle);
+        executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "webhook"));
+        server.setExecutor(executor);
+        server.start();
+        logger.info("Webhook receiver listening on port {} at /webhook", server.getAddress().getPort());
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(1);
+            executor.shutdown();
+            logger.info("Webhook receiver stopped");
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, "POST required");
+                return;
+            }
+            if (secret != null && !isSecret(queryParameter(exchange, "secret"))) {
+                respond(exchange, 403, "Invalid secret");
+                return;
+            }
+
+            JsonNode payload;
+            try (InputStream body = exchange.getRequestBody()) {
+                payload = objectMapper.readTree(body);
+            } catch (IOException e) {
+                respond(exchange, 400, "Malformed JSON: " + e.getMessage());
+                return;
+            }
+
+            String event = payload.path("webhookEvent").asText();
+            JsonNode issueNode = payload.get("issue");
+
+            if (!ISSUE_EVENTS.contains(event) && !COMMENT_EVENTS.contains(event)) {
+                logger.debug("Ignoring webhook event {}", event);
+                respond(exchange, 204, null);
+                return;
+            }
+            if (issueNode == null || !issueNode.hasNonNull("key")) {
+                respond(exchange, 400, "Event " + event + " has no issue");
+                return;
+            }
+
+            CompactIssue issue = objectMapper.treeToValue(issueNode, CompactIssue.class);
+            if (COMMENT_EVENTS.contains(event)) {
+                issue = withComments(issue, payload.get("comment"));
+            }
+
+            logger.info("Webhook {} for issue {}", event, issue.key());
+            if (scraperService.ingestIssue(issue)) {
+                respond(exchange, 204, null);
+            } else {
+                respond(exchange, 500, "Issue " + issue.key() + " could not be ingested");
+            }
+        } catch (Exception e) {
+            logger.error("Failed to handle webhook: {}", e.getMessage(), e);
+            respond(exchange, 500, e.getMessage());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Full issue with its comment thread for a comment event, falling back to the payload
+     * issue with the pushed comment if the issue cannot be fetched.
+     */
+    private CompactIssue withComments(CompactIssue issue, JsonNode commentNode) throws IOException {
+        try {
+            CompactIssue fetched = scraperService.fetchIssue(issue.key());
+            if (fetched != null) {
+                return fetched;
+            }
+        } catch (IOException e) {
+            logger.warn("Could not fetch issue {} for comment event, using webhook payload: {}",
+                    issue.key(), e.getMessage());
+        }
+
+        if (commentNode != null) {
+            issue = issue.withComment(objectMapper.treeToValue(commentNode, CompactIssue.Comment.class));
+        }
+        return issue;
+    }
+
+    private static String queryParameter(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq >= 0 ? pair.substring(0, eq) : pair;
+            if (key.equals(name)) {
+                return eq >= 0 ? URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8) : "";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Compare in constant time, so that response timing does not reveal how much of a guess matched.
+     */
+    private boolean isSecret(String candidate) {
+        return candidate != null && MessageDigest.isEqual(secret.getBytes(StandardCharsets.UTF_8),
+                candidate.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void respond(HttpExchange exchange, int status, String message) throws IOException {
+        if (message == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        byte[] body = message.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,605 @@
+package com.jirascraper.service;
+
+import java.util.Set;
+
+/**
+ * Single-pass converter from Jira wiki markup, the format of API v2 descriptions and comments,
+ * to Markdown.
+ *
+ * <p>{@code {code}} and {@code {noformat}} blocks become fenced blocks with their content copied
+ * verbatim, so indentation and blank lines survive. Outside code, runs of spaces are collapsed
+ * and at most one blank line is kept. Converted markup:
+ * <pre>
+ *   h1. Title            # Title
+ *   * item / # item      - item / 1. item (nested by marker depth)
+ *   bq. text, {quote}    &gt; text
+ *   *bold* _italic_      **bold** *italic*
+ *   -strike- +under+     ~~strike~~ under
+ *   {{mono}}             `mono`
+ *   [text|url], [url]    [text](url), &lt;url&gt;
+ *   [~user]              &#64;user
+ *   !image.png|thumb!    ![](image.png)
+ *   ||h||h|| / |c|c|     | h | h | / | c | c |
+ *   ----                 ---
+ * </pre>
+ * Formatting-only macros such as {@code {color}} and {@code {panel}} are dropped, keeping their
+ * content. Anything else is copied as text.
+ */
+public final class WikiMarkupConverter {
+
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private static final int MAX_NESTING = 8;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+    private static final String ESCAPABLE = "*_-+^~?{}[]!|#\\";
+
+    private static final Set<String> DROPPED_MACROS = Set.of("color", "panel", "section", "column", "anchor", "toc");
+
+    private WikiMarkupConverter() {
+    }
+
+    /**
+     * Convert wiki markup to Markdown.
+     */
+    public static String toMarkdown(String wiki) {
+        if (wiki == null || wiki.isEmpty()) {
+            return "";
+        }
+
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        try {
+            convert(wiki, 0, wiki.length(), out);
+            return trimmedResult(out);
+        } finally {
+            if (out.capacity() > MAX_RETAINED_CAPACITY) {
+                BUFFER.remove();
+            }
+        }
+    }
+
+    private static void convert(String s, int from, int to, StringBuilder out) {
+        // Pending inline closers: where each one is in the input and what it becomes
+        int[] closeAt = new int[MAX_NESTING];
+        String[] closeMark = new String[MAX_NESTING];
+        int depth = 0;
+
+        boolean lineStart = true;
+        boolean tableRow = false;
+        int headerCells = 0;
+        int i = from;
+
+        while (i < to) {
+            if (lineStart) {
+                lineStart = false;
+                i = skipBlanks(s, i, to);
+                i = lineMarkup(s, i, to, out);
+                if (i < to && s.charAt(i) == '|') {
+                    tableRow = true;
+                    headerCells = s.startsWith("||", i) ? countHeaderCells(s, i, to) : 0;
+                    out.append("| ");
+                    i += headerCells > 0 ? 2 : 1;
+                }
+                continue;
+            }
+
+            if (depth > 0 && i >= closeAt[depth - 1]) {
+                depth--;
+                out.append(closeMark[depth]);
+                if (i == closeAt[depth]) {
+                    i++;
+                }
+                continue;
+            }
+
+            char c = s.charAt(i);
+            switch (c) {
+                case '\n':
+                    while (depth > 0) {
+                        out.append(closeMark[--depth]);
+                    }
+                    endTableRow(out, tableRow, headerCells);
+                    tableRow = false;
+                    headerCells = 0;
+                    newline(out);
+                    lineStart = true;
+                    i++;
+                    continue;
+                case '\r':
+                    i++;
+                    continue;
+                case '{': {
+                    int next = s.startsWith("{{", i) ? monospace(s, i, to, out) : macro(s, i, to, out);
+                    if (next > i) {
+                        // Block macros end with a newline of their own
+                        lineStart = out.length() > 0 && out.charAt(out.length() - 1) == '\n';
+                        i = next;
+                        continue;
+                    }
+                    break;
+                }
+                case '[': {
+                    int next = link(s, i, from, to, out);
+                    if (next > i) {
+                        i = next;
+                        continue;
+                    }
+                    break;
+                }
+                case '!': {
+                    int next = image(s, i, from, to, out);
+                    if (next > i) {
+                        i = next;
+                        continue;
+                    }
+                    break;
+                }
+                case '\\':
+                    if (i + 1 < to && s.charAt(i + 1) == '\\') {
+                        trimTrailingSpaces(out);
+                        out.append('\n');
+                        i += 2;
+                        continue;
+                    }
+                    if (i + 1 < to && ESCAPABLE.indexOf(s.charAt(i + 1)) >= 0) {
+                        // Escaped character, never markup
+                        out.append(s.charAt(i + 1));
+                        i += 2;
+                        continue;
+                    }
+                    break;
+                case '|':
+                    if (tableRow) {
+                        cellSeparator(out);
+                        i += s.startsWith("||", i) ? 2 : 1;
+                        continue;
+                    }
+                    break;
+                case '*':
+                case '_':
+                case '-':
+                case '+': {
+                    int limit = depth > 0 ? closeAt[depth - 1] : to;
+                    int close = depth < MAX_NESTING ? emphasisEnd(s, i, from, limit) : -1;
+                    if (close > 0) {
+                        String mark = emphasisMark(c);
+                        out.append(mark);
+                        closeAt[depth] = close;
+                        closeMark[depth] = mark;
+                        depth++;
+                        i++;
+                        continue;
+                    }
+                    break;
+                }
+                default:
+                    break;
+            }
+
+            if (isWhitespace(c)) {
+                appendSpace(out);
+            } else {
+                out.append(c);
+            }
+            i++;
+        }
+
+        while (depth > 0) {
+            out.append(closeMark[--depth]);
+        }
+        endTableRow(out, tableRow, headerCells);
+    }
+
+    /**
+     * Convert a heading, list item, {@code bq.} or horizontal rule marker at the start of a line.
+     *
+     * @return index after the marker, or {@code start} if there is none
+     */
+    private static int lineMarkup(String s, int start, int to, StringBuilder out) {
+        if (start + 2 < to && s.charAt(start) == 'h' && s.charAt(start + 1) >= '1' && s.charAt(start + 1) <= '6'
+                && s.charAt(start + 2) == '.' && (start + 3 == to || isWhitespace(s.charAt(start + 3)))) {
+            int level = s.charAt(start + 1) - '0';
+            for (int k = 0; k < level; k++) {
+                out.append('#');
+            }
+            out.append(' ');
+            return skipBlanks(s, start + 3, to);
+        }
+
+        if (s.startsWith("bq. ", start)) {
+            out.append("> ");
+            return skipBlanks(s, start + 4, to);
+        }
+
+        if (s.startsWith("----", start)) {
+            int end = start + 4;
+            while (end < to && s.charAt(end) == '-') {
+                end++;
+            }
+            if (skipBlanks(s, end, to) == lineEnd(s, end, to)) {
+                // A blank line first, or Markdown reads the previous line as a heading
+                newline(out);
+                out.append("---");
+                return lineEnd(s, end, to);
+            }
+            return start;
+        }
+
+        int end = start;
+        boolean dash = false;
+        while (end < to && (s.charAt(end) == '*' || s.charAt(end) == '#' || s.charAt(end) == '-')) {
+            dash |= s.charAt(end) == '-';
+            end++;
+        }
+        int markers = end - start;
+        if (markers == 0 || end >= to || s.charAt(end) != ' ' || (dash && markers > 1)) {
+            return start;
+        }
+        for (int k = 1; k < markers; k++) {
+            out.append("  ");
+        }
+        out.append(s.charAt(end - 1) == '#' ? "1. " : "- ");
+        return skipBlanks(s, end, to);
+    }
+
+    /**
+     * Convert {@code {{monospace}}} on one line.
+     *
+     * @return index after it, or {@code start} if it is not closed on the same line
+     */
+    private static int monospace(String s, int start, int to, StringBuilder out) {
+        int close = s.indexOf("}}", start + 2);
+        if (close < 0 || close + 2 > to || close == start + 2 || lineEnd(s, start, to) < close) {
+            return start;
+        }
+        out.append('`').append(s, start + 2, close).append('`');
+        return close + 2;
+    }
+
+    /**
+     * Convert a {@code {name[:params]}} macro.
+     *
+     * @return index after the macro (and its body, for block macros), or {@code start} if it is
+     *         not one the converter knows
+     */
+    private static int macro(String s, int start, int to, StringBuilder out) {
+        int close = s.indexOf('}', start + 1);
+        if (close < 0 || close >= to) {
+            return start;
+        }
+        int nameEnd = start + 1;
+        while (nameEnd < close && isAsciiLetter(s.charAt(nameEnd))) {
+            nameEnd++;
+        }
+        if (nameEnd == start + 1 || (nameEnd < close && s.charAt(nameEnd) != ':')) {
+            return start;
+        }
+        String name = s.substring(start + 1, nameEnd).toLowerCase();
+
+        if (name.equals("code") || name.equals("noformat")) {
+            String language = name.equals("code") && nameEnd < close ? language(s, nameEnd + 1, close) : "";
+            int end = indexOf(s, "{" + name + "}", close + 1, to);
+            codeBlock(s, close + 1, end < 0 ? to : end, language, out);
+            return end < 0 ? to : end + name.length() + 2;
+        }
+        if (name.equals("quote")) {
+            int end = indexOf(s, "{quote}", close + 1, to);
+            quoteBlock(s, close + 1, end < 0 ? to : end, out);
+            return end < 0 ? to : end + 7;
+        }
+        if (DROPPED_MACROS.contains(name)) {
+            return close + 1;
+        }
+        return start;
+    }
+
+    /**
+     * Language of a {@code {code}} macro: its first parameter without a value, or the value of
+     * {@code language}.
+     */
+    private static String language(String s, int from, int to) {
+        int i = from;
+        while (i < to) {
+            int end = s.indexOf('|', i);
+            if (end < 0 || end > to) {
+                end = to;
+            }
+            int eq = s.indexOf('=', i);
+            if (eq < 0 || eq >= end) {
+                return sanitizedLanguage(s.substring(i, end));
+            }
+            if (s.regionMatches(true, i, "language", 0, eq - i) && eq - i == 8) {
+                return sanitizedLanguage(s.substring(eq + 1, end));
+            }
+            i = end + 1;
+        }
+        return "";
+    }
+
+    private static String sanitizedLanguage(String language) {
+        String trimmed = language.trim();
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '+' && c != '#' && c != '-') {
+                return "";
+            }
+        }
+        return trimmed.toLowerCase();
+    }
+
+    /**
+     * Emit a fenced block with the content copied verbatim, minus the line breaks directly
+     * inside the macro tags.
+     */
+    private static void codeBlock(String s, int from, int to, String language, StringBuilder out) {
+        int start = from;
+        if (start < to && s.charAt(start) == '\r') {
+            start++;
+        }
+        if (start < to && s.charAt(start) == '\n') {
+            start++;
+        }
+        int end = to;
+        while (end > start && (s.charAt(end - 1) == '\n' || s.charAt(end - 1) == '\r')) {
+            end--;
+        }
+
+        startLine(out);
+        out.append("```").append(language).append('\n');
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c != '\r') {
+                out.append(c);
+            }
+        }
+        out.append("\n```\n");
+    }
+
+    /**
+     * Emit a {@code {quote}} body, converted on its own, with each line prefixed by {@code >}.
+     */
+    private static void quoteBlock(String s, int from, int to, StringBuilder out) {
+        StringBuilder quoted = new StringBuilder(to - from + 16);
+        convert(s, from, to, quoted);
+        int length = quoted.length();
+        while (length > 0 && (quoted.charAt(length - 1) == '\n' || quoted.charAt(length - 1) == ' ')) {
+            length--;
+        }
+
+        startLine(out);
+        int lineStart = 0;
+        while (lineStart < length) {
+            int lineEnd = quoted.indexOf("\n", lineStart);
+            if (lineEnd < 0 || lineEnd > length) {
+                lineEnd = length;
+            }
+            out.append(lineEnd > lineStart ? "> " : ">").append(quoted, lineStart, lineEnd).append('\n');
+            lineStart = lineEnd + 1;
+        }
+    }
+
+    /**
+     * Convert {@code [text|url]}, {@code [url]}, {@code [~user]} or {@code [KEY-1]}.
+     *
+     * @return index after the link, or {@code start} if it is not one
+     */
+    private static int link(String s, int start, int from, int to, StringBuilder out) {
+        if (!isBoundary(s, start, from)) {
+            return start;
+        }
+        int close = s.indexOf(']', start + 1);
+        if (close < 0 || close >= to || close == start + 1 || lineEnd(s, start, to) < close) {
+            return start;
+        }
+
+        int pipe = s.indexOf('|', start + 1);
+        if (pipe > 0 && pipe < close) {
+            if (pipe == start + 1) {
+                out.append('<').append(s, pipe + 1, close).append('>');
+            } else {
+                out.append('[').append(s, start + 1, pipe).append("](").append(s, pipe + 1, close).append(')');
+            }
+        } else if (s.charAt(start + 1) == '~') {
+            out.append('@').append(s, start + 2, close);
+        } else if (s.charAt(start + 1) == '^') {
+            out.append(s, start + 2, close);
+        } else if (indexOf(s, "://", start + 1, close) > 0 || s.startsWith("mailto:", start + 1)) {
+            out.append('<').append(s, start + 1, close).append('>');
+        } else {
+            out.append(s, start + 1, close);
+        }
+        return close + 1;
+    }
+
+    /**
+     * Convert {@code !file!} or {@code !file|params!}.
+     *
+     * @return index after the image, or {@code start} if it is not one
+     */
+    private static int image(String s, int start, int from, int to, StringBuilder out) {
+        if (!isBoundary(s, start, from)) {
+            return start;
+        }
+        int end = start + 1;
+        int nameEnd = -1;
+        while (end < to && s.charAt(end) != '!' && !isWhitespace(s.charAt(end))) {
+            if (s.charAt(end) == '|' && nameEnd < 0) {
+                nameEnd = end;
+            }
+            end++;
+        }
+        if (end >= to || s.charAt(end) != '!' || end == start + 1) {
+            return start;
+        }
+        if (nameEnd < 0) {
+            nameEnd = end;
+        }
+        if (indexOf(s, ".", start + 1, nameEnd) < 0) {
+            return start;
+        }
+        out.append("![](").append(s, start + 1, nameEnd).append(')');
+        return end + 1;
+    }
+
+    /**
+     * Index of the closing marker for an emphasis opener at {@code start}: the same character,
+     * later on the same line and before {@code limit}, not preceded by whitespace and not followed
+     * by a letter or digit.
+     *
+     * @return the closer's index, or -1 if {@code start} does not open emphasis
+     */
+    private static int emphasisEnd(String s, int start, int from, int limit) {
+        char marker = s.charAt(start);
+        if (!isBoundary(s, start, from) || start + 1 >= limit) {
+            return -1;
+        }
+        char next = s.charAt(start + 1);
+        if (next == marker || isWhitespace(next)) {
+            return -1;
+        }
+        for (int j = start + 2; j < limit; j++) {
+            char c = s.charAt(j);
+            if (c == '\n') {
+                return -1;
+            }
+            if (c == marker && !isWhitespace(s.charAt(j - 1))
+                    && (j + 1 >= s.length() || !Character.isLetterOrDigit(s.charAt(j + 1)))) {
+                return j;
+            }
+        }
+        return -1;
+    }
+
+    private static String emphasisMark(char marker) {
+        switch (marker) {
+            case '*':
+                return "**";
+            case '_':
+                return "*";
+            case '-':
+                return "~~";
+            default:
+                return ""; // Markdown has no underline
+        }
+    }
+
+    private static int countHeaderCells(String s, int start, int to) {
+        int end = lineEnd(s, start, to);
+        while (end > start && isWhitespace(s.charAt(end - 1))) {
+            end--;
+        }
+        int separators = 0;
+        for (int i = start; i + 1 < end; i++) {
+            if (s.charAt(i) == '|' && s.charAt(i + 1) == '|') {
+                separators++;
+                i++;
+            }
+        }
+        return s.startsWith("||", end - 2) ? Math.max(1, separators - 1) : separators;
+    }
+
+    private static void endTableRow(StringBuilder out, boolean tableRow, int headerCells) {
+        if (!tableRow) {
+            return;
+        }
+        trimTrailingSpaces(out);
+        if (out.charAt(out.length() - 1) != '|') {
+            out.append(" |");
+        }
+        if (headerCells > 0) {
+            out.append("\n|");
+            for (int k = 0; k < headerCells; k++) {
+                out.append(" --- |");
+            }
+        }
+    }
+
+    private static void cellSeparator(StringBuilder out) {
+        out.append(out.charAt(out.length() - 1) == ' ' ? "| " : " | ");
+    }
+
+    /**
+     * End the current output line, keeping at most one blank line in a row.
+     */
+    private static void newline(StringBuilder out) {
+        trimTrailingSpaces(out);
+        int length = out.length();
+        if (length == 0 || (length >= 2 && out.charAt(length - 1) == '\n' && out.charAt(length - 2) == '\n')) {
+            return;
+        }
+        out.append('\n');
+    }
+
+    /**
+     * Make sure output continues at the start of a line.
+     */
+    private static void startLine(StringBuilder out) {
+        trimTrailingSpaces(out);
+        if (out.length() > 0 && out.charAt(out.length() - 1) != '\n') {
+            out.append('\n');
+        }
+    }
+
+    /**
+     * Append a single separating space, never at the start of a line and never twice in a row.
+     */
+    private static void appendSpace(StringBuilder out) {
+        int length = out.length();
+        if (length > 0 && out.charAt(length - 1) != ' ' && out.charAt(length - 1) != '\n') {
+            out.append(' ');
+        }
+    }
+
+    private static void trimTrailingSpaces(StringBuilder out) {
+        int length = out.length();
+        while (length > 0 && out.charAt(length - 1) == ' ') {
+            length--;
+        }
+        out.setLength(length);
+    }
+
+    private static String trimmedResult(StringBuilder out) {
+        int length = out.length();
+        while (length > 0 && (out.charAt(length - 1) == ' ' || out.charAt(length - 1) == '\n')) {
+            length--;
+        }
+        return out.substring(0, length);
+    }
+
+    private static int skipBlanks(String s, int from, int to) {
+        int i = from;
+        while (i < to && (s.charAt(i) == ' ' || s.charAt(i) == '\t')) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int lineEnd(String s, int from, int to) {
+        int end = s.indexOf('\n', from);
+        int lineEnd = end < 0 || end > to ? to : end;
+        return lineEnd > from && s.charAt(lineEnd - 1) == '\r' ? lineEnd - 1 : lineEnd;
+    }
+
+    private static int indexOf(String s, String needle, int from, int to) {
+        int index = s.indexOf(needle, from);
+        return index < 0 || index + needle.length() > to ? -1 : index;
+    }
+
+    /**
+     * Whether markup may start at {@code index}: at the start of the text or after a character
+     * that is not a letter or digit.
+     */
+    private static boolean isBoundary(String s, int index, int from) {
+        return index == from || !Character.isLetterOrDigit(s.charAt(index - 1));
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == '\u00a0';
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+}
@@ -0,0 +1,416 @@
+package com.jirascraper.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.jirascraper.config.ScraperConfig;
+import com.jirascraper.model.WorkLease;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Shared-directory work queue that lets several scraper processes split a set of
+ * projects without any external coordination service.
+ *
+ * <p>Layout under the work dir:
+ * <pre>
+ *   pending/{PROJECT}.json   work items waiting for a worker
+ *   leased/{PROJECT}.json    items held by a worker (lease with heartbeat and expiry)
+ *   done/{PROJECT}.json      completed items
+ * </pre>
+ *
+ * Ownership changes only through atomic renames whose <em>source</em> is the shared
+ * file, so exactly one worker wins each claim or takeover. Renewing, completing and
+ * releasing a lease work the same way: the holder first renames the lease to a private
+ * {@code .claim} name, checks it still owns it, and only then publishes the change, so a
+ * takeover in between is never overwritten. A worker that dies holding a claim leaves it
+ * in {@code leased/}; it is recovered once it is older than the lease timeout. Checkpoints
+ * live in the shared checkpoint dir, so a worker taking over an expired lease resumes from
+ * the previous owner's checkpoint.
+ */
+public class WorkQueueService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkQueueService.class);
+
+    private static final String ITEM_SUFFIX = ".json";
+    private static final String CLAIM_SUFFIX = ".claim";
+
+    /** Attempts to find a lease that may be briefly renamed away by another worker's takeover check. */
+    private static final int RENEW_ATTEMPTS = 3;
+    private static final long RENEW_RETRY_MS = 200;
+
+    private final ObjectMapper objectMapper;
+    private final Path pendingDir;
+    private final Path leasedDir;
+    private final Path doneDir;
+    private final String workerId;
+    private final long leaseTimeoutMs;
+    private final ScheduledExecutorService heartbeatExecutor;
+
+    public WorkQueueService(ScraperConfig config) {
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+
+        Path workDir = Paths.get(config.getWorkDir());
+        this.pendingDir = workDir.resolve("pending");
+        this.leasedDir = workDir.resolve("leased");
+        this.doneDir = workDir.resolve("done");
+        this.workerId = resolveWorkerId();
+        this.leaseTimeoutMs = TimeUnit.SECONDS.toMillis(config.getLeaseTimeoutSeconds());
+
+        this.heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "lease-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            Files.createDirectories(pendingDir);
+            Files.createDirectories(leasedDir);
+            Files.createDirectories(doneDir);
+        } catch (IOException e) {
+            logger.error("Failed to create work queue directories under {}", workDir, e);
+        }
+    }
+
+    /**
+     * Add projects to the queue. Projects that are already pending or leased are left alone;
+     * previously completed projects are queued again.
+     *
+     * @return number of projects newly enqueued
+     */
+    public int enqueue(List<String> projectKeys) throws IOException {
+        int enqueued = 0;
+        for (String projectKey : projectKeys) {
+            Path pending = pendingDir.resolve(projectKey + ITEM_SUFFIX);
+            Path leased = leasedDir.resolve(projectKey + ITEM_SUFFIX);
+
+            if (Files.exists(pending) || Files.exists(leased) || hasClaim(projectKey + ITEM_SUFFIX)) {
+                logger.info("Project {} is already queued or in progress, skipping", projectKey);
+                continue;
+            }
+
+            Files.deleteIfExists(doneDir.resolve(projectKey + ITEM_SUFFIX));
+            writeAtomically(pending, new WorkLease(projectKey));
+            logger.info("Enqueued project {}", projectKey);
+            enqueued++;
+        }
+        return enqueued;
+    }
+
+    /**
+     * Claim the next pending project, or take over a lease whose holder stopped heartbeating.
+     *
+     * @return the acquired lease, or null if there is no work left to claim
+     */
+    public WorkLease claimNext() throws IOException {
+        for (Path item : listItems(pendingDir)) {
+            WorkLease lease = tryClaim(item, item.getFileName().toString());
+            if (lease != null) {
+                logger.info("Worker {} claimed project {}", workerId, lease.getProjectKey());
+                return lease;
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        for (Path item : listItems(leasedDir)) {
+            WorkLease current = readLease(item);
+            if (current == null || !current.isExpired(now)) {
+                continue;
+            }
+
+            WorkLease lease = tryClaim(item, item.getFileName().toString());
+            if (lease != null) {
+                logger.warn("Worker {} took over expired lease on project {} from {}",
+                        workerId, lease.getProjectKey(), current.getWorkerId());
+                return lease;
+            }
+        }
+
+        // Claims left behind by a worker that died between renaming an item and publishing it
+        for (Path claim : listClaims()) {
+            if (now - claimedAt(claim) <= leaseTimeoutMs) {
+                continue;
+            }
+            String fileName = itemName(claim);
+            if (Files.exists(leasedDir.resolve(fileName)) || Files.exists(pendingDir.resolve(fileName))) {
+                logger.warn("Removing stale claim {}: project {} is queued again", claim.getFileName(), fileName);
+                Files.deleteIfExists(claim);
+                continue;
+            }
+            WorkLease lease = tryClaim(claim, fileName);
+            if (lease != null) {
+                logger.warn("Worker {} recovered stranded claim {} on project {}",
+                        workerId, claim.getFileName(), lease.getProjectKey());
+                return lease;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Whether any project is still pending or leased.
+     */
+    public boolean hasOutstandingWork() throws IOException {
+        return !listItems(pendingDir).isEmpty() || !listItems(leasedDir).isEmpty() || !listClaims().isEmpty();
+    }
+
+    /**
+     * Start renewing a lease in the background until the returned future is cancelled. If the
+     * lease is lost to another worker, renewal stops and {@code lost} is set; the scrape of the
+     * project should then stop without writing anything further.
+     */
+    public ScheduledFuture<?> startHeartbeat(WorkLease lease, AtomicBoolean lost) {
+        long intervalMs = Math.max(1000, leaseTimeoutMs / 3);
+        return heartbeatExecutor.scheduleAtFixedRate(() -> {
+            if (lost.get()) {
+                return;
+            }
+            try {
+                if (!heartbeat(lease)) {
+                    logger.warn("Lease on project {} was taken over by another worker, stopping its scrape",
+                            lease.getProjectKey());
+                    lost.set(true);
+                }
+            } catch (IOException e) {
+                logger.error("Failed to renew lease on project {}", lease.getProjectKey(), e);
+            }
+        }, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Renew a lease held by this worker.
+     *
+     * @return false if the lease is no longer held by this worker
+     */
+    public boolean heartbeat(WorkLease lease) throws IOException {
+        Path claim = acquire(lease);
+        if (claim == null) {
+            return false;
+        }
+
+        long now = System.currentTimeMillis();
+        lease.setHeartbeatAt(now);
+        lease.setExpiresAt(now + leaseTimeoutMs);
+        publish(claim, lease, leasedDir.resolve(lease.getProjectKey() + ITEM_SUFFIX));
+        return true;
+    }
+
+    /**
+     * Mark a leased project as done.
+     */
+    public void complete(WorkLease lease) throws IOException {
+        Path claim = acquire(lease);
+        if (claim == null) {
+            logger.warn("Not completing project {}: lease is held by another worker", lease.getProjectKey());
+            return;
+        }
+
+        Files.move(claim, doneDir.resolve(lease.getProjectKey() + ITEM_SUFFIX),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        logger.info("Worker {} completed project {}", workerId, lease.getProjectKey());
+    }
+
+    /**
+     * Return a leased project to the pending queue so another worker can pick it up.
+     */
+    public void release(WorkLease lease) throws IOException {
+        Path claim = acquire(lease);
+        if (claim == null) {
+            return;
+        }
+
+        lease.setWorkerId(null);
+        lease.setExpiresAt(0);
+        publish(claim, lease, pendingDir.resolve(lease.getProjectKey() + ITEM_SUFFIX));
+        logger.info("Worker {} released project {} back to the queue", workerId, lease.getProjectKey());
+    }
+
+    public String getWorkerId() {
+        return workerId;
+    }
+
+    /**
+     * Stop the heartbeat thread.
+     */
+    public void close() {
+        heartbeatExecutor.shutdownNow();
+    }
+
+    /**
+     * Move a shared item to a worker-private name and publish it as this worker's lease.
+     * Only one worker can move a given source, which makes the claim exclusive.
+     *
+     * @param fileName the item's name in the queue, {@code {PROJECT}.json}
+     */
+    private WorkLease tryClaim(Path item, String fileName) throws IOException {
+        Path claim = claimPath(fileName);
+
+        try {
+            Files.move(item, claim, StandardCopyOption.ATOMIC_MOVE);
+        } catch (NoSuchFileException e) {
+            return null; // another worker got there first
+        }
+
+        WorkLease lease = readLease(claim);
+        if (lease == null) {
+            lease = new WorkLease(fileName.substring(0, fileName.length() - ITEM_SUFFIX.length()));
+        }
+
+        // The previous holder may have renewed between our read and the move; hand it back
+        long now = System.currentTimeMillis();
+        if (item.getParent().equals(leasedDir) && !lease.isExpired(now)) {
+            Files.move(claim, item, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return null;
+        }
+
+        lease.setWorkerId(workerId);
+        lease.setClaimedAt(now);
+        lease.setHeartbeatAt(now);
+        lease.setExpiresAt(now + leaseTimeoutMs);
+        lease.setAttempts(lease.getAttempts() + 1);
+
+        objectMapper.writeValue(claim.toFile(), lease);
+        Files.move(claim, leasedDir.resolve(fileName),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        return lease;
+    }
+
+    /**
+     * Take this worker's lease out of the shared dir under a private claim name, so that nobody
+     * can take it over while it is changed.
+     *
+     * @return the claim, or {@code null} if the lease is held by another worker (it is left as is)
+     */
+    private Path acquire(WorkLease lease) throws IOException {
+        String fileName = lease.getProjectKey() + ITEM_SUFFIX;
+        Path leased = leasedDir.resolve(fileName);
+        Path claim = claimPath(fileName);
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Files.move(leased, claim, StandardCopyOption.ATOMIC_MOVE);
+                break;
+            } catch (NoSuchFileException e) {
+                // Another worker may be checking the lease for expiry and hand it back in a moment
+                if (attempt >= RENEW_ATTEMPTS) {
+                    return null;
+                }
+                try {
+                    Thread.sleep(RENEW_RETRY_MS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+            }
+        }
+
+        WorkLease current = readLease(claim);
+        if (current == null || !workerId.equals(current.getWorkerId())) {
+            Files.move(claim, leased, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            return null;
+        }
+        return claim;
+    }
+
+    /**
+     * Write a lease into its claim and move it to {@code target}.
+     */
+    private void publish(Path claim, WorkLease lease, Path target) throws IOException {
+        writeAtomically(claim, lease);
+        Files.move(claim, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // Claims carry their creation time, so that a stranded one can be told from one in progress
+    private Path claimPath(String fileName) {
+        return leasedDir.resolve(fileName + "." + workerId + "." + System.currentTimeMillis() + CLAIM_SUFFIX);
+    }
+
+    private long claimedAt(Path claim) throws IOException {
+        String name = claim.getFileName().toString();
+        name = name.substring(0, name.length() - CLAIM_SUFFIX.length());
+        try {
+            return Long.parseLong(name.substring(name.lastIndexOf('.') + 1));
+        } catch (NumberFormatException e) {
+            return Files.getLastModifiedTime(claim).toMillis(); // Claim named without a time
+        }
+    }
+
+    private static String itemName(Path claim) {
+        String name = claim.getFileName().toString();
+        return name.substring(0, name.indexOf(ITEM_SUFFIX + ".") + ITEM_SUFFIX.length());
+    }
+
+    private boolean hasClaim(String fileName) throws IOException {
+        for (Path claim : listClaims()) {
+            if (itemName(claim).equals(fileName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private WorkLease readLease(Path path) {
+        try {
+            return objectMapper.readValue(path.toFile(), WorkLease.class);
+        } catch (IOException e) {
+            logger.debug("Could not read lease {}: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeAtomically(Path target, WorkLease lease) throws IOException {
+        Path tmp = target.resolveSibling("." + target.getFileName() + "." + workerId + ".tmp");
+        objectMapper.writeValue(tmp.toFile(), lease);
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private List<Path> listClaims() throws IOException {
+        List<Path> claims = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(leasedDir, "[!.]*" + ITEM_SUFFIX + ".*" + CLAIM_SUFFIX)) {
+            for (Path path : stream) {
+                claims.add(path);
+            }
+        }
+        Collections.sort(claims);
+        return claims;
+    }
+
+    private List<Path> listItems(Path dir) throws IOException {
+        List<Path> items = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "[!.]*" + ITEM_SUFFIX)) {
+            for (Path path : stream) {
+                items.add(path);
+            }
+        }
+        Collections.sort(items);
+        return items;
+    }
+
+    static String resolveWorkerId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (IOException e) {
+            host = "unknown";
+        }
+        return host + "-" + ProcessHandle.current().pid();
+    }
+}
@@ -0,0 +1,175 @@
+package com.jirascraper.service;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Streaming XXH64 with seed 0, the checksum of {@code xxhsum -H64}. Bytes are consumed in 32-byte
+ * stripes as they arrive, so hashing a file while it is written costs no extra read.
+ *
+ * <p>The state between updates can be saved with {@link #state()} and restored with
+ * {@link #restore(String)}, so that a file reopened for appending continues its checksum without
+ * reading back what is already on disk. Not thread-safe.
+ */
+final class XxHash64 {
+
+    private static final long P1 = 0x9E3779B185EBCA87L;
+    private static final long P2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long P3 = 0x165667B19E3779F9L;
+    private static final long P4 = 0x85EBCA77C2B2AE63L;
+    private static final long P5 = 0x27D4EB2F165667C5L;
+
+    private static final int STRIPE = 32;
+    private static final int STATE_BYTES = 5 * Long.BYTES + 1 + STRIPE;
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final VarHandle INTS = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private long v1 = P1 + P2;
+    private long v2 = P2;
+    private long v3 = 0;
+    private long v4 = -P1;
+    private long length;
+    private final byte[] buffer = new byte[STRIPE];
+    private int buffered;
+
+    void update(int b) {
+        buffer[buffered++] = (byte) b;
+        length++;
+        if (buffered == STRIPE) {
+            stripe(buffer, 0);
+            buffered = 0;
+        }
+    }
+
+    void update(byte[] bytes, int offset, int count) {
+        length += count;
+        int end = offset + count;
+        if (buffered > 0) {
+            int fill = Math.min(STRIPE - buffered, count);
+            System.arraycopy(bytes, offset, buffer, buffered, fill);
+            buffered += fill;
+            offset += fill;
+            if (buffered < STRIPE) {
+                return;
+            }
+            stripe(buffer, 0);
+            buffered = 0;
+        }
+        for (; offset + STRIPE <= end; offset += STRIPE) {
+            stripe(bytes, offset);
+        }
+        buffered = end - offset;
+        System.arraycopy(bytes, offset, buffer, 0, buffered);
+    }
+
+    /**
+     * Checksum of the bytes so far; more can still be added.
+     */
+    long digest() {
+        long hash;
+        if (length >= STRIPE) {
+            hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+            hash = mergeRound(hash, v1);
+            hash = mergeRound(hash, v2);
+            hash = mergeRound(hash, v3);
+            hash = mergeRound(hash, v4);
+        } else {
+            hash = P5;
+        }
+        hash += length;
+
+        int i = 0;
+        for (; i + Long.BYTES <= buffered; i += Long.BYTES) {
+            hash ^= round(0, (long) LONGS.get(buffer, i));
+            hash = Long.rotateLeft(hash, 27) * P1 + P4;
+        }
+        if (i + Integer.BYTES <= buffered) {
+            hash ^= ((int) INTS.get(buffer, i) & 0xFFFFFFFFL) * P1;
+            hash = Long.rotateLeft(hash, 23) * P2 + P3;
+            i += Integer.BYTES;
+        }
+        for (; i < buffered; i++) {
+            hash ^= (buffer[i] & 0xFF) * P5;
+            hash = Long.rotateLeft(hash, 11) * P1;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= P2;
+        hash ^= hash >>> 29;
+        hash *= P3;
+        hash ^= hash >>> 32;
+        return hash;
+    }
+
+    /**
+     * The checksum in the canonical form printed by {@code xxhsum}.
+     */
+    static String hex(long digest) {
+        return String.format("%016x", digest);
+    }
+
+    /**
+     * Bytes hashed so far.
+     */
+    long length() {
+        return length;
+    }
+
+    /**
+     * The hash state, Base64-encoded.
+     */
+    String state() {
+        ByteBuffer state = ByteBuffer.allocate(STATE_BYTES);
+        state.putLong(v1).putLong(v2).putLong(v3).putLong(v4).putLong(length);
+        state.put((byte) buffered).put(buffer, 0, buffered);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(state.array(), state.position()));
+    }
+
+    /**
+     * A hash continuing from a saved {@link #state()}.
+     *
+     * @throws IllegalArgumentException if the state is malformed
+     */
+    static XxHash64 restore(String encoded) {
+        ByteBuffer state = ByteBuffer.wrap(Base64.getDecoder().decode(encoded));
+        if (state.remaining() < 5 * Long.BYTES + 1) {
+            throw new IllegalArgumentException("Hash state is truncated");
+        }
+        XxHash64 hash = new XxHash64();
+        hash.v1 = state.getLong();
+        hash.v2 = state.getLong();
+        hash.v3 = state.getLong();
+        hash.v4 = state.getLong();
+        hash.length = state.getLong();
+        hash.buffered = state.get();
+        if (hash.buffered < 0 || hash.buffered >= STRIPE || state.remaining() != hash.buffered
+                || hash.length % STRIPE != hash.buffered) {
+            throw new IllegalArgumentException("Hash state is malformed");
+        }
+        state.get(hash.buffer, 0, hash.buffered);
+        return hash;
+    }
+
+    private void stripe(byte[] bytes, int offset) {
+        v1 = round(v1, (long) LONGS.get(bytes, offset));
+        v2 = round(v2, (long) LONGS.get(bytes, offset + 8));
+        v3 = round(v3, (long) LONGS.get(bytes, offset + 16));
+        v4 = round(v4, (long) LONGS.get(bytes, offset + 24));
+    }
+
+    private static long round(long acc, long input) {
+        acc += input * P2;
+        acc = Long.rotateLeft(acc, 31);
+        return acc * P1;
+    }
+
+    private static long mergeRound(long hash, long acc) {
+        hash ^= round(0, acc);
+        return hash * P1 + P4;
+    }
+}
@@ -0,0 +1,24 @@
+package com.jirascraper.task;
+
+import com.jirascraper.model.LLMTrainingData;
+
+/**
+ * Issue type, priority and status as classification labels.
+ */
+public class ClassificationTaskGenerator implements TaskGenerator {
+
+    @Override
+    public String name() {
+        return "classification";
+    }
+
+    @Override
+    public LLMTrainingData.Classification generate(TaskContext context) {
+        LLMTrainingData data = context.record();
+        LLMTrainingData.Classification classification = new LLMTrainingData.Classification();
+        classification.setIssueType(data.getIssueType());
+        classification.setPriority(data.getPriority());
+        classification.setStatus(data.getStatus());
+        return classification;
+    }
+}
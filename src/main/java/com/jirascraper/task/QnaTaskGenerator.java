@@ -0,0 +1,81 @@
+package com.jirascraper.task;
+
+import com.jirascraper.model.LLMTrainingData;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Question/answer pairs about status, priority, type, resolution and comment count.
+ */
+public class QnaTaskGenerator implements TaskGenerator {
+
+    @Override
+    public String name() {
+        return "qna";
+    }
+
+    @Override
+    public List<LLMTrainingData.QnA> generate(TaskContext context) {
+        LLMTrainingData data = context.record();
+        List<LLMTrainingData.QnA> qnaPairs = new ArrayList<>(5);
+        StringBuilder sb = context.builder();
+
+        // Q&A about issue status
+        qnaPairs.add(createQnA(
+                text(sb, "What is the status of issue ", data.getIssueKey(), "?"),
+                text(sb, "The status is: ", data.getStatus(), null)
+        ));
+
+        // Q&A about issue priority
+        if (data.getPriority() != null) {
+            qnaPairs.add(createQnA(
+                    "What is the priority of this issue?",
+                    text(sb, "The priority is: ", data.getPriority(), null)
+            ));
+        }
+
+        // Q&A about issue type
+        if (data.getIssueType() != null) {
+            qnaPairs.add(createQnA(
+                    text(sb, "What type of issue is ", data.getIssueKey(), "?"),
+                    text(sb, "This is a ", data.getIssueType(), null)
+            ));
+        }
+
+        // Q&A about resolution
+        if (data.getResolution() != null) {
+            qnaPairs.add(createQnA(
+                    "How was this issue resolved?",
+                    text(sb, "Resolution: ", data.getResolution(), null)
+            ));
+        }
+
+        // Q&A about comments
+        if (context.commentCount() > 0) {
+            sb.setLength(0);
+            qnaPairs.add(createQnA(
+                    "How many comments does this issue have?",
+                    sb.append("This issue has ").append(context.commentCount()).append(" comment(s)").toString()
+            ));
+        }
+
+        return qnaPairs;
+    }
+
+    private static String text(StringBuilder sb, String prefix, String value, String suffix) {
+        sb.setLength(0);
+        sb.append(prefix).append(value);
+        if (suffix != null) {
+            sb.append(suffix);
+        }
+        return sb.toString();
+    }
+
+    private static LLMTrainingData.QnA createQnA(String question, String answer) {
+        LLMTrainingData.QnA qna = new LLMTrainingData.QnA();
+        qna.setQuestion(question);
+        qna.setAnswer(answer);
+        return qna;
+    }
+}
@@ -0,0 +1,41 @@
+package com.jirascraper.task;
+
+import com.jirascraper.model.LLMTrainingData;
+
+/**
+ * Short plain-text summary of title, status, the start of the description and the comment count.
+ */
+public class SummarizationTaskGenerator implements TaskGenerator {
+
+    private static final int MAX_DESCRIPTION_CHARS = 500;
+
+    @Override
+    public String name() {
+        return "summarization";
+    }
+
+    @Override
+    public String generate(TaskContext context) {
+        LLMTrainingData data = context.record();
+        StringBuilder summary = context.builder();
+        summary.append("Issue: ").append(data.getTitle()).append('\n');
+        summary.append("Status: ").append(data.getStatus()).append('\n');
+
+        if (context.hasDescription()) {
+            String desc = data.getDescription();
+            summary.append("Description: ");
+            if (desc.length() > MAX_DESCRIPTION_CHARS) {
+                summary.append(desc, 0, MAX_DESCRIPTION_CHARS - 3).append("...");
+            } else {
+                summary.append(desc);
+            }
+            summary.append('\n');
+        }
+
+        if (context.commentCount() > 0) {
+            summary.append("Comments: ").append(context.commentCount()).append(" comment(s)");
+        }
+
+        return summary.toString();
+    }
+}
@@ -0,0 +1,98 @@
+package com.jirascraper.task;
+
+import com.jirascraper.model.LLMTrainingData;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What task generators see of one record while the tasks are generated.
+ *
+ * <p>The record already holds the cleaned description and comments, so every generator reads the
+ * same text. {@link #builder()} hands out {@link StringBuilder}s from a per-thread pool that is
+ * reused for every record; a builder is only valid until the generator returns.
+ */
+public final class TaskContext {
+
+    /** Builders that grew beyond this are dropped instead of pooled. */
+    private static final int MAX_POOLED_CAPACITY = 64 * 1024;
+
+    private static final ThreadLocal<TaskContext> CURRENT = ThreadLocal.withInitial(TaskContext::new);
+
+    private final List<StringBuilder> builders = new ArrayList<>();
+    private int buildersInUse;
+
+    private LLMTrainingData record;
+    private int commentCount;
+    private Boolean hasDescription;
+
+    private TaskContext() {
+    }
+
+    static TaskContext open(LLMTrainingData record, int commentCount) {
+        TaskContext context = CURRENT.get();
+        if (context.record != null) {
+            // Generators calling back into the pipeline get their own context
+            context = new TaskContext();
+        }
+        context.record = record;
+        context.commentCount = commentCount;
+        context.hasDescription = null;
+        return context;
+    }
+
+    void close() {
+        record = null;
+        releaseBuilders();
+    }
+
+    /**
+     * Return every builder handed out since the last call to the pool.
+     */
+    void releaseBuilders() {
+        for (int i = 0; i < buildersInUse; i++) {
+            if (builders.get(i).capacity() > MAX_POOLED_CAPACITY) {
+                builders.set(i, new StringBuilder(256));
+            }
+        }
+        buildersInUse = 0;
+    }
+
+    /**
+     * The record being generated for, with the tasks not yet set.
+     */
+    public LLMTrainingData record() {
+        return record;
+    }
+
+    /**
+     * Number of comments on the issue. A record that is one part of a split issue holds only some
+     * of them.
+     */
+    public int commentCount() {
+        return commentCount;
+    }
+
+    /**
+     * Whether the record has a description that is not blank.
+     */
+    public boolean hasDescription() {
+        if (hasDescription == null) {
+            String description = record.getDescription();
+            hasDescription = description != null && !description.isBlank();
+        }
+        return hasDescription;
+    }
+
+    /**
+     * An empty builder from the pool.
+     */
+    public StringBuilder builder() {
+        if (buildersInUse == builders.size()) {
+            builders.add(new StringBuilder(256));
+        }
+        StringBuilder builder = builders.get(buildersInUse++);
+        builder.setLength(0);
+        return builder;
+    }
+}
@@ -0,0 +1,27 @@
+package com.jirascraper.task;
+
+/**
+ * Derives one training task from a transformed record.
+ *
+ * <p>Implementations are discovered with {@link java.util.ServiceLoader}: list the class in
+ * {@code META-INF/services/com.jirascraper.task.TaskGenerator} of a jar on the classpath. One
+ * instance is shared by all threads, so implementations must be stateless.
+ *
+ * <p>The output is written under {@code tasks.<name>} of each record. The built-in generators use
+ * {@code summarization}, {@code classification} and {@code qna}; a generator installed under one
+ * of these names replaces the built-in one.
+ */
+public interface TaskGenerator {
+
+    /**
+     * Key of the task under {@code tasks}.
+     */
+    String name();
+
+    /**
+     * Build the task for the record in {@code context}.
+     *
+     * @return a value Jackson can serialize, or {@code null} to leave the task out of this record
+     */
+    Object generate(TaskContext context);
+}
@@ -0,0 +1,109 @@
+package com.jirascraper.task;
+
+import com.jirascraper.model.LLMTrainingData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Runs a fixed set of task generators over each record in one pass, sharing a single
+ * {@link TaskContext}.
+ */
+public final class TaskPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskPipeline.class);
+
+    private static volatile TaskPipeline installed;
+
+    private final List<TaskGenerator> generators;
+
+    public TaskPipeline(List<TaskGenerator> generators) {
+        this.generators = List.copyOf(generators);
+    }
+
+    /**
+     * The pipeline of every generator registered with {@link ServiceLoader}, loaded once per JVM.
+     */
+    public static TaskPipeline installed() {
+        TaskPipeline pipeline = installed;
+        if (pipeline == null) {
+            synchronized (TaskPipeline.class) {
+                pipeline = installed;
+                if (pipeline == null) {
+                    pipeline = new TaskPipeline(loadGenerators());
+                    installed = pipeline;
+                }
+            }
+        }
+        return pipeline;
+    }
+
+    private static List<TaskGenerator> loadGenerators() {
+        // Later registrations of a name replace earlier ones, keeping the first position
+        Map<String, TaskGenerator> byName = new LinkedHashMap<>();
+        for (ServiceLoader.Provider<TaskGenerator> provider : ServiceLoader.load(TaskGenerator.class)
+                .stream().toList()) {
+            TaskGenerator generator;
+            try {
+                generator = provider.get();
+            } catch (ServiceConfigurationError e) {
+                logger.warn("Skipping task generator {}: {}", provider.type().getName(), e.getMessage());
+                continue;
+            }
+            TaskGenerator previous = byName.put(generator.name(), generator);
+            if (previous != null && isBuiltIn(generator)) {
+                // Keep the custom generator regardless of classpath order
+                byName.put(generator.name(), previous);
+            } else if (previous != null) {
+                logger.info("Task generator {} replaces {} for task '{}'",
+                        generator.getClass().getName(), previous.getClass().getName(), generator.name());
+            }
+        }
+        logger.debug("Task generators: {}", byName.keySet());
+        return new ArrayList<>(byName.values());
+    }
+
+    private static boolean isBuiltIn(TaskGenerator generator) {
+        return generator.getClass().getPackageName().equals(TaskPipeline.class.getPackageName());
+    }
+
+    public List<TaskGenerator> getGenerators() {
+        return Collections.unmodifiableList(generators);
+    }
+
+    /**
+     * Generate all tasks for {@code record}. A generator that fails is logged and its task left
+     * out, without affecting the others.
+     *
+     * @param commentCount number of comments on the whole issue
+     */
+    public LLMTrainingData.Tasks generate(LLMTrainingData record, int commentCount) {
+        LLMTrainingData.Tasks tasks = new LLMTrainingData.Tasks();
+        TaskContext context = TaskContext.open(record, commentCount);
+        try {
+            for (TaskGenerator generator : generators) {
+                try {
+                    Object value = generator.generate(context);
+                    if (value != null) {
+                        tasks.put(generator.name(), value);
+                    }
+                } catch (RuntimeException e) {
+                    logger.warn("Task generator '{}' failed for issue {}: {}",
+                            generator.name(), record.getIssueKey(), e.getMessage());
+                } finally {
+                    context.releaseBuilders();
+                }
+            }
+        } finally {
+            context.close();
+        }
+        return tasks;
+    }
+}